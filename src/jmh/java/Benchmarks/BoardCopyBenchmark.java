@@ -0,0 +1,45 @@
+package Benchmarks;
+
+import chkMVC.chModel.Checkers.BoardModel;
+import chkMVC.chModel.Checkers.Storage.BoardStorage;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Cost of cloning the starting position: a full copy() against an O(1) snapshot() and a snapshot plus one move.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardCopyBenchmark {
+
+    @Param({"map", "array", "bitboard"})
+    public String model;
+
+    private BoardModel board;
+
+    @Setup
+    public void setup() {
+        board = new BoardModel(8, 8, BoardStorage.named(model, 64));
+        board.setupStartingPosition();
+    }
+
+    @Benchmark
+    public BoardModel copy() {
+        return board.copy();
+    }
+
+    @Benchmark
+    public BoardModel snapshot() {
+        return board.snapshot();
+    }
+
+    @Benchmark
+    public BoardModel snapshotThenMove() {
+        BoardModel snapshot = board.snapshot();
+        snapshot.movePiece(snapshot.createPosition(3, 3), snapshot.createPosition(4, 4));
+        return snapshot;
+    }
+}
@@ -0,0 +1,53 @@
+package Benchmarks;
+
+import chkMVC.chModel.Checkers.BoardModel;
+import chkMVC.chModel.Checkers.Moves.MoveBuffer;
+import chkMVC.chModel.Checkers.Moves.MoveGenerator;
+import chkMVC.chModel.Engine.Evaluator;
+import chkMVC.chModel.Engine.MaterialEvaluator;
+import chkMVC.chModel.Engine.ParallelSearch;
+import chkMVC.chModel.Engine.PositionalEvaluator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Leaf cost as a search sees it: play a move, evaluate, take it back. The rescanning material
+// evaluator against the incremental positional one, which also pays for its listener on every move.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EvaluatorBenchmark {
+
+    @Param({"material", "positional"})
+    public String evaluator;
+
+    private BoardModel board;
+    private Evaluator eval;
+    private final MoveBuffer moves = new MoveBuffer();
+    private int next;
+
+    @Setup
+    public void setup() {
+        board = ParallelSearch.benchmarkPositions().get(1); // Middlegame-ish, after 6 plies
+        eval = evaluator.equals("material") ? new MaterialEvaluator() : new PositionalEvaluator();
+        eval.evaluate(board);
+        new MoveGenerator().generateLegal(board, board.getSideToMove(), moves);
+    }
+
+    @Benchmark
+    public int evaluate() {
+        return eval.evaluate(board);
+    }
+
+    @Benchmark
+    public int makeEvaluateUnmake() {
+        board.makeMove(moves, next);
+        next = next + 1 == moves.size() ? 0 : next + 1;
+        int score = eval.evaluate(board);
+        board.unmakeMove();
+        return score;
+    }
+}
@@ -0,0 +1,54 @@
+package Benchmarks;
+
+import chkMVC.chModel.Checkers.BoardModel;
+import chkMVC.chModel.Engine.ParallelSearch;
+import chkMVC.chModel.Engine.TranspositionTable;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Time to search the fixed benchmark positions to a fixed depth; compare the threads rows for the speedup.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ParallelSearchBenchmark {
+
+    @Param({"1", "2", "4"})
+    public int threads;
+
+    @Param({"12"})
+    public int depth;
+
+    private ParallelSearch search;
+    private List<BoardModel> positions;
+
+    @Setup
+    public void setup() {
+        search = new ParallelSearch(new TranspositionTable(64), threads);
+        positions = ParallelSearch.benchmarkPositions();
+    }
+
+    // Every search starts from an empty table, otherwise later ones just replay the cache
+    @Setup(Level.Invocation)
+    public void clearTable() {
+        search.getTable().clear();
+    }
+
+    @TearDown
+    public void tearDown() {
+        search.close();
+    }
+
+    @Benchmark
+    public long search() {
+        long nodes = 0;
+        for (BoardModel position : positions) {
+            nodes += search.search(position, depth, 0).getNodes();
+        }
+        return nodes;
+    }
+}
@@ -0,0 +1,39 @@
+package Benchmarks;
+
+import chkMVC.chModel.Checkers.BoardModel;
+import chkMVC.chModel.Checkers.Storage.BoardStorage;
+import chkMVC.chModel.Checkers.Moves.Perft;
+import chkMVC.chModel.Checkers.Pieces.AbstractPiece;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Perft from the starting position on each board engine - a drop here means move generation got slower.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PerftBenchmark {
+
+    @Param({"map", "array", "bitboard"})
+    public String model;
+
+    @Param({"6"})
+    public int depth;
+
+    private Perft perft;
+
+    @Setup
+    public void setup() {
+        BoardModel board = new BoardModel(8, 8, BoardStorage.named(model, 64));
+        board.setupStartingPosition();
+        perft = new Perft(board);
+    }
+
+    @Benchmark
+    public long perft() {
+        return perft.perft(AbstractPiece.PEICE_TEAM.WHITE, depth);
+    }
+}
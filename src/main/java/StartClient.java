@@ -5,7 +5,9 @@ import chkNetwork.Client.ClientLogic;
 public class StartClient {
 
     public static void main(String[] args) {
-        ClientLogic clientLogic = new ClientLogic("localhost", 8000);
+        // --binary: length-prefixed frames with the request/response codes instead of text lines
+        boolean binary = args.length > 0 && args[0].equals("--binary");
+        ClientLogic clientLogic = new ClientLogic("localhost", 8000, binary);
         clientLogic.connect("TestClient");
         ChatWindow chatWindow = new ChatWindow(clientLogic);
 
@@ -0,0 +1,39 @@
+package chkGameUtil;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out unique positive int ids (pieces use it) from any number of threads, without locks.
+ * <p>
+ * Each thread claims a block of BLOCK_SIZE ids from one shared atomic counter and then counts
+ * through its block on its own, so the shared counter - and its cache line - is touched once per
+ * block instead of once per id. Ids are unique but only increasing within a thread; ids from
+ * different threads interleave. A thread that dies part way through a block wastes the rest of it.
+ */
+public final class IdAllocator {
+
+    public static final int BLOCK_SIZE = 64; // A couple of boards' worth of pieces
+
+    private static final AtomicLong NEXT_BLOCK_START = new AtomicLong(1); // Ids start at 1, like the old counter
+
+    // {next id, end of block (exclusive)} for the current thread
+    private static final ThreadLocal<int[]> BLOCK = ThreadLocal.withInitial(() -> new int[2]);
+
+    private IdAllocator() {}
+
+    /**
+     * @throws IllegalStateException once every int id has been handed out.
+     */
+    public static int nextId() {
+        int[] block = BLOCK.get();
+        if (block[0] == block[1]) {
+            long start = NEXT_BLOCK_START.getAndAdd(BLOCK_SIZE);
+            if (start + BLOCK_SIZE > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Ran out of ids.");
+            }
+            block[0] = (int) start;
+            block[1] = (int) start + BLOCK_SIZE;
+        }
+        return block[0]++;
+    }
+}
@@ -1,27 +1,31 @@
 package chkGameUtil;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Shared counter. Safe from any thread; for piece ids use IdAllocator, which doesn't contend.
 public class IncrementerSingleton {
-    private static IncrementerSingleton instance;
-    private int i = 0; // Counter
+    private final AtomicInteger i = new AtomicInteger(); // Counter
 
     // Private constructor prevents direct instantiation
     private IncrementerSingleton() {}
 
+    // Initialised by the class loader on first use, so there is only ever one instance
+    private static class Holder {
+        private static final IncrementerSingleton INSTANCE = new IncrementerSingleton();
+    }
+
     // Public method to get the singleton instance
     public static IncrementerSingleton getInstance() {
-        if (instance == null) {
-            instance = new IncrementerSingleton();
-        }
-        return instance;
+        return Holder.INSTANCE;
     }
 
     // Method to increment and return the value
     public int increment() {
-        return ++i;
+        return i.incrementAndGet();
     }
 
     // Method to get the current value
     public int getValue() {
-        return i;
+        return i.get();
     }
 }
@@ -0,0 +1,61 @@
+package chkMVC.chModel.Checkers;
+
+import chkMVC.chModel.Checkers.Pieces.AbstractPiece;
+import chkMVC.chModel.Checkers.Storage.BitboardStorage;
+
+/**
+ * BoardModel that is always backed by {@link BitboardStorage}, with the bitboards exposed.
+ * <p>
+ * A plain {@code BoardModel} of 64 squares or fewer already picks bitboard storage; use this
+ * class when code wants the raw occupancy masks (bit {@code n} is square {@code n}, see
+ * {@link BoardModel#squareOf(int, int)}).
+ * <p>
+ * Only boards of up to 64 squares fit; use the plain {@link BoardModel} for anything bigger.
+ */
+public class BitboardBoardModel extends BoardModel {
+
+    public static final int MAX_SQUARES = BitboardStorage.MAX_SQUARES;
+
+    public BitboardBoardModel(int size) {
+        this(size, size);
+    }
+
+    public BitboardBoardModel(int width, int height) {
+        super(width, height, storageFor(width, height));
+    }
+
+    private static BitboardStorage storageFor(int width, int height) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Board dimensions must be positive.");
+        }
+        if ((long) width * height > MAX_SQUARES) {
+            throw new IllegalArgumentException("Bitboard model supports at most " + MAX_SQUARES
+                    + " squares, got " + width + "x" + height + ".");
+        }
+        return new BitboardStorage(width * height);
+    }
+
+    // --- Bitboard accessors ---
+
+    public long getOccupiedBits() {
+        return bits().getOccupiedBits();
+    }
+
+    public long getTeamBits(AbstractPiece.PEICE_TEAM team) {
+        return bits().getTeamBits(team);
+    }
+
+    public long getKindBits(AbstractPiece.PIECE_KIND kind) {
+        return bits().getKindBits(kind);
+    }
+
+    @Override
+    protected BoardModel emptyCopy() {
+        return new BitboardBoardModel(getWidth(), getHeight());
+    }
+
+    // Looked up each time - the storage object is swapped out by copy-on-write
+    private BitboardStorage bits() {
+        return (BitboardStorage) getStorage();
+    }
+}
@@ -0,0 +1,22 @@
+package chkMVC.chModel.Checkers;
+
+import chkMVC.chModel.Checkers.Pieces.AbstractPiece;
+
+/**
+ * Told about every change to a {@link BoardModel}'s pieces, so it can keep something derived
+ * from the board (an evaluation, a count) up to date without rescanning it.
+ * <p>
+ * Every change comes through as removals and additions: a move is a removal from one square
+ * then an addition to another, a promotion swaps the serf for a king. Each call is made once the
+ * board already reflects it, so {@code board} can be read from inside the callback.
+ * Listeners must not change the board.
+ */
+public interface BoardListener {
+
+    void pieceAdded(BoardModel board, AbstractPiece piece, int square);
+
+    void pieceRemoved(BoardModel board, AbstractPiece piece, int square);
+
+    // Every piece went at once (clearBoard), with no pieceRemoved calls
+    void boardCleared(BoardModel board);
+}
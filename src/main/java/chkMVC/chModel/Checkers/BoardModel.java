@@ -1,31 +1,71 @@
 package chkMVC.chModel.Checkers;
 
+import chkMVC.chModel.Checkers.Moves.Move;
+import chkMVC.chModel.Checkers.Moves.MoveBuffer;
 import chkMVC.chModel.Checkers.Pieces.AbstractPiece;
+import chkMVC.chModel.Checkers.Pieces.SerfPiece;
 import chkMVC.chModel.Checkers.Position;
+import chkMVC.chModel.Checkers.Storage.BoardStorage;
 import chkMVC.chModel.Math.Vector2i;
 
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
 import java.util.Map; // Use interface type
 import java.util.Optional; // Better way to handle potentially null pieces
 
 public class BoardModel {
 
-    private final Map<Position, AbstractPiece> boardSpace; // Use Map interface
+    public static final int NO_SQUARE = -1; // Returned by square lookups that fall off the board
+
+    private static final BoardListener[] NO_LISTENERS = new BoardListener[0];
+
+    private BoardStorage storage; // Where the pieces live, see BoardStorage.forSize
     private final int width;
     private final int height;
+    private final PositionTable positions; // Null for boards too big to intern
+    private final ZobristKeys zobrist;
+    private long hash = 0L; // Zobrist hash, white to move on an empty board is 0
+    private AbstractPiece.PEICE_TEAM sideToMove = AbstractPiece.PEICE_TEAM.WHITE;
+    private boolean storageShared = false; // Set by snapshot(); copy before the next write
+    private BoardListener[] listeners = NO_LISTENERS; // Not carried over by copy() or snapshot()
+
+    // Undo stack for makeMove/unmakeMove, one entry per move made. Parallel arrays so
+    // making a move allocates nothing once they have grown to the game's length.
+    private int undoDepth = 0;
+    private int[] undoFrom = new int[32];
+    private int[] undoTo = new int[32];
+    private long[] undoHash = new long[32];
+    private AbstractPiece[] undoMoved = new AbstractPiece[32]; // The object that moved (it may be replaced at 'to')
+    private int[] undoCapturedStart = new int[32];
+    private AbstractPiece[] capturedStack = new AbstractPiece[32]; // Captured pieces still know their square
+    private int capturedTop = 0;
 
     public BoardModel(int size) {
         this(size, size); // Square board constructor
     }
 
+    // Picks the storage that suits the board size (bitboard for 8x8, array or map for big custom boards)
     public BoardModel(int width, int height) {
+        this(width, height, BoardStorage.forSize(width, height));
+    }
+
+    /**
+     * Board with a specific storage backend.
+     * @param storage Empty storage with room for width * height squares.
+     */
+    public BoardModel(int width, int height, BoardStorage storage) {
         if (width <= 0 || height <= 0) {
             throw new IllegalArgumentException("Board dimensions must be positive.");
         }
+        if (storage.size() != 0) {
+            throw new IllegalArgumentException("Board storage must start empty.");
+        }
         this.width = width;
         this.height = height;
-        this.boardSpace = new HashMap<>();
-        // TODO: Add initial piece setup logic here if needed
+        this.storage = storage;
+        this.positions = PositionTable.supports(width, height) ? PositionTable.forSize(width, height) : null;
+        this.zobrist = ZobristKeys.forSize(width, height);
+        // Starts empty - call setupStartingPosition() for a normal game
     }
 
     public int getWidth() {
@@ -37,7 +77,7 @@ public class BoardModel {
     }
 
     public int getNumberOfPieces() {
-        return boardSpace.size();
+        return storage.size();
     }
 
     // Get piece using Optional to avoid null checks elsewhere
@@ -47,44 +87,49 @@ public class BoardModel {
             // Or log a warning, depending on desired strictness
             throw new IllegalArgumentException("Position " + position + " dimensions do not match board dimensions (" + width + "x" + height + ")");
         }
-        return Optional.ofNullable(boardSpace.get(position));
+        return Optional.ofNullable(storage.get(position.getSquare()));
     }
 
     // Get piece, returning null (less safe, but sometimes needed)
     public AbstractPiece getPieceAt(Position position) {
-        if (position.getBoardWidth() != this.width || position.getBoardHeight() != this.height) {
-            throw new IllegalArgumentException("Position dimensions mismatch");
-        }
-        return boardSpace.get(position);
+        checkDimensions(position, "Position dimensions mismatch");
+        return storage.get(position.getSquare());
     }
 
 
     public boolean isOccupied(Position position) {
-        if (position.getBoardWidth() != this.width || position.getBoardHeight() != this.height) {
-            throw new IllegalArgumentException("Position dimensions mismatch");
-        }
-        return boardSpace.containsKey(position);
+        checkDimensions(position, "Position dimensions mismatch");
+        return storage.get(position.getSquare()) != null;
     }
 
     // Internal method to place a piece - used during setup or potentially moves
     // Consider making this package-private or protected if only specific classes should use it
     public void placePiece(AbstractPiece piece) {
         Position pos = piece.getPosition();
-        if (pos.getBoardWidth() != this.width || pos.getBoardHeight() != this.height) {
-            throw new IllegalArgumentException("Piece position dimensions mismatch");
-        }
+        checkDimensions(pos, "Piece position dimensions mismatch");
         if (isOccupied(pos)) {
-            throw new IllegalStateException("Cannot place piece at " + pos + ", already occupied by " + boardSpace.get(pos));
+            throw new IllegalStateException("Cannot place piece at " + pos + ", already occupied by " + storage.get(pos.getSquare()));
         }
-        boardSpace.put(pos, piece);
+        ensureOwnStorage();
+        storage.put(pos.getSquare(), piece);
+        hash ^= zobrist.piece(piece, pos.getSquare());
+        firePieceAdded(piece, pos.getSquare());
     }
 
     // Removes a piece - returns true if a piece was removed
     public boolean removePiece(Position position) {
-        if (position.getBoardWidth() != this.width || position.getBoardHeight() != this.height) {
-            throw new IllegalArgumentException("Position dimensions mismatch");
+        checkDimensions(position, "Position dimensions mismatch");
+        if (storage.get(position.getSquare()) == null) {
+            return false;
+        }
+        ensureOwnStorage();
+        AbstractPiece removed = storage.remove(position.getSquare());
+        if (removed == null) {
+            return false;
         }
-        return boardSpace.remove(position) != null;
+        hash ^= zobrist.piece(removed, position.getSquare());
+        firePieceRemoved(removed, position.getSquare());
+        return true;
     }
 
     // Moves a piece - handles removal and placement, checks if 'from' is occupied
@@ -100,10 +145,310 @@ public class BoardModel {
             throw new IllegalStateException("Cannot move to occupied position: " + to);
         }
 
+        if (ensureOwnStorage()) {
+            piece = storage.get(from.getSquare()); // Now our own copy
+        }
+
         // Remove from old, place at new, update piece's internal state
-        boardSpace.remove(from);
-        boardSpace.put(to, piece);
+        storage.remove(from.getSquare());
+        firePieceRemoved(piece, from.getSquare());
+        storage.put(to.getSquare(), piece);
         piece.setPositionInternal(to); // Update the piece's internal position
+        hash ^= zobrist.piece(piece, from.getSquare()) ^ zobrist.piece(piece, to.getSquare());
+        firePieceAdded(piece, to.getSquare());
+    }
+
+    // --- Reversible moves ---
+
+    /**
+     * Plays a move from a buffer (see MoveGenerator): removes every captured piece, moves the
+     * piece to its final square, crowns it if it landed on the far row, and hands the turn over. The move can be taken back with
+     * {@link #unmakeMove()}, which puts back the very same piece objects. Nothing is allocated
+     * once the undo stack has grown to the game's length.
+     * <p>
+     * The move is not checked for legality - take it from the generator.
+     * @throws IllegalStateException if there is no piece on the move's start square.
+     */
+    public void makeMove(MoveBuffer moves, int index) {
+        ensureOwnStorage(); // Before reading pieces, so the undo stack records our own objects
+        int from = moves.from(index);
+        int to = moves.to(index);
+        AbstractPiece piece = getPieceAt(from);
+        if (piece == null) {
+            throw new IllegalStateException("No piece to move at " + positionAt(from) + ".");
+        }
+        ensureUndoCapacity(moves.hopCount(index));
+
+        int depth = undoDepth++;
+        undoFrom[depth] = from;
+        undoTo[depth] = to;
+        undoHash[depth] = hash;
+        undoMoved[depth] = piece;
+        undoCapturedStart[depth] = capturedTop;
+
+        int hops = moves.hopCount(index);
+        for (int h = 0; h < hops; h++) {
+            int hop = moves.hop(index, h);
+            if (!Move.isJump(hop)) continue;
+            Position captured = positionAt(Move.captured(hop));
+            capturedStack[capturedTop++] = storage.get(captured.getSquare());
+            removePiece(captured);
+        }
+        if (from != to) {
+            Position landing = positionAt(to);
+            movePiece(positionAt(from), landing);
+            if (isPromotionSquare(piece.getTeam(), to)) {
+                AbstractPiece promoted = piece.getPromotedPiece();
+                if (promoted != piece) {
+                    removePiece(landing);
+                    placePiece(promoted);
+                }
+            }
+        }
+        switchSideToMove();
+    }
+
+    // The far row for 'team': white crowns on the top row, black on row 1
+    public boolean isPromotionSquare(AbstractPiece.PEICE_TEAM team, int square) {
+        int row = square / width;
+        return team == AbstractPiece.PEICE_TEAM.WHITE ? row == height - 1 : row == 0;
+    }
+
+    /**
+     * Takes back the last move made with {@link #makeMove}, restoring the pieces, the side to move
+     * and the hash exactly.
+     * @throws IllegalStateException if there is no move to take back.
+     */
+    public void unmakeMove() {
+        if (undoDepth == 0) {
+            throw new IllegalStateException("No move to take back.");
+        }
+        ensureOwnStorage();
+        int depth = --undoDepth;
+        int from = undoFrom[depth];
+        int to = undoTo[depth];
+        AbstractPiece moved = undoMoved[depth];
+        undoMoved[depth] = null;
+
+        if (from != to) {
+            removePiece(positionAt(to)); // Whatever stands there now, e.g. a promoted piece
+            moved.setPositionInternal(positionAt(from));
+            placePiece(moved);
+        }
+        while (capturedTop > undoCapturedStart[depth]) {
+            AbstractPiece piece = capturedStack[--capturedTop];
+            capturedStack[capturedTop] = null;
+            placePiece(piece);
+        }
+        sideToMove = sideToMove.opponent();
+        hash = undoHash[depth];
+    }
+
+    // Moves made with makeMove that can still be taken back
+    public int getUndoDepth() {
+        return undoDepth;
+    }
+
+    private void ensureUndoCapacity(int captures) {
+        if (undoDepth == undoFrom.length) {
+            int length = undoDepth * 2;
+            undoFrom = Arrays.copyOf(undoFrom, length);
+            undoTo = Arrays.copyOf(undoTo, length);
+            undoHash = Arrays.copyOf(undoHash, length);
+            undoMoved = Arrays.copyOf(undoMoved, length);
+            undoCapturedStart = Arrays.copyOf(undoCapturedStart, length);
+        }
+        if (capturedTop + captures > capturedStack.length) {
+            capturedStack = Arrays.copyOf(capturedStack, Math.max(capturedStack.length * 2, capturedTop + captures));
+        }
+    }
+
+    // --- Listeners ---
+
+    /**
+     * Registers a listener for piece changes on this board (see {@link BoardListener}). The
+     * board keeps a reference to it until {@link #removeListener} is called.
+     */
+    public void addListener(BoardListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener must not be null.");
+        }
+        listeners = Arrays.copyOf(listeners, listeners.length + 1);
+        listeners[listeners.length - 1] = listener;
+    }
+
+    // Returns false if the listener wasn't registered
+    public boolean removeListener(BoardListener listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                BoardListener[] kept = new BoardListener[listeners.length - 1];
+                System.arraycopy(listeners, 0, kept, 0, i);
+                System.arraycopy(listeners, i + 1, kept, i, kept.length - i);
+                listeners = kept;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Plain array loops - these run on every make/unmake, usually with nobody listening
+    private void firePieceAdded(AbstractPiece piece, int square) {
+        for (BoardListener listener : listeners) {
+            listener.pieceAdded(this, piece, square);
+        }
+    }
+
+    private void firePieceRemoved(AbstractPiece piece, int square) {
+        for (BoardListener listener : listeners) {
+            listener.pieceRemoved(this, piece, square);
+        }
+    }
+
+    // --- Hashing and side to move ---
+
+    /**
+     * Zobrist hash of the current state: which team/kind of piece sits on each square, plus
+     * whose turn it is. Kept up to date by placePiece, removePiece, movePiece and the side-to-move
+     * setters, so reading it is free. Equal boards hash equal; different boards almost never do.
+     */
+    public long hash() {
+        return hash;
+    }
+
+    public AbstractPiece.PEICE_TEAM getSideToMove() {
+        return sideToMove;
+    }
+
+    public void setSideToMove(AbstractPiece.PEICE_TEAM side) {
+        if (side != sideToMove) {
+            switchSideToMove();
+        }
+    }
+
+    public void switchSideToMove() {
+        sideToMove = sideToMove.opponent();
+        hash ^= zobrist.sideToMove();
+    }
+
+    // --- Square index API ---
+    // Squares are numbered row-major from A1: square = (y - 1) * width + (x - 1).
+    // These skip building Position objects so hot loops (validators, bots) can query cheaply.
+
+    public int getSquareCount() {
+        return width * height;
+    }
+
+    // Returns NO_SQUARE instead of throwing when (x, y) is off the board
+    public int squareOf(int x, int y) {
+        if (x < 1 || x > width || y < 1 || y > height) {
+            return NO_SQUARE;
+        }
+        return (y - 1) * width + (x - 1);
+    }
+
+    public int squareOf(Position position) {
+        checkDimensions(position, "Position dimensions mismatch");
+        return position.getSquare();
+    }
+
+    public Position positionAt(int square) {
+        checkSquare(square);
+        if (positions != null) {
+            return positions.at(square);
+        }
+        return new Position(square % width + 1, square / width + 1, width, height);
+    }
+
+    // Shared positions and neighbour tables for this board size, or null if the board is too big to intern
+    public PositionTable getPositionTable() {
+        return positions;
+    }
+
+    public boolean isOccupied(int square) {
+        checkSquare(square);
+        return storage.isOccupied(square);
+    }
+
+    public AbstractPiece getPieceAt(int square) {
+        checkSquare(square);
+        return storage.get(square);
+    }
+
+    /**
+     * Writes the square of every piece on the given team into {@code out}, in ascending order.
+     * @param out Must have room for {@link #getNumberOfPieces()} entries.
+     * @return How many squares were written.
+     */
+    public int collectSquares(AbstractPiece.PEICE_TEAM team, int[] out) {
+        return storage.collectSquares(team, out);
+    }
+
+    // The backend in use. Read-only use please: writing to it directly skips the hash and copy-on-write.
+    protected BoardStorage getStorage() {
+        return storage;
+    }
+
+    // --- Copy-on-write support (see snapshot()) ---
+
+    // New empty board of the same type, size and kind of storage
+    protected BoardModel emptyCopy() {
+        return new BoardModel(width, height, storage.emptyCopy());
+    }
+
+    private void clearUndo() {
+        Arrays.fill(undoMoved, 0, undoDepth, null);
+        Arrays.fill(capturedStack, 0, capturedTop, null);
+        undoDepth = 0;
+        capturedTop = 0;
+    }
+
+    // Returns true if the storage had to be copied
+    private boolean ensureOwnStorage() {
+        if (!storageShared) {
+            return false;
+        }
+        if (undoDepth == 0 && capturedTop == 0) {
+            storage = storage.copy(); // Copies the pieces too, they are mutable
+        } else {
+            copyStorageAndUndo();
+        }
+        storageShared = false;
+        return true;
+    }
+
+    // The undo stack still points at the shared pieces; swap them for our copies so that
+    // unmakeMove puts back our own objects. Each old piece maps to exactly one new one.
+    private void copyStorageAndUndo() {
+        AbstractPiece[] before = new AbstractPiece[getSquareCount()];
+        for (int square = 0; square < before.length; square++) {
+            before[square] = storage.get(square);
+        }
+        storage = storage.copy();
+
+        Map<AbstractPiece, AbstractPiece> copies = new IdentityHashMap<>();
+        for (int square = 0; square < before.length; square++) {
+            if (before[square] != null) copies.put(before[square], storage.get(square));
+        }
+        for (int i = 0; i < undoDepth; i++) {
+            undoMoved[i] = copies.computeIfAbsent(undoMoved[i], AbstractPiece::copy);
+        }
+        for (int i = 0; i < capturedTop; i++) {
+            capturedStack[i] = copies.computeIfAbsent(capturedStack[i], AbstractPiece::copy);
+        }
+    }
+
+    protected void checkDimensions(Position position, String message) {
+        if (position.getBoardWidth() != this.width || position.getBoardHeight() != this.height) {
+            throw new IllegalArgumentException(message);
+        }
+    }
+
+    protected void checkSquare(int square) {
+        if (square < 0 || square >= width * height) {
+            throw new IllegalArgumentException(String.format(
+                    "Square %d is out of range [0, %d] for a %dx%d board.",
+                    square, width * height - 1, width, height));
+        }
     }
 
 
@@ -113,7 +458,8 @@ public class BoardModel {
         return "BoardModel{" +
                 "width=" + width +
                 ", height=" + height +
-                ", pieces=" + boardSpace.size() +
+                ", pieces=" + getNumberOfPieces() +
+                ", toMove=" + sideToMove +
                 '}';
     }
 
@@ -139,11 +485,16 @@ public class BoardModel {
 
             for (int j = 1; j <= width; j++) { // Columns 1 to width
                 try {
-                    Position currentPos = new Position(j, i, width, height);
+                    Position currentPos = createPosition(j, i);
                     Optional<AbstractPiece> pieceOpt = getPieceOptional(currentPos);
                     if (pieceOpt.isPresent()) {
                         AbstractPiece piece = pieceOpt.get();
-                        System.out.print(" " + (piece.getTeam() == AbstractPiece.PEICE_TEAM.WHITE ? 'W' : 'B'));
+                        boolean white = piece.getTeam() == AbstractPiece.PEICE_TEAM.WHITE;
+                        if (piece.getKind() == AbstractPiece.PIECE_KIND.KING) {
+                            System.out.print(" " + (white ? 'K' : 'k')); // Kings
+                        } else {
+                            System.out.print(" " + (white ? 'W' : 'B'));
+                        }
                     } else {
                         // Checkerboard pattern (optional, can just print '.')
                         // if ((i + j) % 2 == 0) System.out.print(" #"); // Dark square
@@ -163,8 +514,44 @@ public class BoardModel {
         System.out.println("-");
     }
 
+    /**
+     * Clears the board and lays out the usual starting pieces: white fills the bottom rows and
+     * black the top rows, on the dark squares ((x + y) even, so A1 is dark). Each side gets
+     * (height - 2) / 2 rows, which is the standard 12 a side on an 8x8 board.
+     */
+    public void setupStartingPosition() {
+        clearBoard();
+        setSideToMove(AbstractPiece.PEICE_TEAM.WHITE);
+        int rowsPerSide = (height - 2) / 2;
+        for (int y = 1; y <= height; y++) {
+            AbstractPiece.PEICE_TEAM team;
+            if (y <= rowsPerSide) {
+                team = AbstractPiece.PEICE_TEAM.WHITE;
+            } else if (y > height - rowsPerSide) {
+                team = AbstractPiece.PEICE_TEAM.BLACK;
+            } else {
+                continue;
+            }
+            for (int x = 1; x <= width; x++) {
+                if ((x + y) % 2 == 0) {
+                    placePiece(new SerfPiece(createPosition(x, y), team));
+                }
+            }
+        }
+    }
+
     public void clearBoard() {
-        boardSpace.clear();
+        clearUndo();
+        if (storageShared) {
+            storage = storage.emptyCopy(); // Nothing worth copying, just stop sharing
+            storageShared = false;
+        } else {
+            storage.clear();
+        }
+        hash = sideToMove == AbstractPiece.PEICE_TEAM.BLACK ? zobrist.sideToMove() : 0L;
+        for (BoardListener listener : listeners) {
+            listener.boardCleared(this);
+        }
     }
 
     public Vector2i getSize() {
@@ -173,58 +560,64 @@ public class BoardModel {
 
     public Position createPosition(int x, int y)
     {
-        //Create the position based from the baord.
+        //Hand out the shared instance where we have one, otherwise build a new one.
+        if (positions != null) {
+            return positions.at(x, y);
+        }
         return new Position(x, y, this.width, this.height);
     }
 
     /**
      * Converts a 0-based linear integer index (e.g., from a flattened array or UI grid)
      * to a 1-based (x, y) Position object for a board of given dimensions.
-     * Assumes row-major order (0 is top-left, width-1 is top-right).
+     * Uses the same row-major numbering as {@link #squareOf(int, int)}: 0 is A1, width-1 is the
+     * last square of row 1, and width*height - 1 is the top-right corner.
      *
      * @param linearInt The 0-based linear index (0 to width*height - 1).
      * @return The corresponding Position object.
      * @throws IllegalArgumentException if linearInt is out of range [0, width*height - 1]
-     *         or if board dimensions are invalid.
      */
     public Position positionFromInt(int linearInt) {
-        int boardHeight = this.getHeight();
-        int boardWidth = this.getWidth();
-
-        if (boardHeight <= 0 || boardWidth <= 0) {
-            throw new IllegalArgumentException("Board dimensions must be positive.");
-        }
-
-        int maxIndex = boardWidth * boardHeight - 1;
+        int maxIndex = width * height - 1;
         if (linearInt < 0 || linearInt > maxIndex) {
             throw new IllegalArgumentException(String.format(
                     "Linear index %d is out of range [0, %d] for a %dx%d board.",
-                    linearInt, maxIndex, boardWidth, boardHeight));
+                    linearInt, maxIndex, width, height));
         }
-
-        // Calculate 0-based row and column
-        int zeroBasedRow = linearInt / boardWidth;  // Row (0 to height-1)
-        int zeroBasedCol = linearInt % boardWidth;  // Column (0 to width-1)
-
-        // Convert to 1-based coordinates
-        int xValue = zeroBasedCol + 1;
-        int yValue = boardHeight - zeroBasedRow;  // If board is inverted (A1 at bottom)
-
-        // Create position with board validation
-        return new Position(xValue, yValue, boardWidth, boardHeight);
+        return positionAt(linearInt);
     }
 
 
-    // Creates a deep copy for passing state around immutably if needed
-    // Note: This requires AbstractPiece subclasses to have copy constructors or similar
-    /*
+    /**
+     * Deep copy: same type of board, same side to move and hash, and a copy of every piece
+     * (keeping their ids). The copy and the original are fully independent afterwards. The copy
+     * starts with no moves to take back.
+     */
     public BoardModel copy() {
-        BoardModel newBoard = new BoardModel(this.width, this.height);
-        for (Map.Entry<Position, AbstractPiece> entry : this.boardSpace.entrySet()) {
-             // Assuming AbstractPiece has a copy() method or copy constructor
-             // newBoard.placePiece(entry.getValue().copy());
-        }
-        return newBoard;
+        BoardModel copy = emptyCopy();
+        copy.storage = storage.copy(); // This board is only read, so it keeps its storage to itself
+        copy.hash = hash;
+        copy.sideToMove = sideToMove;
+        return copy;
+    }
+
+    /**
+     * Copy-on-write copy, O(1): the snapshot shares this board's storage and pieces until either
+     * board is next changed, at which point the one being changed takes its own copy first.
+     * Cheap enough to take one per search branch, spectator or replay.
+     * <p>
+     * Pieces read from either board are shared until then, so change pieces through the board
+     * (placePiece/movePiece/removePiece), never directly. After the copy a board holds new piece
+     * objects with the same ids, so look pieces up again (or go by id) rather than keeping references
+     * across a snapshot. Use {@link #copy()} when this board must keep its own piece objects.
+     */
+    public BoardModel snapshot() {
+        BoardModel snapshot = emptyCopy();
+        snapshot.storage = storage; // Shared until either side writes
+        snapshot.hash = hash;
+        snapshot.sideToMove = sideToMove;
+        snapshot.storageShared = true;
+        this.storageShared = true;
+        return snapshot;
     }
-    */
-}
\ No newline at end of file
+}
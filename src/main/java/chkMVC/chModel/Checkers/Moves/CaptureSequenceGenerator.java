@@ -0,0 +1,154 @@
+package chkMVC.chModel.Checkers.Moves;
+
+import chkMVC.chModel.Checkers.BoardModel;
+import chkMVC.chModel.Checkers.Pieces.AbstractPiece;
+import chkMVC.chModel.Checkers.PositionTable;
+
+import java.util.Arrays;
+
+/**
+ * Finds every complete capture chain (multi-jump) for a piece, including chains that branch.
+ * <p>
+ * The search is depth-first and never copies the board. Each jump marks the captured square in
+ * a scratch array before going deeper and clears it again on the way back (make/unmake), so the
+ * cost is proportional to the number of hops explored and memory to the longest chain. Jumped pieces stay on the board until
+ * the move is played - they still block landings and cannot be jumped twice. The square the
+ * piece started on counts as empty while the chain is explored.
+ * <p>
+ * Each chain is written to the output buffer as one multi-hop move. Only maximal chains are
+ * written: a chain that could keep jumping is not also reported cut short. A piece that gets
+ * crowned by landing on the far row stops there, as in American rules.
+ * <p>
+ * Instances hold scratch state, so keep one per thread and reuse it.
+ */
+public class CaptureSequenceGenerator {
+
+    private static final int NO_HOP = -1;
+
+    private int[] path = new int[16];
+    private int[] nextDir = new int[16];
+    private boolean[] extended = new boolean[16];
+    private boolean[] captured = new boolean[0];
+    private int[] pieceSquares = new int[0];
+
+    // Per-call state, set at the start of generate()
+    private BoardModel board;
+    private PositionTable table;
+    private AbstractPiece piece;
+    private int origin;
+    private MoveBuffer out;
+    private int found;
+
+    /**
+     * Appends every capture chain available to the piece.
+     * @return The number of chains appended.
+     */
+    public int generate(BoardModel board, AbstractPiece piece, MoveBuffer out) {
+        Move.checkBoard(board);
+        int squareCount = board.getSquareCount();
+        if (captured.length < squareCount) {
+            captured = new boolean[squareCount];
+        }
+
+        this.board = board;
+        this.table = board.getPositionTable();
+        this.piece = piece;
+        this.origin = board.squareOf(piece.getPosition());
+        this.out = out;
+        this.found = 0;
+        try {
+            search();
+        } finally {
+            this.board = null;
+            this.table = null;
+            this.piece = null;
+            this.out = null;
+        }
+        return found;
+    }
+
+    /**
+     * Appends every capture chain for every piece of the given team.
+     * @return The number of chains appended.
+     */
+    public int generateAll(BoardModel board, AbstractPiece.PEICE_TEAM team, MoveBuffer out) {
+        if (pieceSquares.length < board.getNumberOfPieces()) {
+            pieceSquares = new int[board.getSquareCount()];
+        }
+        int count = board.collectSquares(team, pieceSquares);
+        int total = 0;
+        for (int i = 0; i < count; i++) {
+            total += generate(board, board.getPieceAt(pieceSquares[i]), out);
+        }
+        return total;
+    }
+
+    // Iterative rather than recursive so very long chains on big boards cannot overflow the stack.
+    // path[d] is the hop taken at depth d; nextDir[d] is the next direction to try from depth d.
+    private void search() {
+        int depth = 0;
+        nextDir[0] = 0;
+        extended[0] = false;
+
+        while (depth >= 0) {
+            int square = depth == 0 ? origin : Move.to(path[depth - 1]);
+            int hop = NO_HOP;
+
+            while (nextDir[depth] < PositionTable.DIRECTIONS && hop == NO_HOP) {
+                hop = jumpFrom(square, nextDir[depth]++);
+            }
+
+            if (hop != NO_HOP) {
+                // Make: take the hop and go one level deeper
+                extended[depth] = true;
+                ensureDepth(depth + 1);
+                path[depth] = hop;
+                captured[Move.captured(hop)] = true;
+                depth++;
+                // Reaching the crowning row ends the move
+                nextDir[depth] = crowns(Move.to(hop)) ? PositionTable.DIRECTIONS : 0;
+                extended[depth] = false;
+                continue;
+            }
+
+            // Nothing left to try here - a dead end after at least one hop is a complete chain
+            if (!extended[depth] && depth > 0) {
+                out.addSequence(path, depth);
+                found++;
+            }
+            // Unmake the hop that brought us here
+            if (depth > 0) {
+                captured[Move.captured(path[depth - 1])] = false;
+            }
+            depth--;
+        }
+    }
+
+    private boolean crowns(int square) {
+        return piece.getKind() == AbstractPiece.PIECE_KIND.SERF && board.isPromotionSquare(piece.getTeam(), square);
+    }
+
+    private int jumpFrom(int square, int direction) {
+        if (!piece.movesInDirection(PositionTable.dy(direction))) return NO_HOP;
+
+        int landing = table.jump(square, direction);
+        if (landing == BoardModel.NO_SQUARE) return NO_HOP;
+        if (landing != origin && board.isOccupied(landing)) return NO_HOP;
+
+        int over = table.neighbour(square, direction);
+        if (captured[over]) return NO_HOP;
+        AbstractPiece jumped = board.getPieceAt(over);
+        if (jumped == null || jumped.getTeam() == piece.getTeam()) return NO_HOP;
+
+        return Move.encodeJump(square, landing, over);
+    }
+
+    private void ensureDepth(int depth) {
+        if (depth >= path.length) {
+            int length = path.length * 2;
+            path = Arrays.copyOf(path, length);
+            nextDir = Arrays.copyOf(nextDir, length);
+            extended = Arrays.copyOf(extended, length);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package chkMVC.chModel.Checkers.Moves;
+
+import chkMVC.chModel.Checkers.BoardModel;
+
+/**
+ * Packs a single move step into one {@code int} so move lists can live in primitive buffers.
+ * <p>
+ * Layout (low to high bits): 14 bits from-square, 14 bits to-square, 1 jump flag.
+ * Squares are the board's square indexes (see {@link BoardModel#squareOf(int, int)}). The captured
+ * square isn't stored: squares are numbered row-major, so the square a jump passes over is always
+ * halfway between its from and to squares. That leaves room for boards up to 128x128.
+ */
+public final class Move {
+
+    private static final int SQUARE_BITS = 14;
+    private static final int SQUARE_MASK = (1 << SQUARE_BITS) - 1;
+    private static final int TO_SHIFT = SQUARE_BITS;
+    private static final int JUMP_FLAG = 1 << (SQUARE_BITS * 2);
+    private static final int ROUTE_SHIFT = SQUARE_BITS * 2 + 1; // Move keys only, see chainKey
+
+    // What captured() returns for a step that isn't a jump
+    public static final int NO_CAPTURE = BoardModel.NO_SQUARE;
+    // Can never be a move or a move key: from and to would both be 16383
+    public static final int NO_MOVE = Integer.MAX_VALUE;
+    // Boards bigger than this cannot be packed
+    public static final int MAX_SQUARES = 1 << SQUARE_BITS;
+
+    private Move() {}
+
+    public static int encode(int from, int to) {
+        return from | (to << TO_SHIFT);
+    }
+
+    // 'captured' must be the square between 'from' and 'to'; it is implied, not stored
+    public static int encodeJump(int from, int to, int captured) {
+        if (from + to != captured * 2) {
+            throw new IllegalArgumentException("Square " + captured + " is not between " + from + " and " + to + ".");
+        }
+        return from | (to << TO_SHIFT) | JUMP_FLAG;
+    }
+
+    public static int from(int move) {
+        return move & SQUARE_MASK;
+    }
+
+    public static int to(int move) {
+        return (move >>> TO_SHIFT) & SQUARE_MASK;
+    }
+
+    public static int captured(int move) {
+        return isJump(move) ? (from(move) + to(move)) / 2 : NO_CAPTURE;
+    }
+
+    public static boolean isJump(int move) {
+        return (move & JUMP_FLAG) != 0;
+    }
+
+    /**
+     * Key for a chain of jumps (see MoveBuffer.key): its start, its final landing and which way
+     * the first hop went, in 31 bits. Chains that share all three are told apart no further.
+     */
+    public static int chainKey(int firstHop, int finalTo) {
+        int from = from(firstHop);
+        int step = to(firstHop) - from; // +-2 rows +-2 columns: the sign gives the row, bit 2 the column
+        int route = (step > 0 ? 2 : 0) | ((step >> 2) & 1);
+        return from | (finalTo << TO_SHIFT) | JUMP_FLAG | (route << ROUTE_SHIFT);
+    }
+
+    // Throws if the board has too many squares for the packed format
+    public static void checkBoard(BoardModel board) {
+        if (board.getSquareCount() > MAX_SQUARES) {
+            throw new IllegalArgumentException("Packed moves support at most " + MAX_SQUARES
+                    + " squares, board has " + board.getSquareCount() + ".");
+        }
+    }
+
+    // Human readable form e.g. "C3-D4" or "C3xE5" - allocates, so keep it out of hot loops
+    public static String toString(int move, BoardModel board) {
+        return board.positionAt(from(move)) + (isJump(move) ? "x" : "-") + board.positionAt(to(move));
+    }
+
+    // A whole (possibly multi-hop) move from a buffer, e.g. "C1xE3xC5"
+    public static String toString(MoveBuffer moves, int index, BoardModel board) {
+        StringBuilder name = new StringBuilder(board.positionAt(moves.from(index)).toString());
+        for (int h = 0; h < moves.hopCount(index); h++) {
+            int hop = moves.hop(index, h);
+            name.append(isJump(hop) ? 'x' : '-').append(board.positionAt(to(hop)));
+        }
+        return name.toString();
+    }
+}
@@ -0,0 +1,145 @@
+package chkMVC.chModel.Checkers.Moves;
+
+import java.util.Arrays;
+
+/**
+ * Reusable list of moves, each made of one or more packed steps ("hops", see {@link Move}).
+ * <p>
+ * Simple moves and single jumps are one hop. A multi-jump is several hops, each landing where
+ * the next one starts. Callers keep one buffer around (e.g. one per search ply), {@link #clear()}
+ * it and let the generators append into it. The backing arrays only grow, so once the buffer is
+ * warm no further allocation happens.
+ */
+public class MoveBuffer {
+
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private int[] hops;
+    private int[] starts; // starts[i] is the offset of move i's first hop, starts[size] the end
+    private int size = 0;
+
+    public MoveBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public MoveBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive.");
+        }
+        this.hops = new int[capacity];
+        this.starts = new int[capacity + 1];
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // First hop of the move. For simple moves and single jumps that is the whole move.
+    public int get(int index) {
+        checkIndex(index);
+        return hops[starts[index]];
+    }
+
+    public int hopCount(int index) {
+        checkIndex(index);
+        return starts[index + 1] - starts[index];
+    }
+
+    public int hop(int index, int hop) {
+        checkIndex(index);
+        int offset = starts[index] + hop;
+        if (hop < 0 || offset >= starts[index + 1]) {
+            throw new IndexOutOfBoundsException("Hop " + hop + " out of bounds for move " + index);
+        }
+        return hops[offset];
+    }
+
+    // Square the move starts from
+    public int from(int index) {
+        return Move.from(get(index));
+    }
+
+    // Square the move finally lands on
+    public int to(int index) {
+        checkIndex(index);
+        return Move.to(hops[starts[index + 1] - 1]);
+    }
+
+    /**
+     * Compact identity for a move: the move itself if it is a single hop, otherwise its start,
+     * final landing and first capture (see Move.chainKey). Fits in 31 bits and survives
+     * regenerating the moves, so it is what gets stored in caches and books. Two different chains
+     * sharing all three is vanishingly rare, and such stores are only ever used as hints.
+     */
+    public int key(int index) {
+        int first = get(index);
+        return hopCount(index) == 1 ? first : Move.chainKey(first, to(index));
+    }
+
+    // Index of the move with the given key, or -1
+    public int indexOfKey(int key) {
+        for (int i = 0; i < size; i++) {
+            if (key(i) == key) return i;
+        }
+        return -1;
+    }
+
+    public boolean isCapture(int index) {
+        return Move.isJump(get(index));
+    }
+
+    public void add(int move) {
+        ensureCapacity(1);
+        hops[starts[size]] = move;
+        starts[size + 1] = starts[size] + 1;
+        size++;
+    }
+
+    // Appends a multi-hop move made of the first 'length' entries of 'path'
+    public void addSequence(int[] path, int length) {
+        if (length <= 0) {
+            throw new IllegalArgumentException("A move needs at least one hop.");
+        }
+        ensureCapacity(length);
+        System.arraycopy(path, 0, hops, starts[size], length);
+        starts[size + 1] = starts[size] + length;
+        size++;
+    }
+
+    // True if a single-hop move equal to 'move' is in the buffer
+    public boolean contains(int move) {
+        for (int i = 0; i < size; i++) {
+            if (starts[i + 1] - starts[i] == 1 && hops[starts[i]] == move) return true;
+        }
+        return false;
+    }
+
+    private void ensureCapacity(int extraHops) {
+        int needed = starts[size] + extraHops;
+        if (needed > hops.length) {
+            hops = Arrays.copyOf(hops, Math.max(needed, hops.length * 2));
+        }
+        if (size + 2 > starts.length) {
+            starts = Arrays.copyOf(starts, starts.length * 2);
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "MoveBuffer{size=" + size + '}';
+    }
+}
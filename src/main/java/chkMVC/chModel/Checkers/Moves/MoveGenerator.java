@@ -0,0 +1,38 @@
+package chkMVC.chModel.Checkers.Moves;
+
+import chkMVC.chModel.Checkers.BoardModel;
+import chkMVC.chModel.Checkers.Pieces.AbstractPiece;
+
+/**
+ * Generates every legal move for one side into a {@link MoveBuffer}.
+ * <p>
+ * Captures are compulsory: if any capture chain exists only the chains are returned (every
+ * maximal chain, in piece order), otherwise the simple moves of every piece. Instances hold
+ * scratch arrays, so keep one per thread and reuse it.
+ */
+public class MoveGenerator {
+
+    private final CaptureSequenceGenerator captures = new CaptureSequenceGenerator();
+    private int[] squares = new int[0];
+
+    /**
+     * Appends the legal moves for 'side' to 'out'.
+     * @return The number of moves appended.
+     */
+    public int generateLegal(BoardModel board, AbstractPiece.PEICE_TEAM side, MoveBuffer out) {
+        int found = captures.generateAll(board, side, out);
+        if (found > 0) {
+            return found;
+        }
+
+        int start = out.size();
+        if (squares.length < board.getNumberOfPieces()) {
+            squares = new int[board.getSquareCount()];
+        }
+        int count = board.collectSquares(side, squares);
+        for (int i = 0; i < count; i++) {
+            board.getPieceAt(squares[i]).generateSimpleMoves(board, out);
+        }
+        return out.size() - start;
+    }
+}
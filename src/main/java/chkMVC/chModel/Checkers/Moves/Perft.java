@@ -0,0 +1,115 @@
+package chkMVC.chModel.Checkers.Moves;
+
+import chkMVC.chModel.Checkers.BoardModel;
+import chkMVC.chModel.Checkers.Pieces.AbstractPiece;
+import chkMVC.chModel.Checkers.Storage.BoardStorage;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Perft ("performance test"): counts the leaf nodes of the legal move tree to a fixed depth.
+ * <p>
+ * The counts are a correctness check for move generation (they must match known values for the
+ * starting position) and the time taken is a throughput number for the generator and board.
+ * Divide mode reports the count below each root move separately, which is how a mismatch gets
+ * narrowed down to the move that is generated wrong.
+ * <p>
+ * Moves are played and taken back on the given board, so it is left as it was afterwards.
+ */
+public class Perft {
+
+    private final BoardModel board;
+    private final MoveGenerator generator = new MoveGenerator();
+    private MoveBuffer[] buffers = new MoveBuffer[0];
+
+    public Perft(BoardModel board) {
+        this.board = board;
+    }
+
+    public long perft(AbstractPiece.PEICE_TEAM side, int depth) {
+        if (depth < 0) {
+            throw new IllegalArgumentException("Depth must not be negative.");
+        }
+        ensurePlies(depth);
+        return count(side, depth, 0);
+    }
+
+    // Leaf count below each root move, keyed by the move in "C3-D4" / "C3xE5xC7" form
+    public Map<String, Long> divide(AbstractPiece.PEICE_TEAM side, int depth) {
+        if (depth < 1) {
+            throw new IllegalArgumentException("Divide needs a depth of at least 1.");
+        }
+        ensurePlies(depth);
+        Map<String, Long> results = new LinkedHashMap<>();
+        MoveBuffer moves = buffers[0];
+        moves.clear();
+        generator.generateLegal(board, side, moves);
+        for (int i = 0; i < moves.size(); i++) {
+            String name = Move.toString(moves, i, board);
+            board.makeMove(moves, i);
+            results.put(name, count(side.opponent(), depth - 1, 1));
+            board.unmakeMove();
+        }
+        return results;
+    }
+
+    private long count(AbstractPiece.PEICE_TEAM side, int depth, int ply) {
+        if (depth == 0) {
+            return 1;
+        }
+        MoveBuffer moves = buffers[ply];
+        moves.clear();
+        generator.generateLegal(board, side, moves);
+        if (depth == 1) {
+            return moves.size(); // Bulk count the last ply, no need to play the moves
+        }
+
+        long nodes = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            board.makeMove(moves, i);
+            nodes += count(side.opponent(), depth - 1, ply + 1);
+            board.unmakeMove();
+        }
+        return nodes;
+    }
+
+    private void ensurePlies(int depth) {
+        if (buffers.length < depth + 1) {
+            int oldLength = buffers.length;
+            buffers = Arrays.copyOf(buffers, depth + 1);
+            for (int i = oldLength; i <= depth; i++) {
+                buffers[i] = new MoveBuffer();
+            }
+        }
+    }
+
+    // Usage: Perft [depth] [map|array|bitboard] [divide]
+    public static void main(String[] args) {
+        int depth = args.length > 0 ? Integer.parseInt(args[0]) : 7;
+        String model = args.length > 1 ? args[1] : "bitboard";
+        boolean divide = args.length > 2 && args[2].equalsIgnoreCase("divide");
+
+        BoardModel board = new BoardModel(8, 8, BoardStorage.named(model, 64));
+        board.setupStartingPosition();
+        Perft perft = new Perft(board);
+        AbstractPiece.PEICE_TEAM side = AbstractPiece.PEICE_TEAM.WHITE;
+
+        long startNanos = System.nanoTime();
+        long nodes = 0;
+        if (divide) {
+            for (Map.Entry<String, Long> entry : perft.divide(side, depth).entrySet()) {
+                System.out.println(entry.getKey() + ": " + entry.getValue());
+                nodes += entry.getValue();
+            }
+        } else {
+            nodes = perft.perft(side, depth);
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+
+        double seconds = elapsedNanos / 1e9;
+        System.out.printf("Perft(%d) on %s model: %d nodes in %.3f s (%.0f nodes/s)%n",
+                depth, model, nodes, seconds, nodes / Math.max(seconds, 1e-9));
+    }
+}
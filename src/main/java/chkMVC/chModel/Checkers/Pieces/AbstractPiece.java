@@ -1,12 +1,18 @@
 package chkMVC.chModel.Checkers.Pieces;
 
-import chkGameUtil.IncrementerSingleton;
+import chkGameUtil.IdAllocator;
 import chkMVC.chModel.Checkers.BoardModel;
+import chkMVC.chModel.Checkers.Moves.CaptureSequenceGenerator;
+import chkMVC.chModel.Checkers.Moves.Move;
+import chkMVC.chModel.Checkers.Moves.MoveBuffer;
 import chkMVC.chModel.Checkers.Position;
+import chkMVC.chModel.Checkers.PositionTable;
 import chkMVC.chModel.Math.Vector2i;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 public abstract class AbstractPiece {
 
@@ -22,16 +28,71 @@ public abstract class AbstractPiece {
 
     AbstractPiece(Position position, PEICE_TEAM team)
     {
-        this.id = IncrementerSingleton.getInstance().increment();
+        this.id = IdAllocator.nextId();
         this.position = position;
         this.direction = (team == PEICE_TEAM.WHITE) ? PIECE_DIRECTION.FORWARD : PIECE_DIRECTION.BACKWARD;
         this.team = team;
     }
 
-    //Will need a recursive function to build up all possible moves. going to need a lot of testing for that.
-    public ArrayList<Position> getRecursiveValidPositions()
+    // Copy constructor for copy(): same id, team and position, so the copy is "the same piece" on another board
+    protected AbstractPiece(AbstractPiece other)
     {
-        return null;
+        this.id = other.id;
+        this.position = other.position;
+        this.direction = other.direction;
+        this.team = other.team;
+    }
+
+    //Where the piece can end up after a full capture chain (one entry per chain, so repeats are possible).
+    //Use CaptureSequenceGenerator directly to get the hops and to avoid the allocation.
+    public ArrayList<Position> getRecursiveValidPositions(BoardModel board)
+    {
+        if (board.getSquareCount() > Move.MAX_SQUARES) {
+            // Too big for packed moves, so walk the chains square by square instead
+            ArrayList<Position> landings = new ArrayList<>();
+            int origin = board.squareOf(position);
+            collectChainLandings(board, origin, origin, new HashSet<>(), landings);
+            return landings;
+        }
+
+        MoveBuffer chains = new MoveBuffer();
+        new CaptureSequenceGenerator().generate(board, this, chains);
+
+        ArrayList<Position> landings = new ArrayList<>(chains.size());
+        for (int i = 0; i < chains.size(); i++) {
+            landings.add(board.positionAt(chains.to(i)));
+        }
+        return landings;
+    }
+
+    //Same chains in the same order as CaptureSequenceGenerator, for boards it can't pack moves for.
+    //Adds the landing of every complete chain through 'square' and returns whether any jump was possible from it.
+    private boolean collectChainLandings(BoardModel board, int origin, int square, Set<Integer> captured, List<Position> landings)
+    {
+        int x = square % board.getWidth() + 1;
+        int y = square / board.getWidth() + 1;
+        boolean jumped = false;
+        for (int dir = 0; dir < PositionTable.DIRECTIONS; dir++) {
+            int dx = PositionTable.dx(dir);
+            int dy = PositionTable.dy(dir);
+            if (!movesInDirection(dy)) continue;
+
+            int landing = board.squareOf(x + dx * 2, y + dy * 2);
+            if (landing == BoardModel.NO_SQUARE) continue;
+            if (landing != origin && board.isOccupied(landing)) continue; // The start square counts as empty
+
+            int over = board.squareOf(x + dx, y + dy);
+            AbstractPiece jumpedPiece = board.getPieceAt(over);
+            if (jumpedPiece == null || jumpedPiece.getTeam() == team || !captured.add(over)) continue;
+
+            jumped = true;
+            boolean crowns = getKind() == PIECE_KIND.SERF && board.isPromotionSquare(team, landing);
+            if (crowns || !collectChainLandings(board, origin, landing, captured, landings)) {
+                landings.add(board.positionAt(landing));
+            }
+            captured.remove(over);
+        }
+        return jumped;
     }
 
     //Return the valid positions.
@@ -76,6 +137,28 @@ public abstract class AbstractPiece {
 
     public abstract List<Position> getValidJumpMoves(BoardModel board);
 
+    // Allocation-free variants of the two methods above: append packed moves (see Move) to a
+    // caller-owned buffer instead of building a list. Off-board squares are skipped, never thrown.
+    public abstract void generateSimpleMoves(BoardModel board, MoveBuffer out);
+
+    public abstract void generateJumpMoves(BoardModel board, MoveBuffer out);
+
+    public abstract PIECE_KIND getKind();
+
+    //Independent copy of this piece (same id) for putting on a copied board.
+    public abstract AbstractPiece copy();
+
+    //What this piece turns into on reaching the far row (see BoardModel.isPromotionSquare).
+    //Pieces that don't promote return themselves.
+    public AbstractPiece getPromotedPiece() {
+        return this;
+    }
+
+    //Whether this piece may step or jump along the given Y direction (+1 / -1).
+    public boolean movesInDirection(int dy) {
+        return dy == getDirection();
+    }
+
     public void setPositionInternal(Position to) {
         this.position = to;
     }
@@ -102,11 +185,22 @@ public abstract class AbstractPiece {
         PEICE_TEAM(int value){
             this.value = value;
         }
+
+        public PEICE_TEAM opponent() {
+            return this == WHITE ? BLACK : WHITE;
+        }
+    }
+
+    //What sort of piece this is - boards that keep one bitboard per kind index on this.
+    public enum PIECE_KIND {
+        SERF,
+        KING
     }
 
+    //The Y step for moving forward: +1 for white, -1 for black. Kings move both ways (see movesInDirection).
     public int getDirection()
     {
-        return this.team.value;
+        return this.direction.value;
     }
 
 
@@ -0,0 +1,108 @@
+package chkMVC.chModel.Checkers.Pieces;
+
+import chkMVC.chModel.Checkers.BoardModel;
+import chkMVC.chModel.Checkers.Moves.Move;
+import chkMVC.chModel.Checkers.Moves.MoveBuffer;
+import chkMVC.chModel.Checkers.Position;
+import chkMVC.chModel.Checkers.PositionTable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A crowned piece: steps and jumps one square diagonally in any of the four directions
+ * (American rules, no flying kings).
+ * <p>
+ * The packed generators walk {@link PositionTable}'s per-square step and jump lists, which
+ * already leave out the off-board directions, so there are no bounds checks in the loop.
+ */
+public class KingPiece extends AbstractPiece {
+
+    public KingPiece(Position position, PEICE_TEAM team) {
+        super(position, team);
+    }
+
+    // Crowns 'piece': same id, team and square. Also used by copy().
+    KingPiece(AbstractPiece piece) {
+        super(piece);
+    }
+
+    @Override
+    public PIECE_KIND getKind() {
+        return PIECE_KIND.KING;
+    }
+
+    @Override
+    public KingPiece copy() {
+        return new KingPiece(this);
+    }
+
+    @Override
+    public boolean movesInDirection(int dy) {
+        return true;
+    }
+
+    @Override
+    public List<Position> getValidSimpleMoves(BoardModel board) {
+        List<Position> validMoves = new ArrayList<>();
+        Position current = getPosition();
+        for (int dir = 0; dir < PositionTable.DIRECTIONS; dir++) {
+            Position potentialPos = current.tryDeltaPosition(PositionTable.dx(dir), PositionTable.dy(dir));
+            if (potentialPos != null && !board.isOccupied(potentialPos)) {
+                validMoves.add(potentialPos);
+            }
+        }
+        return validMoves;
+    }
+
+    @Override
+    public List<Position> getValidJumpMoves(BoardModel board) {
+        List<Position> jumpMoves = new ArrayList<>();
+        Position current = getPosition();
+        for (int dir = 0; dir < PositionTable.DIRECTIONS; dir++) {
+            int dx = PositionTable.dx(dir);
+            int dy = PositionTable.dy(dir);
+            Position landingPos = current.tryDeltaPosition(dx * 2, dy * 2);
+            if (landingPos == null) continue;
+
+            AbstractPiece pieceToJump = board.getPieceAt(current.getDeltaPosition(dx, dy));
+            if (pieceToJump != null && pieceToJump.getTeam() != this.getTeam() && !board.isOccupied(landingPos)) {
+                jumpMoves.add(landingPos);
+            }
+        }
+        return jumpMoves;
+    }
+
+    @Override
+    public void generateSimpleMoves(BoardModel board, MoveBuffer out) {
+        Move.checkBoard(board);
+        PositionTable table = board.getPositionTable();
+        int from = board.squareOf(getPosition());
+
+        int count = table.stepCount(from);
+        for (int k = 0; k < count; k++) {
+            int to = table.step(from, k);
+            if (!board.isOccupied(to)) {
+                out.add(Move.encode(from, to));
+            }
+        }
+    }
+
+    @Override
+    public void generateJumpMoves(BoardModel board, MoveBuffer out) {
+        Move.checkBoard(board);
+        PositionTable table = board.getPositionTable();
+        int from = board.squareOf(getPosition());
+
+        int count = table.jumpCount(from);
+        for (int k = 0; k < count; k++) {
+            int landing = table.jumpLanding(from, k);
+            if (board.isOccupied(landing)) continue;
+            int over = table.jumpOver(from, k);
+            AbstractPiece pieceToJump = board.getPieceAt(over);
+            if (pieceToJump != null && pieceToJump.getTeam() != this.getTeam()) {
+                out.add(Move.encodeJump(from, landing, over));
+            }
+        }
+    }
+}
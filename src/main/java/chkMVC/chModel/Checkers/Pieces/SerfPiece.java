@@ -1,38 +1,59 @@
 package chkMVC.chModel.Checkers.Pieces;
 
 import chkMVC.chModel.Checkers.BoardModel;
+import chkMVC.chModel.Checkers.Moves.Move;
+import chkMVC.chModel.Checkers.Moves.MoveBuffer;
 import chkMVC.chModel.Checkers.Position;
+import chkMVC.chModel.Checkers.PositionTable;
 
 import java.util.ArrayList;
 import java.util.List;
 
 public class SerfPiece extends AbstractPiece {
 
+    private KingPiece king; // Made on first promotion and kept, so promoting again (after a takeback) is free
+
     public SerfPiece(Position position, PEICE_TEAM team) {
         super(position, team);
     }
 
+    private SerfPiece(SerfPiece other) {
+        super(other);
+    }
+
+    @Override
+    public SerfPiece copy() {
+        return new SerfPiece(this);
+    }
+
+    // The king this serf becomes, same id; it stands wherever the serf does now
+    @Override
+    public KingPiece getPromotedPiece() {
+        if (king == null) {
+            king = new KingPiece(this);
+        }
+        king.setPositionInternal(getPosition());
+        return king;
+    }
+
+    @Override
+    public PIECE_KIND getKind() {
+        return PIECE_KIND.SERF;
+    }
+
     @Override
     public List<Position> getValidSimpleMoves(BoardModel board) {
         List<Position> validMoves = new ArrayList<>();
         Position current = getPosition();
         int forwardY = getDirection(); // Get the Y direction based on team
 
-        // Check forward-left
-        try {
-            Position potentialPos = current.getDeltaPosition(-1, forwardY);
-            if (!board.isOccupied(potentialPos)) {
-                validMoves.add(potentialPos);
-            }
-        } catch (IllegalArgumentException e) { /* Off board */ }
-
-        // Check forward-right
-        try {
-            Position potentialPos = current.getDeltaPosition(1, forwardY);
-            if (!board.isOccupied(potentialPos)) {
+        // Forward-left then forward-right; null means off the board
+        for (int dx = -1; dx <= 1; dx += 2) {
+            Position potentialPos = current.tryDeltaPosition(dx, forwardY);
+            if (potentialPos != null && !board.isOccupied(potentialPos)) {
                 validMoves.add(potentialPos);
             }
-        } catch (IllegalArgumentException e) { /* Off board */ }
+        }
 
         return validMoves;
     }
@@ -43,29 +64,55 @@ public class SerfPiece extends AbstractPiece {
         Position current = getPosition();
         int forwardY = getDirection(); // Y direction for moving forward
 
-        // Check jump forward-left
-        try {
-            Position jumpOverPos = current.getDeltaPosition(-1, forwardY);
-            Position landingPos = current.getDeltaPosition(-2, forwardY * 2); // Jump lands 2 steps away
-            AbstractPiece pieceToJump = board.getPieceAt(jumpOverPos);
+        for (int dx = -1; dx <= 1; dx += 2) {
+            Position landingPos = current.tryDeltaPosition(dx * 2, forwardY * 2); // Jump lands 2 steps away
+            if (landingPos == null) continue; // Off board (the square jumped over is then on board)
+
+            AbstractPiece pieceToJump = board.getPieceAt(current.getDeltaPosition(dx, forwardY));
             // Must jump over an OPPONENT piece onto an EMPTY square
             if (pieceToJump != null && pieceToJump.getTeam() != this.getTeam() && !board.isOccupied(landingPos)) {
                 jumpMoves.add(landingPos);
             }
-        } catch (IllegalArgumentException e) { /* Off board */ }
+        }
 
-        // Check jump forward-right
-        try {
-            Position jumpOverPos = current.getDeltaPosition(1, forwardY);
-            Position landingPos = current.getDeltaPosition(2, forwardY * 2);
-            AbstractPiece pieceToJump = board.getPieceAt(jumpOverPos);
-            if (pieceToJump != null && pieceToJump.getTeam() != this.getTeam() && !board.isOccupied(landingPos)) {
-                jumpMoves.add(landingPos);
+        // Single jumps only - CaptureSequenceGenerator follows these into full multi-jump chains
+
+        return jumpMoves;
+    }
+
+    @Override
+    public void generateSimpleMoves(BoardModel board, MoveBuffer out) {
+        Move.checkBoard(board);
+        PositionTable table = board.getPositionTable();
+        int from = board.squareOf(getPosition());
+
+        // Neighbour table lookups, same order as getValidSimpleMoves
+        for (int dir = 0; dir < PositionTable.DIRECTIONS; dir++) {
+            if (!movesInDirection(PositionTable.dy(dir))) continue;
+            int to = table.neighbour(from, dir);
+            if (to != BoardModel.NO_SQUARE && !board.isOccupied(to)) {
+                out.add(Move.encode(from, to));
             }
-        } catch (IllegalArgumentException e) { /* Off board */ }
+        }
+    }
 
-        // TODO: Add multi-jump logic if required (often handled in the Controller/Game Logic)
+    @Override
+    public void generateJumpMoves(BoardModel board, MoveBuffer out) {
+        Move.checkBoard(board);
+        PositionTable table = board.getPositionTable();
+        int from = board.squareOf(getPosition());
 
-        return jumpMoves;
+        for (int dir = 0; dir < PositionTable.DIRECTIONS; dir++) {
+            if (!movesInDirection(PositionTable.dy(dir))) continue;
+            int landing = table.jump(from, dir);
+            if (landing == BoardModel.NO_SQUARE || board.isOccupied(landing)) continue;
+
+            // Landing is on the board, so the square between is too
+            int over = table.neighbour(from, dir);
+            AbstractPiece pieceToJump = board.getPieceAt(over);
+            if (pieceToJump != null && pieceToJump.getTeam() != this.getTeam()) {
+                out.add(Move.encodeJump(from, landing, over));
+            }
+        }
     }
-}
\ No newline at end of file
+}
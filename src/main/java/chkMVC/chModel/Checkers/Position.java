@@ -1,12 +1,12 @@
 package chkMVC.chModel.Checkers;
 
 import chkMVC.chModel.Math.Vector2i;
-import java.util.Objects; // Use Objects.hash
 
 public class Position {
     private final Vector2i position; // Made final
     private final int boardWidth;    // Made final
     private final int boardHeight;   // Made final
+    private final PositionTable table; // Set on the shared instances from PositionTable, null otherwise
 
     /**
      * Creates a new Position.
@@ -34,6 +34,15 @@ public class Position {
         }
 
         this.position = new Vector2i(x, y);
+        this.table = null;
+    }
+
+    // Used by PositionTable to build its canonical instances - coordinates are already known good
+    Position(int x, int y, PositionTable table) {
+        this.boardWidth = table.getWidth();
+        this.boardHeight = table.getHeight();
+        this.position = new Vector2i(x, y);
+        this.table = table;
     }
 
     /**
@@ -75,8 +84,8 @@ public class Position {
 
     @Override
     public int hashCode() {
-        // Hash code depends only on coordinates for map lookups.
-        return Objects.hash(this.getX(), this.getY());
+        // Hash code depends only on coordinates for map lookups (no varargs/boxing like Objects.hash).
+        return 31 * this.getX() + this.getY();
         // Optional stricter hash: return Objects.hash(this.getX(), this.getY(), this.boardWidth, this.boardHeight);
     }
 
@@ -100,10 +109,29 @@ public class Position {
     public Position getDeltaPosition(int dx, int dy) {
         int newX = this.getX() + dx;
         int newY = this.getY() + dy;
+        if (table != null) {
+            return table.at(newX, newY); // Shared instance, throws the usual way when off the board
+        }
         // The constructor will validate the new coordinates against the board dimensions
         return new Position(newX, newY, this.boardWidth, this.boardHeight);
     }
 
+    /**
+     * Like {@link #getDeltaPosition(int, int)} but returns null instead of throwing when the
+     * result is off the board. Cheap enough for move generation loops.
+     */
+    public Position tryDeltaPosition(int dx, int dy) {
+        int newX = this.getX() + dx;
+        int newY = this.getY() + dy;
+        if (table != null) {
+            return table.atOrNull(newX, newY);
+        }
+        if (newX < 1 || newX > boardWidth || newY < 1 || newY > boardHeight) {
+            return null;
+        }
+        return new Position(newX, newY, this.boardWidth, this.boardHeight);
+    }
+
     /**
      * Calculates a new Position relative to this one using a Vector2i delta.
      * @param dv Vector representing the change in x and y.
@@ -114,6 +142,11 @@ public class Position {
         return getDeltaPosition(dv.x, dv.y);
     }
 
+    // Row-major square index from A1, matching BoardModel.squareOf
+    public int getSquare() {
+        return (this.getY() - 1) * this.boardWidth + (this.getX() - 1);
+    }
+
     public int getY() {
         return this.position.y;
     }
@@ -0,0 +1,183 @@
+package chkMVC.chModel.Checkers;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shared, canonical {@link Position} instances for one board size, indexed by square number.
+ * <p>
+ * Positions are immutable, so every board of the same size can hand out the same objects instead
+ * of building a new Position (and Vector2i) per lookup. Alongside the positions the table keeps
+ * precomputed diagonal neighbour and jump-landing squares, so stepping around the board is an
+ * array read. Off-board steps come back as {@link BoardModel#NO_SQUARE} (or null for Positions).
+ * <p>
+ * One table per board size is built on first use and cached for the life of the JVM.
+ */
+public final class PositionTable {
+
+    // Keeps the cache from ballooning on silly board sizes (256x256 and under are interned)
+    public static final int MAX_SQUARES = 1 << 16;
+
+    // Diagonal directions, in the order move generation tries them
+    public static final int UP_LEFT = 0;
+    public static final int UP_RIGHT = 1;
+    public static final int DOWN_LEFT = 2;
+    public static final int DOWN_RIGHT = 3;
+    public static final int DIRECTIONS = 4;
+
+    private static final int[] DX = {-1, 1, -1, 1};
+    private static final int[] DY = {1, 1, -1, -1};
+
+    private static final ConcurrentHashMap<Long, PositionTable> TABLES = new ConcurrentHashMap<>();
+
+    private final int width;
+    private final int height;
+    private final Position[] positions;
+    private final int[] neighbours; // [square * DIRECTIONS + direction]
+    private final int[] jumps;      // Landing square two steps along the diagonal
+
+    // The same steps and jumps packed per square with the off-board ones left out, so pieces
+    // that move every way (kings) loop over exactly the moves that exist without any NO_SQUARE checks.
+    private final int[] stepCounts;
+    private final int[] steps;        // [square * DIRECTIONS + k]
+    private final int[] jumpCounts;
+    private final int[] jumpLandings; // [square * DIRECTIONS + k]
+    private final int[] jumpOvers;    // Square jumped over for the matching landing
+
+    private PositionTable(int width, int height) {
+        this.width = width;
+        this.height = height;
+        int squares = width * height;
+        this.positions = new Position[squares];
+        this.neighbours = new int[squares * DIRECTIONS];
+        this.jumps = new int[squares * DIRECTIONS];
+        this.stepCounts = new int[squares];
+        this.steps = new int[squares * DIRECTIONS];
+        this.jumpCounts = new int[squares];
+        this.jumpLandings = new int[squares * DIRECTIONS];
+        this.jumpOvers = new int[squares * DIRECTIONS];
+
+        for (int square = 0; square < squares; square++) {
+            int x = square % width + 1;
+            int y = square / width + 1;
+            positions[square] = new Position(x, y, this);
+            int base = square * DIRECTIONS;
+            for (int dir = 0; dir < DIRECTIONS; dir++) {
+                int neighbour = squareOf(x + DX[dir], y + DY[dir]);
+                int jump = squareOf(x + DX[dir] * 2, y + DY[dir] * 2);
+                neighbours[base + dir] = neighbour;
+                jumps[base + dir] = jump;
+                if (neighbour != BoardModel.NO_SQUARE) {
+                    steps[base + stepCounts[square]++] = neighbour;
+                }
+                if (jump != BoardModel.NO_SQUARE) {
+                    jumpLandings[base + jumpCounts[square]] = jump;
+                    jumpOvers[base + jumpCounts[square]++] = neighbour;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the shared table for a board size.
+     * @throws IllegalArgumentException if the dimensions are not positive or the board has more than MAX_SQUARES squares.
+     */
+    public static PositionTable forSize(int width, int height) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Board dimensions must be positive.");
+        }
+        if ((long) width * height > MAX_SQUARES) {
+            throw new IllegalArgumentException("Position tables support at most " + MAX_SQUARES
+                    + " squares, got " + width + "x" + height + ".");
+        }
+        long key = ((long) width << 32) | height;
+        return TABLES.computeIfAbsent(key, k -> new PositionTable(width, height));
+    }
+
+    public static boolean supports(int width, int height) {
+        return width > 0 && height > 0 && (long) width * height <= MAX_SQUARES;
+    }
+
+    public static int dx(int direction) {
+        return DX[direction];
+    }
+
+    public static int dy(int direction) {
+        return DY[direction];
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getSquareCount() {
+        return positions.length;
+    }
+
+    public Position at(int square) {
+        return positions[square];
+    }
+
+    /**
+     * Canonical position for 1-based (x, y).
+     * @throws IllegalArgumentException if (x, y) is off the board, same as the Position constructor.
+     */
+    public Position at(int x, int y) {
+        int square = squareOf(x, y);
+        if (square == BoardModel.NO_SQUARE) {
+            return new Position(x, y, width, height); // Let the constructor report the bad coordinate
+        }
+        return positions[square];
+    }
+
+    // Canonical position for (x, y), or null when off the board
+    public Position atOrNull(int x, int y) {
+        int square = squareOf(x, y);
+        return square == BoardModel.NO_SQUARE ? null : positions[square];
+    }
+
+    public int squareOf(int x, int y) {
+        if (x < 1 || x > width || y < 1 || y > height) {
+            return BoardModel.NO_SQUARE;
+        }
+        return (y - 1) * width + (x - 1);
+    }
+
+    // Diagonal neighbour one step away, or NO_SQUARE
+    public int neighbour(int square, int direction) {
+        return neighbours[square * DIRECTIONS + direction];
+    }
+
+    // Jump landing square two steps away, or NO_SQUARE
+    public int jump(int square, int direction) {
+        return jumps[square * DIRECTIONS + direction];
+    }
+
+    // --- Packed per-square lists (direction order, off-board entries skipped) ---
+
+    public int stepCount(int square) {
+        return stepCounts[square];
+    }
+
+    // k-th on-board diagonal neighbour of 'square', for k below stepCount(square)
+    public int step(int square, int k) {
+        return steps[square * DIRECTIONS + k];
+    }
+
+    public int jumpCount(int square) {
+        return jumpCounts[square];
+    }
+
+    // k-th on-board jump landing from 'square', for k below jumpCount(square)
+    public int jumpLanding(int square, int k) {
+        return jumpLandings[square * DIRECTIONS + k];
+    }
+
+    // Square jumped over on the way to jumpLanding(square, k)
+    public int jumpOver(int square, int k) {
+        return jumpOvers[square * DIRECTIONS + k];
+    }
+}
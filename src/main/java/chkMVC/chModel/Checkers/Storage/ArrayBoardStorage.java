@@ -0,0 +1,95 @@
+package chkMVC.chModel.Checkers.Storage;
+
+import chkMVC.chModel.Checkers.Pieces.AbstractPiece;
+
+import java.util.Arrays;
+
+/**
+ * Pieces in a flat array indexed by square: a lookup is one array read, whatever the board size.
+ * <p>
+ * Alongside it is a dense list of the occupied squares (with each square's index in the list, so
+ * removal is a swap with the last entry). Collecting a team's squares walks the pieces, not
+ * the whole board, which matters on big boards with few pieces left.
+ */
+public class ArrayBoardStorage implements BoardStorage {
+
+    private final AbstractPiece[] squares;
+    private final int[] occupied;  // Occupied squares, first 'count' entries, in no particular order
+    private final int[] listIndex; // Where each occupied square sits in 'occupied'
+    private int count = 0;
+
+    public ArrayBoardStorage(int squareCount) {
+        if (squareCount <= 0) {
+            throw new IllegalArgumentException("Storage needs at least one square.");
+        }
+        this.squares = new AbstractPiece[squareCount];
+        this.occupied = new int[squareCount];
+        this.listIndex = new int[squareCount];
+    }
+
+    @Override
+    public AbstractPiece get(int square) {
+        return squares[square];
+    }
+
+    @Override
+    public void put(int square, AbstractPiece piece) {
+        squares[square] = piece;
+        listIndex[square] = count;
+        occupied[count++] = square;
+    }
+
+    @Override
+    public AbstractPiece remove(int square) {
+        AbstractPiece piece = squares[square];
+        if (piece == null) {
+            return null;
+        }
+        squares[square] = null;
+        int last = occupied[--count];
+        occupied[listIndex[square]] = last;
+        listIndex[last] = listIndex[square];
+        return piece;
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < count; i++) {
+            squares[occupied[i]] = null;
+        }
+        count = 0;
+    }
+
+    @Override
+    public int collectSquares(AbstractPiece.PEICE_TEAM team, int[] out) {
+        int found = 0;
+        for (int i = 0; i < count; i++) {
+            int square = occupied[i];
+            if (squares[square].getTeam() == team) {
+                out[found++] = square;
+            }
+        }
+        Arrays.sort(out, 0, found);
+        return found;
+    }
+
+    @Override
+    public ArrayBoardStorage copy() {
+        ArrayBoardStorage copy = new ArrayBoardStorage(squares.length);
+        for (int i = 0; i < count; i++) {
+            int square = occupied[i];
+            copy.put(square, squares[square].copy());
+        }
+        return copy;
+    }
+
+    @Override
+    public ArrayBoardStorage emptyCopy() {
+        return new ArrayBoardStorage(squares.length);
+    }
+}
@@ -0,0 +1,121 @@
+package chkMVC.chModel.Checkers.Storage;
+
+import chkMVC.chModel.Checkers.Pieces.AbstractPiece;
+
+import java.util.Arrays;
+
+/**
+ * Occupancy in {@code long} bitboards, for boards of up to 64 squares.
+ * <p>
+ * One bitboard is kept per team and one per piece kind, with bit {@code n} standing for
+ * square {@code n}. The piece objects themselves live in a flat array indexed by square so
+ * lookups still hand back the same instance that was stored. Occupancy queries are a shift
+ * and a mask, and collecting a team's squares is a walk over its set bits (already in order).
+ */
+public class BitboardStorage implements BoardStorage {
+
+    public static final int MAX_SQUARES = Long.SIZE;
+
+    private final long[] teamBits = new long[AbstractPiece.PEICE_TEAM.values().length];
+    private final long[] kindBits = new long[AbstractPiece.PIECE_KIND.values().length];
+    private final AbstractPiece[] squares;
+    private int pieceCount = 0;
+
+    public BitboardStorage(int squareCount) {
+        if (squareCount <= 0 || squareCount > MAX_SQUARES) {
+            throw new IllegalArgumentException("Bitboard storage supports 1 to " + MAX_SQUARES
+                    + " squares, got " + squareCount + ".");
+        }
+        this.squares = new AbstractPiece[squareCount];
+    }
+
+    // --- Bitboard accessors ---
+
+    public long getOccupiedBits() {
+        return teamBits[0] | teamBits[1];
+    }
+
+    public long getTeamBits(AbstractPiece.PEICE_TEAM team) {
+        return teamBits[team.ordinal()];
+    }
+
+    public long getKindBits(AbstractPiece.PIECE_KIND kind) {
+        return kindBits[kind.ordinal()];
+    }
+
+    // --- BoardStorage ---
+
+    @Override
+    public AbstractPiece get(int square) {
+        return squares[square];
+    }
+
+    @Override
+    public boolean isOccupied(int square) {
+        return ((getOccupiedBits() >>> square) & 1L) != 0;
+    }
+
+    @Override
+    public void put(int square, AbstractPiece piece) {
+        long bit = 1L << square;
+        squares[square] = piece;
+        teamBits[piece.getTeam().ordinal()] |= bit;
+        kindBits[piece.getKind().ordinal()] |= bit;
+        pieceCount++;
+    }
+
+    @Override
+    public AbstractPiece remove(int square) {
+        AbstractPiece piece = squares[square];
+        if (piece == null) {
+            return null;
+        }
+        long mask = ~(1L << square);
+        squares[square] = null;
+        teamBits[piece.getTeam().ordinal()] &= mask;
+        kindBits[piece.getKind().ordinal()] &= mask;
+        pieceCount--;
+        return piece;
+    }
+
+    @Override
+    public int size() {
+        return pieceCount;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(squares, null);
+        Arrays.fill(teamBits, 0L);
+        Arrays.fill(kindBits, 0L);
+        pieceCount = 0;
+    }
+
+    @Override
+    public int collectSquares(AbstractPiece.PEICE_TEAM team, int[] out) {
+        long bits = teamBits[team.ordinal()];
+        int count = 0;
+        while (bits != 0) {
+            out[count++] = Long.numberOfTrailingZeros(bits);
+            bits &= bits - 1; // Clear lowest set bit
+        }
+        return count;
+    }
+
+    @Override
+    public BitboardStorage copy() {
+        BitboardStorage copy = new BitboardStorage(squares.length);
+        System.arraycopy(teamBits, 0, copy.teamBits, 0, teamBits.length);
+        System.arraycopy(kindBits, 0, copy.kindBits, 0, kindBits.length);
+        for (int square = 0; square < squares.length; square++) {
+            if (squares[square] != null) copy.squares[square] = squares[square].copy();
+        }
+        copy.pieceCount = pieceCount;
+        return copy;
+    }
+
+    @Override
+    public BitboardStorage emptyCopy() {
+        return new BitboardStorage(squares.length);
+    }
+}
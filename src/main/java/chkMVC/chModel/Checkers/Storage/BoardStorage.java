@@ -0,0 +1,84 @@
+package chkMVC.chModel.Checkers.Storage;
+
+import chkMVC.chModel.Checkers.Pieces.AbstractPiece;
+import chkMVC.chModel.Checkers.PositionTable;
+
+/**
+ * Where a {@link chkMVC.chModel.Checkers.BoardModel} keeps its pieces, by square number
+ * (row-major from A1, see BoardModel.squareOf).
+ * <p>
+ * The board does all the checking (bounds, occupied squares, hashing) before calling in here,
+ * so implementations only store. Which structure is fastest depends on the board: a bitboard
+ * for up to 64 squares, a flat array for anything that still fits a {@link PositionTable},
+ * and a map for huge, sparse boards. {@link #forSize} picks one.
+ */
+public interface BoardStorage {
+
+    // Boards up to this many squares get a flat array; bigger ones a map
+    int MAX_ARRAY_SQUARES = PositionTable.MAX_SQUARES;
+
+    /**
+     * The best storage for a board size: {@link BitboardStorage} up to 64 squares,
+     * {@link ArrayBoardStorage} up to MAX_ARRAY_SQUARES, {@link MapBoardStorage} past that.
+     * @throws IllegalArgumentException if the dimensions are not positive.
+     */
+    static BoardStorage forSize(int width, int height) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Board dimensions must be positive.");
+        }
+        long squares = (long) width * height;
+        if (squares <= BitboardStorage.MAX_SQUARES) {
+            return new BitboardStorage((int) squares);
+        }
+        if (squares <= MAX_ARRAY_SQUARES) {
+            return new ArrayBoardStorage((int) squares);
+        }
+        return new MapBoardStorage();
+    }
+
+    /**
+     * A specific backend by name - "map", "array" or "bitboard" - for benchmarks and tools.
+     * @throws IllegalArgumentException for any other name.
+     */
+    static BoardStorage named(String name, int squareCount) {
+        switch (name.toLowerCase()) {
+            case "map":
+                return new MapBoardStorage();
+            case "array":
+                return new ArrayBoardStorage(squareCount);
+            case "bitboard":
+                return new BitboardStorage(squareCount);
+            default:
+                throw new IllegalArgumentException("Unknown board storage '" + name + "', expected map, array or bitboard.");
+        }
+    }
+
+    // The piece on 'square', or null
+    AbstractPiece get(int square);
+
+    default boolean isOccupied(int square) {
+        return get(square) != null;
+    }
+
+    // 'square' is known to be empty
+    void put(int square, AbstractPiece piece);
+
+    // Returns the removed piece, or null if the square was empty
+    AbstractPiece remove(int square);
+
+    int size();
+
+    void clear();
+
+    /**
+     * Writes the square of every piece on 'team' into 'out', in ascending order.
+     * @return How many squares were written.
+     */
+    int collectSquares(AbstractPiece.PEICE_TEAM team, int[] out);
+
+    // Same structure holding a copy of every piece (see AbstractPiece.copy)
+    BoardStorage copy();
+
+    // Same structure and capacity, empty
+    BoardStorage emptyCopy();
+}
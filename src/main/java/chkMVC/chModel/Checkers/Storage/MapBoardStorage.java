@@ -0,0 +1,74 @@
+package chkMVC.chModel.Checkers.Storage;
+
+import chkMVC.chModel.Checkers.Pieces.AbstractPiece;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Pieces in a HashMap keyed by square. Memory grows with the number of pieces rather than the
+ * board size, so this is the one for huge boards that are mostly empty. Every other
+ * lookup is slower than the array or bitboard storage.
+ */
+public class MapBoardStorage implements BoardStorage {
+
+    private final Map<Integer, AbstractPiece> pieces;
+
+    public MapBoardStorage() {
+        this.pieces = new HashMap<>();
+    }
+
+    private MapBoardStorage(Map<Integer, AbstractPiece> pieces) {
+        this.pieces = pieces;
+    }
+
+    @Override
+    public AbstractPiece get(int square) {
+        return pieces.get(square);
+    }
+
+    @Override
+    public void put(int square, AbstractPiece piece) {
+        pieces.put(square, piece);
+    }
+
+    @Override
+    public AbstractPiece remove(int square) {
+        return pieces.remove(square);
+    }
+
+    @Override
+    public int size() {
+        return pieces.size();
+    }
+
+    @Override
+    public void clear() {
+        pieces.clear();
+    }
+
+    @Override
+    public int collectSquares(AbstractPiece.PEICE_TEAM team, int[] out) {
+        int count = 0;
+        for (Map.Entry<Integer, AbstractPiece> entry : pieces.entrySet()) {
+            if (entry.getValue().getTeam() == team) {
+                out[count++] = entry.getKey();
+            }
+        }
+        Arrays.sort(out, 0, count); // Map order is arbitrary, keep results stable
+        return count;
+    }
+
+    @Override
+    public MapBoardStorage copy() {
+        Map<Integer, AbstractPiece> copy = new HashMap<>(pieces);
+        copy.replaceAll((square, piece) -> piece.copy());
+        return new MapBoardStorage(copy);
+    }
+
+    @Override
+    public MapBoardStorage emptyCopy() {
+        return new MapBoardStorage();
+    }
+}
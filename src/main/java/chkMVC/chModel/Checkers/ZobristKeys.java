@@ -0,0 +1,77 @@
+package chkMVC.chModel.Checkers;
+
+import chkMVC.chModel.Checkers.Pieces.AbstractPiece;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Random 64-bit keys for Zobrist hashing of board states.
+ * <p>
+ * A board's hash is the XOR of one key per (team, kind, square) that holds a piece, plus the
+ * side-to-move key when black is to move. Because XOR undoes itself, placing, removing or
+ * moving a piece updates the hash with one or two XORs (see {@link BoardModel#hash()}).
+ * <p>
+ * The keys come from a fixed seed, so a given position hashes the same in every JVM - hashes
+ * can be stored in files (opening books, caches) and compared later. One table per board size
+ * is built on first use and cached; boards too big to intern compute keys on the fly instead.
+ */
+public final class ZobristKeys {
+
+    private static final long SEED = 0x2545F4914F6CDD1DL;
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final int TEAMS = AbstractPiece.PEICE_TEAM.values().length;
+
+    private static final ConcurrentHashMap<Long, ZobristKeys> TABLES = new ConcurrentHashMap<>();
+
+    private final int squares;
+    private final long[] pieceKeys; // Null for boards bigger than PositionTable.MAX_SQUARES
+    private final long sideKey;
+
+    private ZobristKeys(int squares, boolean tabulate) {
+        this.squares = squares;
+        this.sideKey = mix(SEED - GOLDEN_GAMMA);
+        if (tabulate) {
+            int kinds = AbstractPiece.PIECE_KIND.values().length;
+            this.pieceKeys = new long[kinds * TEAMS * squares];
+            for (int i = 0; i < pieceKeys.length; i++) {
+                pieceKeys[i] = keyFor(i);
+            }
+        } else {
+            this.pieceKeys = null;
+        }
+    }
+
+    public static ZobristKeys forSize(int width, int height) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Board dimensions must be positive.");
+        }
+        long key = ((long) width << 32) | height;
+        return TABLES.computeIfAbsent(key, k -> new ZobristKeys(width * height, PositionTable.supports(width, height)));
+    }
+
+    public long piece(AbstractPiece.PEICE_TEAM team, AbstractPiece.PIECE_KIND kind, int square) {
+        // Kind-major so adding a new kind later leaves the existing keys alone
+        int index = (kind.ordinal() * TEAMS + team.ordinal()) * squares + square;
+        return pieceKeys != null ? pieceKeys[index] : keyFor(index);
+    }
+
+    public long piece(AbstractPiece piece, int square) {
+        return piece(piece.getTeam(), piece.getKind(), square);
+    }
+
+    // XORed in while black is to move
+    public long sideToMove() {
+        return sideKey;
+    }
+
+    private static long keyFor(int index) {
+        return mix(SEED + index * GOLDEN_GAMMA);
+    }
+
+    // SplitMix64 finalizer - well spread bits from a simple counter
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,129 @@
+package chkMVC.chModel.Engine;
+
+import chkMVC.chModel.Checkers.BoardModel;
+import chkMVC.chModel.Checkers.Moves.Move;
+import chkMVC.chModel.Checkers.Moves.MoveBuffer;
+import chkMVC.chModel.Checkers.Moves.MoveGenerator;
+import chkMVC.chModel.Checkers.Pieces.AbstractPiece;
+
+import java.util.Random;
+
+/**
+ * A computer opponent sitting in one seat of a game.
+ * <p>
+ * Wraps a {@link SearchEngine} on the game board with a fixed time budget per move. With an
+ * {@link OpeningBook} set, book moves are played straight away without searching, and with an
+ * {@link MctsEngine} set that searches instead of alpha-beta. The engine
+ * searches on the same board it plays on (taking its moves back as it goes), so don't touch the
+ * board from another thread while {@link #takeTurn()} is running.
+ */
+public class EnginePlayer {
+
+    public static final int DEFAULT_TABLE_MB = 16;
+    public static final long DEFAULT_MOVE_TIME_MILLIS = 1000;
+
+    private final BoardModel board;
+    private final AbstractPiece.PEICE_TEAM team;
+    private final SearchEngine engine;
+    private final MoveGenerator generator = new MoveGenerator();
+    private final MoveBuffer moves = new MoveBuffer();
+    private long moveTimeMillis = DEFAULT_MOVE_TIME_MILLIS;
+    private int maxDepth = SearchEngine.MAX_PLY;
+    private SearchResult lastResult;
+    private OpeningBook book;
+    private volatile MctsEngine mcts;
+    private final Random bookRandom = new Random();
+
+    public EnginePlayer(BoardModel board, AbstractPiece.PEICE_TEAM team) {
+        this(board, team, new TranspositionTable(DEFAULT_TABLE_MB));
+    }
+
+    public EnginePlayer(BoardModel board, AbstractPiece.PEICE_TEAM team, TranspositionTable table) {
+        this.board = board;
+        this.team = team;
+        this.engine = new SearchEngine(board, table, new PositionalEvaluator());
+    }
+
+    public AbstractPiece.PEICE_TEAM getTeam() {
+        return team;
+    }
+
+    public BoardModel getBoard() {
+        return board;
+    }
+
+    public void setMoveTimeMillis(long moveTimeMillis) {
+        if (moveTimeMillis <= 0) {
+            throw new IllegalArgumentException("Move time must be positive.");
+        }
+        this.moveTimeMillis = moveTimeMillis;
+    }
+
+    // Endgame lookups for the engine's search, or null to search everything
+    public void setTablebase(Tablebase tablebase) {
+        engine.setTablebase(tablebase);
+    }
+
+    // Book to play the opening from, or null to always search
+    public void setOpeningBook(OpeningBook book) {
+        this.book = book;
+    }
+
+    // Monte Carlo search to use instead of alpha-beta, or null for alpha-beta. Still owned (and closed) by the caller.
+    public void setMctsEngine(MctsEngine mcts) {
+        this.mcts = mcts;
+    }
+
+    public void setMaxDepth(int maxDepth) {
+        if (maxDepth < 1) {
+            throw new IllegalArgumentException("Search depth must be at least 1.");
+        }
+        this.maxDepth = maxDepth;
+    }
+
+    // Result of the most recent move, or null before the first. Book moves have depth 0 and no nodes.
+    public SearchResult getLastResult() {
+        return lastResult;
+    }
+
+    // Stop a search running on another thread; it still plays the best move found so far
+    public void stop() {
+        engine.stop();
+        MctsEngine current = mcts;
+        if (current != null) current.stop();
+    }
+
+    /**
+     * Plays a move on the board: from the book if it has one for this position, otherwise searched.
+     * @return The move played in "C3xE5" form, or null if the engine has no legal move (it has lost).
+     * @throws IllegalStateException if it is not this player's turn.
+     */
+    public String takeTurn() {
+        if (board.getSideToMove() != team) {
+            throw new IllegalStateException("It is not " + team + "'s turn.");
+        }
+        moves.clear();
+        generator.generateLegal(board, team, moves);
+        if (book != null && !moves.isEmpty()) {
+            int index = book.pickMove(board, moves, bookRandom.nextInt(Integer.MAX_VALUE));
+            if (index != OpeningBook.NOT_FOUND) {
+                lastResult = new SearchResult(moves.key(index), 0, 0, 0, 0);
+                String played = Move.toString(moves, index, board);
+                board.makeMove(moves, index);
+                return played;
+            }
+        }
+
+        lastResult = mcts != null ? mcts.search(board, 0, moveTimeMillis) : engine.search(maxDepth, moveTimeMillis);
+        if (!lastResult.hasMove()) {
+            return null;
+        }
+        int index = moves.indexOfKey(lastResult.getMove());
+        if (index < 0) {
+            throw new IllegalStateException("Search returned a move that is not legal here.");
+        }
+        String played = Move.toString(moves, index, board);
+        board.makeMove(moves, index);
+        return played;
+    }
+}
@@ -0,0 +1,15 @@
+package chkMVC.chModel.Engine;
+
+import chkMVC.chModel.Checkers.BoardModel;
+
+/**
+ * Static evaluation used at the leaves of a search.
+ * <p>
+ * Scores are in centi-pieces (a plain piece is about 100) and always from the point of view of
+ * {@link BoardModel#getSideToMove()}: positive means good for whoever is about to move. Scores
+ * must stay well inside +/- {@link SearchEngine#WIN} so they are never mistaken for a won game.
+ */
+public interface Evaluator {
+
+    int evaluate(BoardModel board);
+}
@@ -0,0 +1,46 @@
+package chkMVC.chModel.Engine;
+
+import chkMVC.chModel.Checkers.BoardModel;
+import chkMVC.chModel.Checkers.Pieces.AbstractPiece;
+
+/**
+ * Counts material plus a small bonus for how far each serf has advanced up the board. Kings
+ * are worth more and get no advancement bonus.
+ * Cheap enough to call at every leaf; reuses one scratch array so it allocates nothing once warm.
+ * Not thread-safe - give each searching thread its own.
+ */
+public class MaterialEvaluator implements Evaluator {
+
+    public static final int PIECE_VALUE = 100;
+    public static final int KING_VALUE = 150;
+    public static final int ADVANCE_BONUS = 3; // Per row moved towards the far side
+
+    private int[] squares = new int[0];
+
+    @Override
+    public int evaluate(BoardModel board) {
+        if (squares.length < board.getSquareCount()) {
+            squares = new int[board.getSquareCount()];
+        }
+        int white = score(board, AbstractPiece.PEICE_TEAM.WHITE);
+        int black = score(board, AbstractPiece.PEICE_TEAM.BLACK);
+        int score = white - black;
+        return board.getSideToMove() == AbstractPiece.PEICE_TEAM.WHITE ? score : -score;
+    }
+
+    private int score(BoardModel board, AbstractPiece.PEICE_TEAM team) {
+        int count = board.collectSquares(team, squares);
+        int width = board.getWidth();
+        int total = 0;
+        for (int i = 0; i < count; i++) {
+            if (board.getPieceAt(squares[i]).getKind() == AbstractPiece.PIECE_KIND.KING) {
+                total += KING_VALUE;
+                continue;
+            }
+            int row = squares[i] / width; // 0-based, from White's side
+            int advanced = team == AbstractPiece.PEICE_TEAM.WHITE ? row : board.getHeight() - 1 - row;
+            total += PIECE_VALUE + advanced * ADVANCE_BONUS;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,449 @@
+package chkMVC.chModel.Engine;
+
+import chkMVC.chModel.Checkers.BoardModel;
+import chkMVC.chModel.Checkers.Moves.Move;
+import chkMVC.chModel.Checkers.Moves.MoveBuffer;
+import chkMVC.chModel.Checkers.Moves.MoveGenerator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Monte Carlo tree search, an alternative to the alpha-beta {@link SearchEngine}: grow a tree of
+ * the most promising moves (UCT), score each new leaf by playing random games out from it, and
+ * play the move that was tried most.
+ * <p>
+ * The tree is a set of parallel primitive arrays sized once from a megabyte budget, not one object
+ * per node, so the engine's footprint is fixed however long it thinks - when the pool is full the
+ * tree stops growing and the remaining time goes into more rollouts. A node's children sit next to
+ * each other in the same order MoveGenerator produces the moves, so child i is move i.
+ * <p>
+ * The tree is kept between moves: if the next position searched is one the last search already
+ * reached (our move, or our move and the reply), that subtree becomes the new root and is
+ * compacted to the front of the pool, everything else is dropped.
+ * <p>
+ * With more than one thread, every leaf gets one rollout per thread. Helper threads each keep their
+ * own copy of the root position and replay the path to the leaf, so only the results are shared.
+ * The pool belongs to this object, so {@link #close()} it when done. One search at a time.
+ */
+public class MctsEngine implements AutoCloseable {
+
+    public static final int DEFAULT_MEGABYTES = 16;
+    public static final int MAX_ROLLOUT_PLIES = 150; // Longer rollouts count as draws
+    private static final double EXPLORATION = Math.sqrt(2);
+    private static final int NOT_EXPANDED = -1;
+    private static final int TERMINAL = -2; // Expanded, and the side to move has no moves
+    private static final int MAX_TREE_DEPTH = SearchEngine.MAX_PLY;
+
+    // Bytes per node: parent, firstChild, childCount, visits, value and the compaction map (4 each)
+    // plus one mark bit.
+    static final int BYTES_PER_NODE = 6 * Integer.BYTES + 1;
+
+    private final int capacity;
+    private final int[] parent;
+    private final int[] firstChild;
+    private final int[] childCount;
+    private final int[] visits;
+    private final int[] value;   // Half-points for the player who moved into the node: win 2, draw 1
+    private final int[] scratch; // Compaction map and marking stack
+    private final long[] marks;
+    private int used;
+    private int root = -1;
+    private BoardModel rootBoard; // Position the tree's root stands for
+    private long reusedNodes;
+
+    private final int threads;
+    private final ForkJoinPool pool;
+    private final Rollout[] helpers;
+    private final Rollout main;
+    private final MoveGenerator generator = new MoveGenerator();
+    private final MoveBuffer[] buffers = new MoveBuffer[MAX_TREE_DEPTH + 1];
+    private final int[] path = new int[MAX_TREE_DEPTH];
+    private final int[] pathNodes = new int[MAX_TREE_DEPTH + 1];
+    private volatile boolean stopRequested;
+
+    public MctsEngine() {
+        this(DEFAULT_MEGABYTES, 1);
+    }
+
+    /**
+     * @param megabytes Memory for the tree; fixes the node count for the engine's lifetime.
+     * @param threads   Rollouts run per leaf, each on its own thread.
+     */
+    public MctsEngine(int megabytes, int threads) {
+        if (megabytes <= 0) {
+            throw new IllegalArgumentException("Tree size must be positive.");
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("Thread count must be at least 1.");
+        }
+        long nodes = megabytes * 1024L * 1024L / BYTES_PER_NODE;
+        this.capacity = (int) Math.min(nodes, Integer.MAX_VALUE - 64);
+        this.parent = new int[capacity];
+        this.firstChild = new int[capacity];
+        this.childCount = new int[capacity];
+        this.visits = new int[capacity];
+        this.value = new int[capacity];
+        this.scratch = new int[capacity];
+        this.marks = new long[(capacity + 63) / 64];
+        for (int i = 0; i <= MAX_TREE_DEPTH; i++) {
+            buffers[i] = new MoveBuffer();
+        }
+
+        this.threads = threads;
+        this.pool = threads > 1 ? new ForkJoinPool(threads - 1) : null;
+        this.main = new Rollout(1);
+        this.helpers = new Rollout[threads - 1];
+        for (int i = 0; i < helpers.length; i++) {
+            helpers[i] = new Rollout(i + 2);
+        }
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    // Nodes in the tree right now
+    public int getTreeSize() {
+        return root < 0 ? 0 : used;
+    }
+
+    // Nodes carried over from the previous search by the last search
+    public long getReusedNodes() {
+        return reusedNodes;
+    }
+
+    // Ask a running search (from any thread) to finish as soon as it can
+    public void stop() {
+        stopRequested = true;
+    }
+
+    // Reseeds the rollouts; with one thread the same seed, position and limit give the same move
+    public void setSeed(long seed) {
+        main.random.setSeed(seed);
+        for (int i = 0; i < helpers.length; i++) {
+            helpers[i].random.setSeed(seed + i + 1);
+        }
+    }
+
+    // Drops the tree, e.g. before an unrelated game
+    public void clear() {
+        root = -1;
+        used = 0;
+        rootBoard = null;
+    }
+
+    /**
+     * Searches 'board' for its side to move. The board is played on and restored, so leave it
+     * alone until this returns.
+     * @param iterations Leaves to expand and roll out, or 0 for no limit.
+     * @param timeMillis Time budget, or 0 for no limit. At least one of the two must be set.
+     * @return The most visited move. The score is the win rate scaled to +/-1000 (0 is even),
+     *         the depth is the deepest leaf reached and the node count is the number of rollouts.
+     */
+    public SearchResult search(BoardModel board, int iterations, long timeMillis) {
+        if (iterations < 0 || timeMillis < 0) {
+            throw new IllegalArgumentException("Search limits must not be negative.");
+        }
+        if (iterations == 0 && timeMillis == 0) {
+            throw new IllegalArgumentException("MCTS needs an iteration or time limit.");
+        }
+        Move.checkBoard(board);
+        long start = System.currentTimeMillis();
+        long deadline = timeMillis == 0 ? Long.MAX_VALUE : start + timeMillis;
+        stopRequested = false;
+
+        reuseOrReset(board);
+        if (expand(root, board) == 0 && firstChild[root] != TERMINAL) {
+            // A reused root that was never expanded, and the pool is full: start again
+            used = 0;
+            root = allocate(-1, 1);
+            expand(root, board);
+        }
+        if (firstChild[root] == TERMINAL) {
+            return new SearchResult(Move.NO_MOVE, -1000, 0, 0, System.currentTimeMillis() - start);
+        }
+        for (Rollout helper : helpers) {
+            helper.setRoot(board);
+        }
+
+        long rollouts = 0;
+        int deepest = 0;
+        List<ForkJoinTask<Integer>> pending = new ArrayList<>(helpers.length);
+        for (int iteration = 0; iterations == 0 || iteration < iterations; iteration++) {
+            if (stopRequested || ((iteration & 63) == 0 && iteration > 0 && System.currentTimeMillis() >= deadline)) {
+                break;
+            }
+            // Selection: follow UCT down to a leaf, playing the moves on the board
+            int node = root;
+            int depth = 0;
+            pathNodes[0] = root;
+            while (firstChild[node] >= 0 && depth < MAX_TREE_DEPTH) {
+                int child = selectChild(node);
+                int index = child - firstChild[node];
+                MoveBuffer moves = buffers[depth];
+                moves.clear();
+                generator.generateLegal(board, board.getSideToMove(), moves);
+                board.makeMove(moves, index);
+                path[depth++] = index;
+                pathNodes[depth] = child;
+                node = child;
+            }
+            // Expansion: a leaf that has been visited before gets its children and we step into the first
+            if (firstChild[node] == NOT_EXPANDED && visits[node] > 0 && depth < MAX_TREE_DEPTH
+                    && expand(node, board) > 0) {
+                MoveBuffer moves = buffers[depth];
+                moves.clear();
+                generator.generateLegal(board, board.getSideToMove(), moves);
+                board.makeMove(moves, 0);
+                path[depth++] = 0;
+                node = firstChild[node];
+                pathNodes[depth] = node;
+            }
+            deepest = Math.max(deepest, depth);
+
+            // Simulation: one rollout here, one on each helper from its own copy of the root
+            int halfPoints;
+            int runs = 1;
+            if (firstChild[node] == TERMINAL) {
+                halfPoints = 0; // Nothing to simulate, the side to move has lost
+            } else {
+                pending.clear();
+                int length = depth;
+                for (Rollout helper : helpers) {
+                    pending.add(pool.submit(() -> helper.run(path, length)));
+                }
+                halfPoints = main.playOut(board);
+                for (ForkJoinTask<Integer> task : pending) {
+                    halfPoints += task.join();
+                }
+                runs += helpers.length;
+            }
+            rollouts += runs;
+
+            // Backpropagation, taking the moves back on the way up. 'halfPoints' is for the side to move at the leaf.
+            int forMover = 2 * runs - halfPoints; // The player who moved into the leaf
+            for (int d = depth; d >= 0; d--) {
+                int n = pathNodes[d];
+                visits[n] += runs;
+                value[n] += forMover;
+                forMover = 2 * runs - forMover;
+                if (d > 0) board.unmakeMove();
+            }
+        }
+
+        int best = bestChild(root);
+        double winRate = visits[best] == 0 ? 0.5 : value[best] / (2.0 * visits[best]);
+        rootBoard = board.copy();
+        return new SearchResult(moveKey(board, best - firstChild[root]), (int) Math.round((winRate - 0.5) * 2000),
+                deepest, rollouts, System.currentTimeMillis() - start);
+    }
+
+    @Override
+    public void close() {
+        stopRequested = true;
+        if (pool != null) pool.shutdown();
+    }
+
+    // --- Tree ---
+
+    // Keeps the subtree for 'board' if the last search reached it within two plies, else starts afresh
+    private void reuseOrReset(BoardModel board) {
+        reusedNodes = 0;
+        int found = -1;
+        if (root >= 0 && rootBoard != null && firstChild[root] >= 0
+                && rootBoard.getWidth() == board.getWidth() && rootBoard.getHeight() == board.getHeight()) {
+            found = findWithinTwoPlies(board.hash());
+        }
+        if (found < 0) {
+            used = 0;
+            root = allocate(-1, 1);
+            return;
+        }
+        compact(found);
+        reusedNodes = used;
+    }
+
+    private int findWithinTwoPlies(long hash) {
+        if (rootBoard.hash() == hash) return root;
+        MoveBuffer ours = buffers[0];
+        MoveBuffer replies = buffers[1];
+        ours.clear();
+        generator.generateLegal(rootBoard, rootBoard.getSideToMove(), ours);
+        for (int i = 0; i < ours.size() && i < childCount[root]; i++) {
+            int child = firstChild[root] + i;
+            rootBoard.makeMove(ours, i);
+            int found = -1;
+            if (rootBoard.hash() == hash) {
+                found = child;
+            } else if (firstChild[child] >= 0) {
+                replies.clear();
+                generator.generateLegal(rootBoard, rootBoard.getSideToMove(), replies);
+                for (int j = 0; j < replies.size() && j < childCount[child] && found < 0; j++) {
+                    rootBoard.makeMove(replies, j);
+                    if (rootBoard.hash() == hash) found = firstChild[child] + j;
+                    rootBoard.unmakeMove();
+                }
+            }
+            rootBoard.unmakeMove();
+            if (found >= 0) return found;
+        }
+        return -1;
+    }
+
+    /**
+     * Moves the subtree under 'newRoot' to the front of the pool and drops everything else. Nodes
+     * keep their relative order, so each one only ever moves down and it can be done in place;
+     * sibling blocks stay contiguous.
+     */
+    private void compact(int newRoot) {
+        Arrays.fill(marks, 0, (used + 63) / 64, 0L);
+        int top = 0;
+        scratch[top++] = newRoot; // The scratch array is the marking stack first...
+        while (top > 0) {
+            int node = scratch[--top];
+            marks[node >>> 6] |= 1L << node;
+            if (firstChild[node] >= 0) {
+                for (int c = firstChild[node], end = c + childCount[node]; c < end; c++) scratch[top++] = c;
+            }
+        }
+        int next = 0;
+        for (int node = 0; node < used; node++) {
+            if ((marks[node >>> 6] & 1L << node) != 0) scratch[node] = next++; // ...then the old -> new map
+        }
+        for (int node = 0; node < used; node++) {
+            if ((marks[node >>> 6] & 1L << node) == 0) continue;
+            int to = scratch[node];
+            parent[to] = node == newRoot ? -1 : scratch[parent[node]];
+            firstChild[to] = firstChild[node] >= 0 ? scratch[firstChild[node]] : firstChild[node];
+            childCount[to] = childCount[node];
+            visits[to] = visits[node];
+            value[to] = value[node];
+        }
+        used = next;
+        root = 0; // The new root was allocated before anything under it
+    }
+
+    // Gives 'node' one child per legal move. Returns the child count, or 0 if it has no moves or the pool is full.
+    private int expand(int node, BoardModel board) {
+        if (firstChild[node] != NOT_EXPANDED) {
+            return Math.max(childCount[node], 0);
+        }
+        MoveBuffer moves = buffers[MAX_TREE_DEPTH];
+        moves.clear();
+        generator.generateLegal(board, board.getSideToMove(), moves);
+        if (moves.isEmpty()) {
+            firstChild[node] = TERMINAL;
+            return 0;
+        }
+        if (used + moves.size() > capacity) {
+            return 0; // Full: stays a leaf and just gets rolled out
+        }
+        int first = allocate(node, moves.size());
+        firstChild[node] = first;
+        childCount[node] = moves.size();
+        return moves.size();
+    }
+
+    private int allocate(int parentNode, int count) {
+        int first = used;
+        for (int n = first; n < first + count; n++) {
+            parent[n] = parentNode;
+            firstChild[n] = NOT_EXPANDED;
+            childCount[n] = 0;
+            visits[n] = 0;
+            value[n] = 0;
+        }
+        used += count;
+        return first;
+    }
+
+    private int selectChild(int node) {
+        double logVisits = Math.log(Math.max(visits[node], 1));
+        int best = -1;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        for (int c = firstChild[node], end = c + childCount[node]; c < end; c++) {
+            if (visits[c] == 0) return c;
+            double score = value[c] / (2.0 * visits[c]) + EXPLORATION * Math.sqrt(logVisits / visits[c]);
+            if (score > bestScore) {
+                bestScore = score;
+                best = c;
+            }
+        }
+        return best;
+    }
+
+    private int bestChild(int node) {
+        int best = firstChild[node];
+        for (int c = best + 1, end = firstChild[node] + childCount[node]; c < end; c++) {
+            if (visits[c] > visits[best]) best = c;
+        }
+        return best;
+    }
+
+    private int moveKey(BoardModel board, int index) {
+        MoveBuffer moves = buffers[0];
+        moves.clear();
+        generator.generateLegal(board, board.getSideToMove(), moves);
+        return moves.key(index);
+    }
+
+    // --- Rollouts ---
+
+    // Random games from a position. Each helper thread has its own, with its own board.
+    private final class Rollout {
+        final MoveGenerator generator = new MoveGenerator();
+        final MoveBuffer moves = new MoveBuffer();
+        final Random random;
+        BoardModel board;
+
+        Rollout(long seed) {
+            this.random = new Random(seed);
+        }
+
+        void setRoot(BoardModel root) {
+            board = root.copy();
+        }
+
+        // Replays the path from the root, plays out, and takes it all back
+        int run(int[] path, int length) {
+            for (int d = 0; d < length; d++) {
+                moves.clear();
+                generator.generateLegal(board, board.getSideToMove(), moves);
+                board.makeMove(moves, path[d]);
+            }
+            int result = playOut(board);
+            for (int d = 0; d < length; d++) {
+                board.unmakeMove();
+            }
+            return result;
+        }
+
+        // Half-points for the side to move on 'board': 2 win, 1 draw, 0 loss. Leaves the board as it was.
+        int playOut(BoardModel board) {
+            int ply = 0;
+            int result = 1;
+            for (; ply < MAX_ROLLOUT_PLIES; ply++) {
+                moves.clear();
+                generator.generateLegal(board, board.getSideToMove(), moves);
+                if (moves.isEmpty()) {
+                    result = (ply & 1) == 0 ? 0 : 2; // The side stuck is us on even plies
+                    break;
+                }
+                board.makeMove(moves, random.nextInt(moves.size()));
+            }
+            for (int i = 0; i < ply; i++) {
+                board.unmakeMove();
+            }
+            return result;
+        }
+    }
+}
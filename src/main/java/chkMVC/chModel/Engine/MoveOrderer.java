@@ -0,0 +1,249 @@
+package chkMVC.chModel.Engine;
+
+import chkMVC.chModel.Checkers.BoardModel;
+import chkMVC.chModel.Checkers.Moves.Move;
+import chkMVC.chModel.Checkers.Moves.MoveBuffer;
+import chkMVC.chModel.Checkers.Pieces.AbstractPiece;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Decides which move an alpha-beta search tries first. In order:
+ * <ol>
+ *   <li>the transposition table's best move,</li>
+ *   <li>captures, most pieces taken first, then most kings taken (checkers' "most valuable victim"),</li>
+ *   <li>the two killer moves for this ply - quiet moves that caused a cutoff in a sibling node,</li>
+ *   <li>the rest by history score: how often and how deep each from/to pair has caused a cutoff.</li>
+ * </ol>
+ * Killers and history can be switched off to measure what they are worth, and the orderer counts
+ * its cutoffs ({@link #getCutoffRate()}, {@link #getFirstMoveCutoffRate()}) so that can be checked
+ * against node counts - {@link #main} prints the comparison on the benchmark positions.
+ * <p>
+ * Scores are kept in one array per ply, so nothing is allocated once warm. Not thread-safe - one
+ * per {@link SearchEngine}.
+ */
+public class MoveOrderer {
+
+    private static final int TT_MOVE = Integer.MAX_VALUE;
+    private static final int CAPTURE = 1 << 28;     // Plus 16 per piece taken and 1 per king taken
+    private static final int KILLER = 1 << 26;      // Plus 1 for the newer killer
+    private static final int HISTORY_MAX = KILLER - 1;
+    private static final int HISTORY_SLOTS = 1 << 16;
+
+    private final boolean useKillers;
+    private final boolean useHistory;
+
+    private final int[][] scores = new int[SearchEngine.MAX_PLY + 1][];
+    private final int[][] killers = new int[SearchEngine.MAX_PLY + 1][2];
+    private final int[][] history = new int[2][HISTORY_SLOTS]; // [team][from/to slot]
+
+    private long orderedNodes;
+    private long cutoffs;
+    private long firstMoveCutoffs;
+    private long cutoffIndexSum;
+
+    public MoveOrderer() {
+        this(true, true);
+    }
+
+    public MoveOrderer(boolean useKillers, boolean useHistory) {
+        this.useKillers = useKillers;
+        this.useHistory = useHistory;
+        for (int ply = 0; ply <= SearchEngine.MAX_PLY; ply++) {
+            scores[ply] = new int[16];
+        }
+        clearKillers();
+    }
+
+    /**
+     * Called at the start of each search: forgets the killers, halves the history so old
+     * games fade out, and resets the statistics.
+     */
+    public void newSearch() {
+        clearKillers();
+        for (int[] team : history) {
+            for (int i = 0; i < team.length; i++) {
+                team[i] >>= 1;
+            }
+        }
+        orderedNodes = 0;
+        cutoffs = 0;
+        firstMoveCutoffs = 0;
+        cutoffIndexSum = 0;
+    }
+
+    /**
+     * Scores every move in 'moves' for the node at 'ply'; take them in order with {@link #next}.
+     * @param ttMove Key of the table's best move, or Move.NO_MOVE.
+     */
+    public void score(BoardModel board, MoveBuffer moves, int ttMove, int ply) {
+        int size = moves.size();
+        if (scores[ply].length < size) {
+            scores[ply] = new int[size * 2];
+        }
+        int[] order = scores[ply];
+        int team = team(board.getSideToMove());
+        int[] killer = killers[ply];
+        orderedNodes++;
+
+        for (int i = 0; i < size; i++) {
+            int move = moves.get(i);
+            if (moves.isCapture(i)) {
+                order[i] = CAPTURE + captureScore(board, moves, i);
+            } else if (useKillers && move == killer[0]) {
+                order[i] = KILLER + 1;
+            } else if (useKillers && move == killer[1]) {
+                order[i] = KILLER;
+            } else {
+                order[i] = useHistory ? history[team][slot(Move.from(move), Move.to(move))] : 0;
+            }
+        }
+        if (ttMove != Move.NO_MOVE) {
+            int index = moves.indexOfKey(ttMove);
+            if (index >= 0) order[index] = TT_MOVE;
+        }
+    }
+
+    /**
+     * Index of the best move at 'ply' not yet handed out. Selection sort one step at a time - most
+     * nodes cut off after a move or two, so a full sort is wasted. Ties keep generation order.
+     */
+    public int next(int ply, int size) {
+        int[] order = scores[ply];
+        int bestIndex = -1;
+        int bestScore = Integer.MIN_VALUE;
+        for (int i = 0; i < size; i++) {
+            if (order[i] > bestScore) {
+                bestScore = order[i];
+                bestIndex = i;
+            }
+        }
+        order[bestIndex] = Integer.MIN_VALUE;
+        return bestIndex;
+    }
+
+    /**
+     * Records a beta cutoff by move 'index', which was the 'tried'-th move searched (0 = first).
+     * Quiet moves become this ply's newest killer and gain depth squared in the history table.
+     */
+    public void cutoff(BoardModel board, MoveBuffer moves, int index, int tried, int ply, int depth) {
+        cutoffs++;
+        cutoffIndexSum += tried;
+        if (tried == 0) firstMoveCutoffs++;
+        if (moves.isCapture(index)) {
+            return; // Captures are forced and already ordered first
+        }
+        int move = moves.get(index);
+        int[] killer = killers[ply];
+        if (killer[0] != move) {
+            killer[1] = killer[0];
+            killer[0] = move;
+        }
+        int[] teamHistory = history[team(board.getSideToMove())];
+        int slot = slot(Move.from(move), Move.to(move));
+        int bonus = Math.max(depth, 1) * Math.max(depth, 1);
+        teamHistory[slot] = Math.min(HISTORY_MAX, teamHistory[slot] + bonus);
+    }
+
+    // Forgets everything learned so far, e.g. between unrelated games
+    public void clear() {
+        newSearch();
+        for (int[] team : history) {
+            Arrays.fill(team, 0);
+        }
+    }
+
+    // --- Statistics, since the last newSearch() ---
+
+    public long getOrderedNodes() {
+        return orderedNodes;
+    }
+
+    public long getCutoffs() {
+        return cutoffs;
+    }
+
+    public long getFirstMoveCutoffs() {
+        return firstMoveCutoffs;
+    }
+
+    // Share of nodes with moves to order that ended in a cutoff
+    public double getCutoffRate() {
+        return orderedNodes == 0 ? 0 : (double) cutoffs / orderedNodes;
+    }
+
+    // Share of cutoffs made by the first move tried - the closer to 1 the better the ordering
+    public double getFirstMoveCutoffRate() {
+        return cutoffs == 0 ? 0 : (double) firstMoveCutoffs / cutoffs;
+    }
+
+    // Average number of moves searched before the one that cut off, 0 being the first
+    public double getAverageCutoffIndex() {
+        return cutoffs == 0 ? 0 : (double) cutoffIndexSum / cutoffs;
+    }
+
+    private void clearKillers() {
+        for (int[] killer : killers) {
+            Arrays.fill(killer, Move.NO_MOVE);
+        }
+    }
+
+    // Pieces taken, then kings taken. Read before the move is made, so the victims are still on the board.
+    private static int captureScore(BoardModel board, MoveBuffer moves, int index) {
+        int taken = 0;
+        int kings = 0;
+        for (int h = 0, hops = moves.hopCount(index); h < hops; h++) {
+            int hop = moves.hop(index, h);
+            if (!Move.isJump(hop)) continue;
+            taken++;
+            AbstractPiece victim = board.getPieceAt(Move.captured(hop));
+            if (victim != null && victim.getKind() == AbstractPiece.PIECE_KIND.KING) kings++;
+        }
+        return taken * 16 + Math.min(kings, 15);
+    }
+
+    // Exact for boards up to 256 squares, hashed (collisions just share a counter) beyond that
+    private static int slot(int from, int to) {
+        if ((from | to) < 256) {
+            return from << 8 | to;
+        }
+        return ((from * 0x9E3779B1) ^ to) >>> 16;
+    }
+
+    private static int team(AbstractPiece.PEICE_TEAM team) {
+        return team == AbstractPiece.PEICE_TEAM.WHITE ? 0 : 1;
+    }
+
+    // Usage: MoveOrderer [depth]
+    // Searches the benchmark positions with each heuristic switched on in turn and prints nodes and cutoff rates.
+    public static void main(String[] args) {
+        int depth = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        List<BoardModel> positions = ParallelSearch.benchmarkPositions();
+        String[] names = {"tt + captures", "+ killers", "+ history", "+ killers + history"};
+        boolean[][] switches = {{false, false}, {true, false}, {false, true}, {true, true}};
+
+        for (int c = 0; c < names.length; c++) {
+            long nodes = 0;
+            long millis = 0;
+            long ordered = 0;
+            long cutoffs = 0;
+            long firstMove = 0;
+            for (BoardModel position : positions) {
+                MoveOrderer orderer = new MoveOrderer(switches[c][0], switches[c][1]);
+                SearchEngine engine = new SearchEngine(position.copy(), new TranspositionTable(16),
+                        new PositionalEvaluator(), orderer);
+                SearchResult result = engine.search(depth, 0);
+                nodes += result.getNodes();
+                millis += result.getElapsedMillis();
+                ordered += orderer.getOrderedNodes();
+                cutoffs += orderer.getCutoffs();
+                firstMove += orderer.getFirstMoveCutoffs();
+            }
+            System.out.printf("%-22s %,12d nodes, %6d ms, cutoffs %5.1f%%, first-move cutoffs %5.1f%%%n",
+                    names[c], nodes, millis,
+                    ordered == 0 ? 0 : 100.0 * cutoffs / ordered,
+                    cutoffs == 0 ? 0 : 100.0 * firstMove / cutoffs);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package chkMVC.chModel.Engine;
+
+import chkMVC.chModel.Checkers.BoardModel;
+import chkMVC.chModel.Checkers.Moves.MoveBuffer;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Opening moves looked up by {@link BoardModel#hash()}, read straight from a file built by
+ * {@link OpeningBookBuilder}.
+ * <p>
+ * The file is an open-addressing hash table mapped with {@link FileChannel#map}: each slot holds a
+ * position hash, a move key (see MoveBuffer.key) and a weight, and a position's moves sit in the
+ * run of slots starting at {@code hash & mask}. The table is at most half full, so a lookup reads a
+ * slot or two - no allocation, no locks, safe from any number of threads.
+ * <p>
+ * Lookups take the caller's legal moves and only return one of them, so a hash collision or a book
+ * built with different rules can never produce an illegal move. Works with anything that plays on a
+ * {@link BoardModel}; {@link EnginePlayer#setOpeningBook} is the usual way in.
+ *
+ * <h3>File layout</h3>
+ * Big-endian. Header: magic {@code "CHKB"}, version, log2 of the slot count, number of entries.
+ * Then the slots, 16 bytes each: {@code long} hash (0 = empty), {@code int} move, {@code int} weight.
+ */
+public class OpeningBook implements AutoCloseable {
+
+    public static final int NOT_FOUND = -1;
+
+    static final int MAGIC = 0x43484B42; // "CHKB"
+    static final int VERSION = 2; // 2: move keys with 14-bit squares (Move.chainKey)
+    static final int HEADER_BYTES = 16;
+    static final int SLOT_BYTES = 16;
+    static final int MAX_SLOT_BITS = 26; // Keeps the file under 2 GB, the most one mapping can hold
+
+    private final FileChannel channel;
+    private final MappedByteBuffer data;
+    private final int mask;
+    private final int entries;
+
+    private OpeningBook(FileChannel channel, MappedByteBuffer data) throws IOException {
+        this.channel = channel;
+        this.data = data;
+        data.order(ByteOrder.BIG_ENDIAN);
+        if (data.capacity() < HEADER_BYTES || data.getInt(0) != MAGIC) {
+            throw new IOException("Not an opening book file.");
+        }
+        if (data.getInt(4) != VERSION) {
+            throw new IOException("Unsupported opening book version " + data.getInt(4) + ".");
+        }
+        int slotBits = data.getInt(8);
+        if (slotBits < 1 || slotBits > MAX_SLOT_BITS
+                || data.capacity() != HEADER_BYTES + ((long) SLOT_BYTES << slotBits)) {
+            throw new IOException("Corrupt opening book header.");
+        }
+        this.mask = (1 << slotBits) - 1;
+        this.entries = data.getInt(12);
+    }
+
+    /**
+     * Maps a book file read-only.
+     * @throws IOException if the file can't be read or isn't an opening book.
+     */
+    public static OpeningBook open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Opening book too large to map: " + channel.size() + " bytes.");
+            }
+            return new OpeningBook(channel, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // Number of (position, move) entries in the book
+    public int size() {
+        return entries;
+    }
+
+    /**
+     * The book's most played move for this position.
+     * @param legal The side to move's legal moves, from MoveGenerator.generateLegal.
+     * @return Its index in 'legal', or {@link #NOT_FOUND}.
+     */
+    public int findMove(BoardModel board, MoveBuffer legal) {
+        long hash = board.hash();
+        int best = NOT_FOUND;
+        int bestWeight = 0;
+        for (int slot = (int) hash & mask; ; slot = (slot + 1) & mask) {
+            long at = HEADER_BYTES + (long) slot * SLOT_BYTES;
+            long stored = data.getLong((int) at);
+            if (stored == 0) break;
+            if (stored != hash) continue;
+            int index = legal.indexOfKey(data.getInt((int) at + 8));
+            int weight = data.getInt((int) at + 12);
+            if (index >= 0 && weight > bestWeight) {
+                best = index;
+                bestWeight = weight;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * A book move for this position picked at random in proportion to the weights, so games
+     * don't all go the same way.
+     * @param random Any non-negative int, e.g. from Random.nextInt(Integer.MAX_VALUE).
+     * @return Its index in 'legal', or {@link #NOT_FOUND}.
+     */
+    public int pickMove(BoardModel board, MoveBuffer legal, int random) {
+        long hash = board.hash();
+        long total = 0;
+        int home = (int) hash & mask;
+        for (int slot = home; ; slot = (slot + 1) & mask) {
+            long at = HEADER_BYTES + (long) slot * SLOT_BYTES;
+            long stored = data.getLong((int) at);
+            if (stored == 0) break;
+            if (stored == hash && legal.indexOfKey(data.getInt((int) at + 8)) >= 0) {
+                total += data.getInt((int) at + 12);
+            }
+        }
+        if (total == 0) {
+            return NOT_FOUND;
+        }
+        long target = Math.floorMod(random, total);
+        for (int slot = home; ; slot = (slot + 1) & mask) {
+            long at = HEADER_BYTES + (long) slot * SLOT_BYTES;
+            if (data.getLong((int) at) != hash) continue; // The first pass found a match, so this ends
+            int index = legal.indexOfKey(data.getInt((int) at + 8));
+            if (index < 0) continue;
+            target -= data.getInt((int) at + 12);
+            if (target < 0) return index;
+        }
+    }
+
+    // The mapping itself is only released once the buffer is garbage collected
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,178 @@
+package chkMVC.chModel.Engine;
+
+import chkMVC.chModel.Checkers.BitboardBoardModel;
+import chkMVC.chModel.Checkers.BoardModel;
+import chkMVC.chModel.Checkers.Moves.Move;
+import chkMVC.chModel.Checkers.Moves.MoveBuffer;
+import chkMVC.chModel.Checkers.Moves.MoveGenerator;
+import chkMVC.chModel.Checkers.Pieces.AbstractPiece;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Builds {@link OpeningBook} files from game records.
+ * <p>
+ * A record is one game per line: moves in the form the game prints them ("C3-D4", "C1xE3xC5"),
+ * separated by spaces, optionally with move numbers ("1.") and a result at the end
+ * ("1-0" white won, "0-1" black won, "1/2-1/2" drawn). Lines starting with '#' are skipped.
+ * <p>
+ * Each game is replayed from the starting position and the first 'maxPlies' moves are counted
+ * against the position they were played in. A move scores 2 when its side went on to win, 1 for a
+ * draw or an unknown result and nothing for a loss, so the book leans towards what worked.
+ */
+public class OpeningBookBuilder {
+
+    public static final int DEFAULT_MAX_PLIES = 16;
+
+    private final int maxPlies;
+    private final Map<Long, Map<Integer, Integer>> weights = new LinkedHashMap<>(); // hash -> move -> weight
+    private final BoardModel board = new BitboardBoardModel(8);
+    private final MoveGenerator generator = new MoveGenerator();
+    private final MoveBuffer moves = new MoveBuffer();
+    private int games;
+
+    public OpeningBookBuilder() {
+        this(DEFAULT_MAX_PLIES);
+    }
+
+    public OpeningBookBuilder(int maxPlies) {
+        if (maxPlies < 1) {
+            throw new IllegalArgumentException("A book needs at least one ply.");
+        }
+        this.maxPlies = maxPlies;
+    }
+
+    public int getGames() {
+        return games;
+    }
+
+    /**
+     * Adds one game record (see the class comment).
+     * @throws IllegalArgumentException if a move isn't legal where it is played; nothing from the game is kept.
+     */
+    public void addGame(String record) {
+        String[] tokens = record.trim().split("\\s+");
+        int end = tokens.length;
+        AbstractPiece.PEICE_TEAM winner = null;
+        boolean decided = false;
+        if (end > 0) {
+            switch (tokens[end - 1]) {
+                case "1-0": winner = AbstractPiece.PEICE_TEAM.WHITE; decided = true; end--; break;
+                case "0-1": winner = AbstractPiece.PEICE_TEAM.BLACK; decided = true; end--; break;
+                case "1/2-1/2": case "*": end--; break;
+                default: break;
+            }
+        }
+
+        // Replay first, so a bad record adds nothing
+        board.setupStartingPosition();
+        int plies = 0;
+        long[] hashes = new long[maxPlies];
+        int[] keys = new int[maxPlies];
+        AbstractPiece.PEICE_TEAM[] movers = new AbstractPiece.PEICE_TEAM[maxPlies];
+        for (int t = 0; t < end && plies < maxPlies; t++) {
+            String token = tokens[t];
+            if (token.isEmpty() || token.endsWith(".")) continue; // Move numbers
+            moves.clear();
+            generator.generateLegal(board, board.getSideToMove(), moves);
+            int index = indexOf(token);
+            if (index < 0) {
+                throw new IllegalArgumentException("Illegal move '" + token + "' at ply " + (plies + 1) + ".");
+            }
+            hashes[plies] = board.hash();
+            keys[plies] = moves.key(index);
+            movers[plies] = board.getSideToMove();
+            board.makeMove(moves, index);
+            plies++;
+        }
+
+        for (int ply = 0; ply < plies; ply++) {
+            int weight = !decided ? 1 : movers[ply] == winner ? 2 : 0;
+            if (weight == 0 || hashes[ply] == 0) continue; // 0 marks an empty slot in the file
+            weights.computeIfAbsent(hashes[ply], h -> new LinkedHashMap<>()).merge(keys[ply], weight, Integer::sum);
+        }
+        games++;
+    }
+
+    private int indexOf(String token) {
+        for (int i = 0; i < moves.size(); i++) {
+            if (Move.toString(moves, i, board).equalsIgnoreCase(token)) return i;
+        }
+        return -1;
+    }
+
+    // Writes the book in the format OpeningBook.open reads
+    public void write(Path file) throws IOException {
+        int entries = 0;
+        for (Map<Integer, Integer> byMove : weights.values()) entries += byMove.size();
+        int slotBits = 4;
+        while ((1L << slotBits) < 2L * entries) slotBits++; // At most half full
+        if (slotBits > OpeningBook.MAX_SLOT_BITS) {
+            throw new IllegalStateException("Too many book entries: " + entries + ".");
+        }
+
+        int mask = (1 << slotBits) - 1;
+        long[] slotHash = new long[1 << slotBits];
+        int[] slotMove = new int[slotHash.length];
+        int[] slotWeight = new int[slotHash.length];
+        for (Map.Entry<Long, Map<Integer, Integer>> position : weights.entrySet()) {
+            long hash = position.getKey();
+            for (Map.Entry<Integer, Integer> move : position.getValue().entrySet()) {
+                int slot = (int) hash & mask;
+                while (slotHash[slot] != 0) slot = (slot + 1) & mask;
+                slotHash[slot] = hash;
+                slotMove[slot] = move.getKey();
+                slotWeight[slot] = move.getValue();
+            }
+        }
+
+        try (OutputStream stream = Files.newOutputStream(file);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream, 1 << 16))) {
+            out.writeInt(OpeningBook.MAGIC);
+            out.writeInt(OpeningBook.VERSION);
+            out.writeInt(slotBits);
+            out.writeInt(entries);
+            for (int slot = 0; slot < slotHash.length; slot++) {
+                out.writeLong(slotHash[slot]);
+                out.writeInt(slotMove[slot]);
+                out.writeInt(slotWeight[slot]);
+            }
+        }
+    }
+
+    // Usage: OpeningBookBuilder <records.txt> <book.bin> [maxPlies]
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: OpeningBookBuilder <records.txt> <book.bin> [maxPlies]");
+            return;
+        }
+        OpeningBookBuilder builder = new OpeningBookBuilder(args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_MAX_PLIES);
+        int line = 0;
+        int skipped = 0;
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get(args[0]))) {
+            String record;
+            while ((record = reader.readLine()) != null) {
+                line++;
+                if (record.isBlank() || record.startsWith("#")) continue;
+                try {
+                    builder.addGame(record);
+                } catch (IllegalArgumentException e) {
+                    System.err.println("Line " + line + ": " + e.getMessage());
+                    skipped++;
+                }
+            }
+        }
+        Path book = Paths.get(args[1]);
+        builder.write(book);
+        System.out.printf("%d games (%d skipped) -> %,d bytes in %s%n", builder.getGames(), skipped, Files.size(book), book);
+    }
+}
@@ -0,0 +1,158 @@
+package chkMVC.chModel.Engine;
+
+import chkMVC.chModel.Checkers.BitboardBoardModel;
+import chkMVC.chModel.Checkers.BoardModel;
+import chkMVC.chModel.Checkers.Moves.MoveBuffer;
+import chkMVC.chModel.Checkers.Moves.MoveGenerator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Multi-threaded search ("Lazy SMP"): every thread runs its own iterative-deepening
+ * {@link SearchEngine} on its own copy of the board, and they all share one
+ * {@link TranspositionTable}.
+ * <p>
+ * The threads don't split the tree explicitly. They help each other through the table - one
+ * thread's results become another's cutoffs and move ordering. Half the helpers start one ply
+ * deeper than the main thread so they spread out over different parts of the tree. The main
+ * thread's result is the answer; once it finishes the helpers are stopped.
+ * <p>
+ * Threads come from a {@link ForkJoinPool} owned by this object, so {@link #close()} it when done.
+ * One search at a time per instance.
+ */
+public class ParallelSearch implements AutoCloseable {
+
+    private final TranspositionTable table;
+    private final int threads;
+    private final ForkJoinPool pool;
+    private final AtomicBoolean stopFlag = new AtomicBoolean();
+    private Tablebase tablebase;
+
+    public ParallelSearch(TranspositionTable table, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Thread count must be at least 1.");
+        }
+        this.table = table;
+        this.threads = threads;
+        this.pool = new ForkJoinPool(threads);
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public TranspositionTable getTable() {
+        return table;
+    }
+
+    // Shared by every thread; probes are read-only, see SearchEngine.setTablebase
+    public void setTablebase(Tablebase tablebase) {
+        this.tablebase = tablebase;
+    }
+
+    public void stop() {
+        stopFlag.set(true);
+    }
+
+    /**
+     * Searches 'board' for its side to move. The board itself is only read (each thread gets a copy).
+     * @return The main thread's result, with the node count summed over every thread.
+     */
+    public SearchResult search(BoardModel board, int maxDepth, long timeMillis) {
+        stopFlag.set(false);
+        long start = System.currentTimeMillis();
+
+        List<SearchEngine> engines = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            SearchEngine engine = new SearchEngine(board.copy(), table, new PositionalEvaluator(), new MoveOrderer(), stopFlag);
+            engine.setTablebase(tablebase);
+            engines.add(engine);
+        }
+
+        // Helpers first, so they are already working when the main search starts filling the table
+        List<ForkJoinTask<SearchResult>> helpers = new ArrayList<>(threads - 1);
+        for (int i = 1; i < threads; i++) {
+            SearchEngine helper = engines.get(i);
+            int startDepth = 1 + (i & 1);
+            helpers.add(pool.submit(() -> helper.search(startDepth, maxDepth, timeMillis)));
+        }
+        SearchResult main;
+        try {
+            main = pool.submit(() -> engines.get(0).search(1, maxDepth, timeMillis)).join();
+        } finally {
+            stopFlag.set(true);
+        }
+
+        long nodes = main.getNodes();
+        for (ForkJoinTask<SearchResult> helper : helpers) {
+            nodes += helper.join().getNodes();
+        }
+        return new SearchResult(main.getMove(), main.getScore(), main.getDepth(), nodes,
+                System.currentTimeMillis() - start);
+    }
+
+    @Override
+    public void close() {
+        stopFlag.set(true);
+        pool.shutdown();
+    }
+
+    // Usage: ParallelSearch [depth] [maxThreads]
+    // Searches a few fixed positions to a fixed depth with 1, 2, 4... threads and prints the speedup.
+    public static void main(String[] args) {
+        int depth = args.length > 0 ? Integer.parseInt(args[0]) : 12;
+        int maxThreads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+
+        List<BoardModel> positions = benchmarkPositions();
+        // Untimed pass first, otherwise the 1-thread row also pays for JIT warmup
+        try (ParallelSearch warmup = new ParallelSearch(new TranspositionTable(64), 1)) {
+            for (BoardModel position : positions) {
+                warmup.search(position, depth, 0);
+            }
+        }
+
+        long baseline = 0;
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            long millis = 0;
+            long nodes = 0;
+            try (ParallelSearch search = new ParallelSearch(new TranspositionTable(64), threads)) {
+                for (BoardModel position : positions) {
+                    search.getTable().clear();
+                    SearchResult result = search.search(position, depth, 0);
+                    millis += result.getElapsedMillis();
+                    nodes += result.getNodes();
+                }
+            }
+            if (threads == 1) baseline = Math.max(millis, 1);
+            System.out.printf("threads %2d: %6d ms, %,12d nodes, %,10d nodes/s, speedup %.2fx%n",
+                    threads, millis, nodes, millis == 0 ? 0 : nodes * 1000 / millis,
+                    (double) baseline / Math.max(millis, 1));
+        }
+    }
+
+    /**
+     * Fixed positions for speed comparisons: the start, and the start after 6 and 12 plies of
+     * deterministic play (move number 'ply' mod the number of legal moves each time).
+     */
+    public static List<BoardModel> benchmarkPositions() {
+        List<BoardModel> positions = new ArrayList<>();
+        MoveGenerator generator = new MoveGenerator();
+        MoveBuffer moves = new MoveBuffer();
+        BoardModel board = new BitboardBoardModel(8);
+        board.setupStartingPosition();
+        for (int ply = 0; ply <= 12; ply++) {
+            if (ply % 6 == 0) {
+                positions.add(board.copy());
+            }
+            moves.clear();
+            generator.generateLegal(board, board.getSideToMove(), moves);
+            if (moves.isEmpty()) break;
+            board.makeMove(moves, ply % moves.size());
+        }
+        return positions;
+    }
+}
@@ -0,0 +1,221 @@
+package chkMVC.chModel.Engine;
+
+import chkMVC.chModel.Checkers.BoardListener;
+import chkMVC.chModel.Checkers.BoardModel;
+import chkMVC.chModel.Checkers.PositionTable;
+import chkMVC.chModel.Checkers.Pieces.AbstractPiece;
+
+import java.util.Arrays;
+
+/**
+ * Weighted sum of five terms, kept up to date as the board changes instead of rescanning it:
+ * <ul>
+ *   <li>{@link Term#MATERIAL} - {@link MaterialEvaluator#PIECE_VALUE} per serf, {@link MaterialEvaluator#KING_VALUE} per king</li>
+ *   <li>{@link Term#ADVANCEMENT} - rows each serf has moved towards the far side</li>
+ *   <li>{@link Term#CENTER} - pieces in the middle half of the board, both ways</li>
+ *   <li>{@link Term#MOBILITY} - free squares the pieces could step to (captures aside)</li>
+ *   <li>{@link Term#BACK_RANK} - serfs still guarding their own back row</li>
+ * </ul>
+ * The evaluator registers itself as a {@link BoardListener} on the board it is first asked about,
+ * counting every term once; after that each added or removed piece only adjusts the counts around
+ * its own square, and {@link #evaluate} is a handful of multiplies. Asking about a different board
+ * moves it over (one full count again). Call {@link #detach()} when done with a long-lived board.
+ * <p>
+ * Raw counts are kept per term and team and only weighted in {@link #evaluate}, so weights can be
+ * changed at any time - see {@link #setWeight} and {@link #breakdown()} for tuning.
+ * Not thread-safe - one per searching thread, like the board it follows.
+ */
+public class PositionalEvaluator implements Evaluator, BoardListener {
+
+    public enum Term { MATERIAL, ADVANCEMENT, CENTER, MOBILITY, BACK_RANK }
+
+    public static final int ADVANCEMENT_WEIGHT = MaterialEvaluator.ADVANCE_BONUS;
+    public static final int CENTER_WEIGHT = 4;
+    public static final int MOBILITY_WEIGHT = 2;
+    public static final int BACK_RANK_WEIGHT = 5;
+
+    private static final int TERMS = Term.values().length;
+    private static final int WHITE = 0;
+    private static final int BLACK = 1;
+
+    private final int[] weights = {1, ADVANCEMENT_WEIGHT, CENTER_WEIGHT, MOBILITY_WEIGHT, BACK_RANK_WEIGHT};
+    private final int[][] counts = new int[2][TERMS]; // Unweighted, [team][term]
+
+    private BoardModel board;
+    private PositionTable table;
+    private int width;
+    private int height;
+    private boolean[] center; // Per square
+
+    @Override
+    public int evaluate(BoardModel board) {
+        if (board != this.board) {
+            attach(board);
+        }
+        int score = 0;
+        for (int term = 0; term < TERMS; term++) {
+            score += weights[term] * (counts[WHITE][term] - counts[BLACK][term]);
+        }
+        return board.getSideToMove() == AbstractPiece.PEICE_TEAM.WHITE ? score : -score;
+    }
+
+    /**
+     * Starts following 'board' (dropping whichever board was followed before) and counts it from scratch.
+     * @throws IllegalArgumentException for boards too big to have a {@link PositionTable}.
+     */
+    public void attach(BoardModel board) {
+        if (board.getPositionTable() == null) {
+            throw new IllegalArgumentException("Board is too big to evaluate incrementally: "
+                    + board.getWidth() + "x" + board.getHeight() + ".");
+        }
+        detach();
+        this.board = board;
+        this.table = board.getPositionTable();
+        if (board.getWidth() != width || board.getHeight() != height || center == null) {
+            width = board.getWidth();
+            height = board.getHeight();
+            center = centerSquares(width, height);
+        }
+        board.addListener(this);
+        recount();
+    }
+
+    // Stops following the current board, if any
+    public void detach() {
+        if (board != null) {
+            board.removeListener(this);
+            board = null;
+        }
+    }
+
+    public int getWeight(Term term) {
+        return weights[term.ordinal()];
+    }
+
+    public void setWeight(Term term, int weight) {
+        weights[term.ordinal()] = weight;
+    }
+
+    // Weighted value of one term for one team on the board last evaluated (or attached)
+    public int getTerm(Term term, AbstractPiece.PEICE_TEAM team) {
+        return weights[term.ordinal()] * counts[index(team)][term.ordinal()];
+    }
+
+    /**
+     * One line per term with each side's weighted value and the difference, White's point of
+     * view, e.g. {@code MATERIAL: white 1200, black 1100, diff 100}.
+     */
+    public String breakdown() {
+        StringBuilder out = new StringBuilder();
+        int total = 0;
+        for (Term term : Term.values()) {
+            int white = getTerm(term, AbstractPiece.PEICE_TEAM.WHITE);
+            int black = getTerm(term, AbstractPiece.PEICE_TEAM.BLACK);
+            total += white - black;
+            out.append(String.format("%s: white %d, black %d, diff %d%n", term, white, black, white - black));
+        }
+        out.append("TOTAL: ").append(total);
+        return out.toString();
+    }
+
+    // --- BoardListener ---
+
+    @Override
+    public void pieceAdded(BoardModel board, AbstractPiece piece, int square) {
+        update(piece, square, 1);
+    }
+
+    @Override
+    public void pieceRemoved(BoardModel board, AbstractPiece piece, int square) {
+        update(piece, square, -1);
+    }
+
+    @Override
+    public void boardCleared(BoardModel board) {
+        clearCounts();
+    }
+
+    // --- Counting ---
+
+    private void recount() {
+        clearCounts();
+        for (int square = 0; square < board.getSquareCount(); square++) {
+            AbstractPiece piece = board.getPieceAt(square);
+            if (piece == null) continue;
+            int[] own = counts[index(piece.getTeam())];
+            addStatic(own, piece, square, 1);
+            own[Term.MOBILITY.ordinal()] += freeSteps(piece, square);
+        }
+    }
+
+    private void clearCounts() {
+        for (int[] team : counts) {
+            Arrays.fill(team, 0);
+        }
+    }
+
+    // 'sign' is 1 for a piece that just arrived on 'square', -1 for one that just left it.
+    // The board already reflects the change.
+    private void update(AbstractPiece piece, int square, int sign) {
+        int[] own = counts[index(piece.getTeam())];
+        addStatic(own, piece, square, sign);
+
+        // The piece's own steps, then neighbours that could step onto this square
+        own[Term.MOBILITY.ordinal()] += sign * freeSteps(piece, square);
+        int row = square / width;
+        for (int k = 0, n = table.stepCount(square); k < n; k++) {
+            int neighbour = table.step(square, k);
+            AbstractPiece other = board.getPieceAt(neighbour);
+            if (other != null && other.movesInDirection(Integer.signum(row - neighbour / width))) {
+                counts[index(other.getTeam())][Term.MOBILITY.ordinal()] -= sign;
+            }
+        }
+    }
+
+    // Everything that depends only on the piece and its square
+    private void addStatic(int[] own, AbstractPiece piece, int square, int sign) {
+        boolean white = piece.getTeam() == AbstractPiece.PEICE_TEAM.WHITE;
+        int row = square / width; // 0-based, from White's side
+        if (center[square]) {
+            own[Term.CENTER.ordinal()] += sign;
+        }
+        if (piece.getKind() == AbstractPiece.PIECE_KIND.KING) {
+            own[Term.MATERIAL.ordinal()] += sign * MaterialEvaluator.KING_VALUE;
+            return;
+        }
+        int advanced = white ? row : height - 1 - row;
+        own[Term.MATERIAL.ordinal()] += sign * MaterialEvaluator.PIECE_VALUE;
+        own[Term.ADVANCEMENT.ordinal()] += sign * advanced;
+        if (advanced == 0) {
+            own[Term.BACK_RANK.ordinal()] += sign;
+        }
+    }
+
+    // Empty squares the piece could step to
+    private int freeSteps(AbstractPiece piece, int square) {
+        int row = square / width;
+        int free = 0;
+        for (int k = 0, n = table.stepCount(square); k < n; k++) {
+            int to = table.step(square, k);
+            if (!piece.movesInDirection(to / width - row)) continue;
+            if (!board.isOccupied(to)) free++;
+        }
+        return free;
+    }
+
+    private static boolean[] centerSquares(int width, int height) {
+        boolean[] center = new boolean[width * height];
+        int marginX = width / 4;
+        int marginY = height / 4;
+        for (int square = 0; square < center.length; square++) {
+            int x = square % width;
+            int y = square / width;
+            center[square] = x >= marginX && x < width - marginX && y >= marginY && y < height - marginY;
+        }
+        return center;
+    }
+
+    private static int index(AbstractPiece.PEICE_TEAM team) {
+        return team == AbstractPiece.PEICE_TEAM.WHITE ? WHITE : BLACK;
+    }
+}
@@ -0,0 +1,254 @@
+package chkMVC.chModel.Engine;
+
+import chkMVC.chModel.Checkers.BoardModel;
+import chkMVC.chModel.Checkers.Moves.Move;
+import chkMVC.chModel.Checkers.Moves.MoveBuffer;
+import chkMVC.chModel.Checkers.Moves.MoveGenerator;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Negamax alpha-beta search with iterative deepening, a per-move time budget and a
+ * {@link TranspositionTable}.
+ * <p>
+ * Each iteration searches one ply deeper than the last. Moves are tried in the order a
+ * {@link MoveOrderer} picks: the previous iteration's best move (kept in the table) first, then
+ * captures, killers and history, which is what makes the deeper iterations cheap. When the time budget runs out the unfinished iteration is thrown away and
+ * the result of the last finished one is returned; depth 1 always finishes so there is always a move.
+ * <p>
+ * At the nominal depth the search keeps going while the side to move is forced to capture, so it
+ * never stops in the middle of an exchange.
+ * <p>
+ * Moves are played on the engine's own board and taken back again, so the board is left as it was.
+ * Not thread-safe: one engine per board per thread. The table may be shared.
+ */
+public class SearchEngine {
+
+    public static final int WIN = 30000; // Score for winning now; a win in n plies scores WIN - n
+    public static final int MAX_PLY = 128;
+    // Tablebase wins score below real wins (they aren't wins yet) but above any evaluation
+    public static final int TABLEBASE_WIN = WIN - 2 * MAX_PLY;
+
+    private static final int INFINITE = WIN + 1;
+    private static final int TIME_CHECK_MASK = 1023; // Look at the clock every 1024 nodes
+
+    private final BoardModel board;
+    private final TranspositionTable table;
+    private final Evaluator evaluator;
+    private final MoveOrderer orderer;
+    private final MoveGenerator generator = new MoveGenerator();
+
+    private final MoveBuffer[] buffers = new MoveBuffer[MAX_PLY + 1];
+    private Tablebase tablebase;
+    private int probeLimit; // Probe positions with at most this many pieces
+
+    private final AtomicBoolean stopRequested;
+    private final boolean sharedStop; // Owned by a ParallelSearch, which resets it itself
+    private long deadline;
+    private long nodes;
+    private boolean aborted;
+    private int iteration;
+    private int rootBestMove;
+
+    public SearchEngine(BoardModel board, TranspositionTable table, Evaluator evaluator) {
+        this(board, table, evaluator, new MoveOrderer());
+    }
+
+    public SearchEngine(BoardModel board, TranspositionTable table, Evaluator evaluator, MoveOrderer orderer) {
+        this(board, table, evaluator, orderer, null);
+    }
+
+    // Engines in a parallel search share one stop flag, so stopping before a helper has started still counts
+    SearchEngine(BoardModel board, TranspositionTable table, Evaluator evaluator, MoveOrderer orderer,
+                 AtomicBoolean stopFlag) {
+        this.board = board;
+        this.stopRequested = stopFlag == null ? new AtomicBoolean() : stopFlag;
+        this.sharedStop = stopFlag != null;
+        this.table = table;
+        this.evaluator = evaluator;
+        this.orderer = orderer;
+        for (int i = 0; i <= MAX_PLY; i++) {
+            buffers[i] = new MoveBuffer();
+        }
+    }
+
+    public BoardModel getBoard() {
+        return board;
+    }
+
+    public TranspositionTable getTable() {
+        return table;
+    }
+
+    /**
+     * Lets the search look positions up instead of searching them, or null for none. When the
+     * root is already in the tablebase only positions with fewer pieces are looked up - every
+     * move would look equally won otherwise, and the search would have no reason to make progress.
+     */
+    public void setTablebase(Tablebase tablebase) {
+        this.tablebase = tablebase;
+    }
+
+    // Its cutoff statistics cover the last search
+    public MoveOrderer getMoveOrderer() {
+        return orderer;
+    }
+
+    // Ask a running search (from any thread) to finish as soon as it can
+    public void stop() {
+        stopRequested.set(true);
+    }
+
+    /**
+     * Searches the board for the side to move.
+     * @param maxDepth   Deepest iteration to run, at least 1.
+     * @param timeMillis Time budget, or 0 for no limit.
+     */
+    public SearchResult search(int maxDepth, long timeMillis) {
+        return search(1, maxDepth, timeMillis);
+    }
+
+    // Helper threads start a ply or so deeper than the main one so they don't all search the same tree
+    SearchResult search(int startDepth, int maxDepth, long timeMillis) {
+        if (maxDepth < 1 || startDepth < 1) {
+            throw new IllegalArgumentException("Search depth must be at least 1.");
+        }
+        if (timeMillis < 0) {
+            throw new IllegalArgumentException("Time budget must not be negative.");
+        }
+        maxDepth = Math.min(maxDepth, Math.min(MAX_PLY, TranspositionTable.MAX_DEPTH));
+
+        long start = System.currentTimeMillis();
+        deadline = timeMillis == 0 ? Long.MAX_VALUE : start + timeMillis;
+        if (!sharedStop) {
+            stopRequested.set(false);
+        }
+        aborted = false;
+        nodes = 0;
+        table.newSearch();
+        orderer.newSearch();
+        if (tablebase != null) {
+            probeLimit = tablebase.covers(board) ? board.getNumberOfPieces() - 1 : tablebase.getMaxPieces();
+        }
+
+        int bestMove = Move.NO_MOVE;
+        int bestScore = 0;
+        int reached = 0;
+        for (int depth = Math.min(startDepth, maxDepth); depth <= maxDepth; depth++) {
+            iteration = depth;
+            rootBestMove = Move.NO_MOVE;
+            int score = negamax(depth, -INFINITE, INFINITE, 0);
+            if (aborted) {
+                break;
+            }
+            bestMove = rootBestMove;
+            bestScore = score;
+            reached = depth;
+            // A forced result won't change with more depth
+            if (Math.abs(score) >= WIN - MAX_PLY || bestMove == Move.NO_MOVE) {
+                break;
+            }
+        }
+        return new SearchResult(bestMove, bestScore, reached, nodes, System.currentTimeMillis() - start);
+    }
+
+    private int negamax(int depth, int alpha, int beta, int ply) {
+        nodes++;
+        if ((nodes & TIME_CHECK_MASK) == 0 && iteration > 1) {
+            checkTime();
+        }
+        if (aborted) {
+            return 0;
+        }
+
+        long key = board.hash();
+        int ttMove = Move.NO_MOVE;
+        long entry = table.probe(key);
+        if (entry != 0) {
+            ttMove = TranspositionTable.move(entry);
+            if (ply > 0 && TranspositionTable.depth(entry) >= depth) {
+                int score = fromTable(TranspositionTable.score(entry), ply);
+                int bound = TranspositionTable.bound(entry);
+                if (bound == TranspositionTable.BOUND_EXACT
+                        || (bound == TranspositionTable.BOUND_LOWER && score >= beta)
+                        || (bound == TranspositionTable.BOUND_UPPER && score <= alpha)) {
+                    return score;
+                }
+            }
+        }
+
+        if (tablebase != null && ply > 0 && board.getNumberOfPieces() <= probeLimit) {
+            switch (tablebase.probe(board)) {
+                case Tablebase.WIN: return TABLEBASE_WIN - ply;
+                case Tablebase.LOSS: return -TABLEBASE_WIN + ply;
+                case Tablebase.DRAW: return 0;
+                default: break;
+            }
+        }
+
+        MoveBuffer moves = buffers[ply];
+        moves.clear();
+        generator.generateLegal(board, board.getSideToMove(), moves);
+        if (moves.isEmpty()) {
+            return -WIN + ply; // No moves left is a loss
+        }
+        // Out of depth: stop unless a capture is forced
+        if ((depth <= 0 && !moves.isCapture(0)) || ply >= MAX_PLY) {
+            return evaluator.evaluate(board);
+        }
+
+        orderer.score(board, moves, ttMove, ply);
+        int originalAlpha = alpha;
+        int best = -INFINITE;
+        int bestMove = Move.NO_MOVE;
+        for (int n = 0; n < moves.size(); n++) {
+            int i = orderer.next(ply, moves.size());
+            board.makeMove(moves, i);
+            int score = -negamax(depth - 1, -beta, -alpha, ply + 1);
+            board.unmakeMove();
+            if (aborted) {
+                return 0;
+            }
+
+            if (score > best) {
+                best = score;
+                bestMove = moves.key(i);
+                if (score > alpha) {
+                    alpha = score;
+                    if (alpha >= beta) {
+                        orderer.cutoff(board, moves, i, n, ply, depth);
+                        break;
+                    }
+                }
+            }
+        }
+
+        int bound = best <= originalAlpha ? TranspositionTable.BOUND_UPPER
+                : best >= beta ? TranspositionTable.BOUND_LOWER
+                : TranspositionTable.BOUND_EXACT;
+        table.store(key, Math.max(depth, 0), toTable(best, ply), bound, bestMove);
+        if (ply == 0) {
+            rootBestMove = bestMove;
+        }
+        return best;
+    }
+
+    private void checkTime() {
+        if (stopRequested.get() || System.currentTimeMillis() >= deadline) {
+            aborted = true;
+        }
+    }
+
+    // Win scores are stored relative to the node, so they stay right when reached from a different ply
+    private static int toTable(int score, int ply) {
+        if (score >= WIN - MAX_PLY) return score + ply;
+        if (score <= -WIN + MAX_PLY) return score - ply;
+        return score;
+    }
+
+    private static int fromTable(int score, int ply) {
+        if (score >= WIN - MAX_PLY) return score - ply;
+        if (score <= -WIN + MAX_PLY) return score + ply;
+        return score;
+    }
+}
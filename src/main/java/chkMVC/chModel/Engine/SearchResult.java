@@ -0,0 +1,71 @@
+package chkMVC.chModel.Engine;
+
+import chkMVC.chModel.Checkers.Moves.Move;
+
+/**
+ * Outcome of one {@link SearchEngine#search} call: the move to play and how the search went.
+ */
+public class SearchResult {
+
+    private final int move;
+    private final int score;
+    private final int depth;
+    private final long nodes;
+    private final long elapsedMillis;
+
+    /**
+     * @param move  Key of the best move found (see MoveBuffer.key), or Move.NO_MOVE if there was none.
+     * @param score Score of that move from the mover's point of view.
+     * @param depth Deepest iteration that finished.
+     * @param nodes Positions visited, including any unfinished last iteration.
+     */
+    public SearchResult(int move, int score, int depth, long nodes, long elapsedMillis) {
+        this.move = move;
+        this.score = score;
+        this.depth = depth;
+        this.nodes = nodes;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public int getMove() {
+        return move;
+    }
+
+    public boolean hasMove() {
+        return move != Move.NO_MOVE;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public long getNodesPerSecond() {
+        return elapsedMillis == 0 ? nodes * 1000 : nodes * 1000 / elapsedMillis;
+    }
+
+    public boolean isWin() {
+        return score >= SearchEngine.WIN - SearchEngine.MAX_PLY;
+    }
+
+    public boolean isLoss() {
+        return score <= -SearchEngine.WIN + SearchEngine.MAX_PLY;
+    }
+
+    @Override
+    public String toString() {
+        return "depth " + depth + " score " + score + " nodes " + nodes
+                + " (" + getNodesPerSecond() + " nodes/s, " + elapsedMillis + " ms)";
+    }
+}
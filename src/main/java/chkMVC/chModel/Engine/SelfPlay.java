@@ -0,0 +1,364 @@
+package chkMVC.chModel.Engine;
+
+import chkMVC.chModel.Checkers.BitboardBoardModel;
+import chkMVC.chModel.Checkers.BoardModel;
+import chkMVC.chModel.Checkers.Moves.Move;
+import chkMVC.chModel.Checkers.Moves.MoveBuffer;
+import chkMVC.chModel.Checkers.Moves.MoveGenerator;
+import chkMVC.chModel.Checkers.Pieces.AbstractPiece;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Headless batch of complete games between two configurable players, spread over a thread pool.
+ * For stress-testing the model and for producing game records - no server, no Swing.
+ * <p>
+ * A player is given as a spec string:
+ * <ul>
+ *   <li>{@code random} - a uniformly random legal move,</li>
+ *   <li>{@code depth:N} - a {@link SearchEngine} search to depth N,</li>
+ *   <li>{@code time:MS} - a search with a budget of MS milliseconds a move,</li>
+ *   <li>{@code mcts:N} - an {@link MctsEngine} search of N rollouts a move.</li>
+ * </ul>
+ * The first few plies of every game are random (see {@link #setRandomOpeningPlies}) so two
+ * search players don't play the same game every time. A game ends when the side to move has no
+ * moves (it loses) or after {@link #setMaxPlies} plies (a draw).
+ * <p>
+ * Each worker thread owns its board, generator and players and reuses them for every game it
+ * plays, so the allocation rate in the {@link Report} is what the model itself costs. Game n is
+ * always seeded the same way, so a run's results don't depend on the thread count (for depth and
+ * random players - timed searches vary with load).
+ */
+public class SelfPlay {
+
+    public static final int DEFAULT_MAX_PLIES = 200;
+    public static final int DEFAULT_RANDOM_OPENING_PLIES = 4;
+    private static final int TABLE_MB = 4; // Per search player
+
+    private final String whiteSpec;
+    private final String blackSpec;
+    private final int threads;
+    private int maxPlies = DEFAULT_MAX_PLIES;
+    private int randomOpeningPlies = DEFAULT_RANDOM_OPENING_PLIES;
+    private long seed = 1;
+    private boolean keepRecords;
+
+    /**
+     * @throws IllegalArgumentException if a spec isn't one of the forms above, or threads is below 1.
+     */
+    public SelfPlay(String whiteSpec, String blackSpec, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Thread count must be at least 1.");
+        }
+        checkSpec(whiteSpec);
+        checkSpec(blackSpec);
+        this.whiteSpec = whiteSpec;
+        this.blackSpec = blackSpec;
+        this.threads = threads;
+    }
+
+    public void setMaxPlies(int maxPlies) {
+        if (maxPlies < 1) {
+            throw new IllegalArgumentException("Games need at least one ply.");
+        }
+        this.maxPlies = maxPlies;
+    }
+
+    public void setRandomOpeningPlies(int plies) {
+        if (plies < 0) {
+            throw new IllegalArgumentException("Random opening plies must not be negative.");
+        }
+        this.randomOpeningPlies = plies;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    // Keep every game's moves in OpeningBookBuilder's record format (costs a String per move)
+    public void setKeepRecords(boolean keepRecords) {
+        this.keepRecords = keepRecords;
+    }
+
+    /**
+     * Plays 'games' games and waits for them all.
+     * @throws IllegalStateException if a worker fails; the cause is the worker's exception.
+     */
+    public Report run(int games) {
+        if (games < 1) {
+            throw new IllegalArgumentException("Play at least one game.");
+        }
+        String[] records = keepRecords ? new String[games] : null;
+        AtomicInteger nextGame = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+        try {
+            List<Future<Worker>> workers = new ArrayList<>(threads);
+            for (int t = 0; t < threads; t++) {
+                workers.add(pool.submit(() -> {
+                    Worker worker = new Worker();
+                    worker.playAll(nextGame, games, records);
+                    return worker;
+                }));
+            }
+            Report report = new Report(records);
+            for (Future<Worker> future : workers) {
+                report.add(future.get());
+            }
+            report.elapsedNanos = System.nanoTime() - start;
+            return report;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Self-play worker failed.", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for self-play games.", e);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void checkSpec(String spec) {
+        if (spec.equals("random")) return;
+        String[] parts = spec.split(":");
+        if (parts.length == 2 && (parts[0].equals("depth") || parts[0].equals("time") || parts[0].equals("mcts"))) {
+            try {
+                if (Integer.parseInt(parts[1]) > 0) return;
+            } catch (NumberFormatException e) {
+                // Falls through to the error below
+            }
+        }
+        throw new IllegalArgumentException("Unknown player '" + spec + "', expected random, depth:N, time:MS or mcts:N.");
+    }
+
+    // One thread's games. Everything here is reused from game to game.
+    private final class Worker {
+        final BoardModel board = new BitboardBoardModel(8);
+        final MoveGenerator generator = new MoveGenerator();
+        final MoveBuffer moves = new MoveBuffer();
+        final Random random = new Random();
+        final Seat white = new Seat(whiteSpec, board);
+        final Seat black = new Seat(blackSpec, board);
+        final StringBuilder record = new StringBuilder();
+
+        int games, whiteWins, blackWins, draws;
+        long plies;
+        long allocatedBytes;
+
+        void playAll(AtomicInteger nextGame, int total, String[] records) {
+            long allocatedBefore = allocatedBytes();
+            for (int game = nextGame.getAndIncrement(); game < total; game = nextGame.getAndIncrement()) {
+                random.setSeed(seed * 1_000_003L + game);
+                play(records != null);
+                if (records != null) records[game] = record.toString();
+            }
+            long allocatedAfter = allocatedBytes();
+            allocatedBytes = allocatedBefore < 0 ? -1 : allocatedAfter - allocatedBefore;
+        }
+
+        void play(boolean recording) {
+            board.setupStartingPosition();
+            record.setLength(0);
+            white.reset();
+            black.reset();
+
+            AbstractPiece.PEICE_TEAM loser = null;
+            int ply = 0;
+            for (; ply < maxPlies; ply++) {
+                moves.clear();
+                generator.generateLegal(board, board.getSideToMove(), moves);
+                if (moves.isEmpty()) {
+                    loser = board.getSideToMove();
+                    break;
+                }
+                boolean whiteToMove = board.getSideToMove() == AbstractPiece.PEICE_TEAM.WHITE;
+                int index = choose(whiteToMove ? white : black, ply);
+                if (recording) {
+                    if (whiteToMove) record.append(ply / 2 + 1).append(". ");
+                    record.append(Move.toString(moves, index, board)).append(' ');
+                }
+                board.makeMove(moves, index);
+            }
+
+            games++;
+            plies += ply;
+            if (loser == null) {
+                draws++;
+                record.append("1/2-1/2");
+            } else if (loser == AbstractPiece.PEICE_TEAM.BLACK) {
+                whiteWins++;
+                record.append("1-0");
+            } else {
+                blackWins++;
+                record.append("0-1");
+            }
+        }
+
+        int choose(Seat seat, int ply) {
+            if ((seat.engine == null && seat.mcts == null) || ply < randomOpeningPlies || moves.size() == 1) {
+                return random.nextInt(moves.size());
+            }
+            SearchResult result = seat.mcts != null ? seat.mcts.search(board, seat.limit, 0)
+                    : seat.timed ? seat.engine.search(SearchEngine.MAX_PLY, seat.limit)
+                    : seat.engine.search(seat.limit, 0);
+            int index = moves.indexOfKey(result.getMove());
+            return index >= 0 ? index : 0;
+        }
+    }
+
+    // A parsed player spec, with its engine if it searches
+    private static final class Seat {
+        final SearchEngine engine;
+        final MctsEngine mcts;
+        final int limit;
+        final boolean timed;
+
+        Seat(String spec, BoardModel board) {
+            boolean searches = !spec.equals("random");
+            boolean monteCarlo = spec.startsWith("mcts");
+            this.engine = searches && !monteCarlo
+                    ? new SearchEngine(board, new TranspositionTable(TABLE_MB), new PositionalEvaluator()) : null;
+            this.mcts = monteCarlo ? new MctsEngine(TABLE_MB, 1) : null;
+            this.limit = searches ? Integer.parseInt(spec.substring(spec.indexOf(':') + 1)) : 0;
+            this.timed = spec.startsWith("time");
+        }
+
+        // Nothing carried over from the last game, so a game plays the same on any thread
+        void reset() {
+            if (mcts != null) {
+                mcts.clear();
+                mcts.setSeed(1);
+            }
+            if (engine == null) return;
+            engine.getTable().clear();
+            engine.getMoveOrderer().clear();
+        }
+    }
+
+    // Bytes allocated by the calling thread so far, or -1 where the JVM can't say
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean hotspot = (com.sun.management.ThreadMXBean) threads;
+            if (hotspot.isThreadAllocatedMemorySupported() && hotspot.isThreadAllocatedMemoryEnabled()) {
+                return hotspot.getCurrentThreadAllocatedBytes();
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Totals for one {@link #run}.
+     */
+    public static final class Report {
+        private final String[] records;
+        private int games, whiteWins, blackWins, draws;
+        private long plies;
+        private long allocatedBytes;
+        private long elapsedNanos;
+
+        private Report(String[] records) {
+            this.records = records;
+        }
+
+        private void add(Worker worker) {
+            games += worker.games;
+            whiteWins += worker.whiteWins;
+            blackWins += worker.blackWins;
+            draws += worker.draws;
+            plies += worker.plies;
+            allocatedBytes = allocatedBytes < 0 || worker.allocatedBytes < 0 ? -1 : allocatedBytes + worker.allocatedBytes;
+        }
+
+        public int getGames() {
+            return games;
+        }
+
+        public int getWhiteWins() {
+            return whiteWins;
+        }
+
+        public int getBlackWins() {
+            return blackWins;
+        }
+
+        public int getDraws() {
+            return draws;
+        }
+
+        public long getPlies() {
+            return plies;
+        }
+
+        public double getAveragePlies() {
+            return games == 0 ? 0 : (double) plies / games;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedNanos / 1_000_000;
+        }
+
+        public double getGamesPerSecond() {
+            return elapsedNanos == 0 ? 0 : games * 1e9 / elapsedNanos;
+        }
+
+        // Bytes allocated by the worker threads, or -1 if the JVM doesn't track it
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+
+        public double getAllocatedMegabytesPerSecond() {
+            return allocatedBytes < 0 || elapsedNanos == 0 ? -1 : allocatedBytes * 1e9 / elapsedNanos / (1024 * 1024);
+        }
+
+        // One record per game in game order, or null unless records were kept
+        public String[] getRecords() {
+            return records;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d games in %d ms (%.1f games/s): white %d, black %d, drawn %d, "
+                            + "%.1f plies a game, %s allocated (%.1f MB/s)",
+                    games, getElapsedMillis(), getGamesPerSecond(), whiteWins, blackWins, draws,
+                    getAveragePlies(), allocatedBytes < 0 ? "unknown" : String.format("%,d bytes", allocatedBytes),
+                    getAllocatedMegabytesPerSecond());
+        }
+    }
+
+    // Usage: SelfPlay [games] [threads] [white] [black] [records.txt]
+    // e.g. SelfPlay 1000 4 depth:4 random games.txt - the records can go straight into OpeningBookBuilder.
+    public static void main(String[] args) throws IOException {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        String white = args.length > 2 ? args[2] : "depth:4";
+        String black = args.length > 3 ? args[3] : "depth:4";
+        Path recordsFile = args.length > 4 ? Paths.get(args[4]) : null;
+
+        SelfPlay selfPlay = new SelfPlay(white, black, threads);
+        selfPlay.setKeepRecords(recordsFile != null);
+        Report report = selfPlay.run(games);
+        System.out.println(white + " vs " + black + " on " + threads + " threads: " + report);
+
+        if (recordsFile != null) {
+            try (BufferedWriter out = Files.newBufferedWriter(recordsFile)) {
+                for (String record : report.getRecords()) {
+                    out.write(record);
+                    out.newLine();
+                }
+            }
+        }
+    }
+}
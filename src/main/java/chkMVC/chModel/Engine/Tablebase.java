@@ -0,0 +1,214 @@
+package chkMVC.chModel.Engine;
+
+import chkMVC.chModel.Checkers.BoardModel;
+import chkMVC.chModel.Checkers.Pieces.AbstractPiece;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Win/loss/draw endgame tablebase for the standard 8x8 board, read straight from a file built by
+ * {@link TablebaseGenerator}.
+ * <p>
+ * The file is mapped into memory with {@link FileChannel#map}, so opening it costs nothing up front
+ * and the OS pages in only the parts that get probed. A probe is two passes over the 32 dark squares
+ * and one byte read: no allocation, no locks, and safe from any number of threads at once.
+ * <p>
+ * Results are from the side to move's point of view and assume play goes on forever, so a position
+ * nobody can force is a {@link #DRAW}. Anything the file doesn't cover (too many pieces, another
+ * board size) is {@link #UNKNOWN}.
+ *
+ * <h3>File layout</h3>
+ * Big-endian. Header: magic {@code "CHKT"}, version, max pieces, table count. Then one directory
+ * entry per material signature - {@code int} signature, {@code long} offset, {@code long} entry
+ * count - then the tables, 2 bits per position, four positions per byte, lowest bits first.
+ * A position's entry number is {@code 2 * index + (black to move ? 1 : 0)}, where the index gives
+ * 5 bits to each piece's dark square (see {@link #locate}).
+ */
+public class Tablebase implements AutoCloseable {
+
+    // Probe results, also the 2-bit values stored in the file
+    public static final int DRAW = 0;
+    public static final int WIN = 1;
+    public static final int LOSS = 2;
+    public static final int UNKNOWN = 3; // Also marks impossible positions in the file
+
+    public static final int MAX_PIECES = 5; // 2 * 32^5 entries is already 16 MB per signature
+    public static final int BOARD_SIZE = 8;
+    public static final int DARK_SQUARES = BOARD_SIZE * BOARD_SIZE / 2;
+
+    static final int MAGIC = 0x43484B54; // "CHKT"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+    static final int DIRECTORY_ENTRY_BYTES = 20;
+
+    // Pieces are grouped white serfs, white kings, black serfs, black kings; 4 bits of count each
+    static final int GROUPS = 4;
+    static final int COUNT_SHIFT = 40; // locate() packs the counts above the entry number
+
+    private final FileChannel channel;
+    private final MappedByteBuffer data;
+    private final int maxPieces;
+    private final long[] offsets; // Indexed by signature, -1 where there is no table
+
+    private Tablebase(FileChannel channel, MappedByteBuffer data) throws IOException {
+        this.channel = channel;
+        this.data = data;
+        data.order(ByteOrder.BIG_ENDIAN);
+        if (data.capacity() < HEADER_BYTES || data.getInt(0) != MAGIC) {
+            throw new IOException("Not a tablebase file.");
+        }
+        if (data.getInt(4) != VERSION) {
+            throw new IOException("Unsupported tablebase version " + data.getInt(4) + ".");
+        }
+        this.maxPieces = data.getInt(8);
+        int tables = data.getInt(12);
+        if (maxPieces < 2 || maxPieces > MAX_PIECES || tables < 0
+                || HEADER_BYTES + (long) tables * DIRECTORY_ENTRY_BYTES > data.capacity()) {
+            throw new IOException("Corrupt tablebase header.");
+        }
+        this.offsets = new long[1 << (4 * GROUPS)];
+        Arrays.fill(offsets, -1);
+        for (int t = 0; t < tables; t++) {
+            int at = HEADER_BYTES + t * DIRECTORY_ENTRY_BYTES;
+            int signature = data.getInt(at);
+            long offset = data.getLong(at + 4);
+            long entries = data.getLong(at + 12);
+            if (signature < 0 || signature >= offsets.length || entries != entryCount(signature)
+                    || offset < 0 || offset + (entries + 3) / 4 > data.capacity()) {
+                throw new IOException("Corrupt tablebase directory entry " + t + ".");
+            }
+            offsets[signature] = offset;
+        }
+    }
+
+    /**
+     * Maps a tablebase file read-only.
+     * @throws IOException if the file can't be read or isn't a tablebase.
+     */
+    public static Tablebase open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Tablebase file too large to map: " + channel.size() + " bytes.");
+            }
+            return new Tablebase(channel, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public int getMaxPieces() {
+        return maxPieces;
+    }
+
+    // True if the board is a size and piece count the file could cover
+    public boolean covers(BoardModel board) {
+        return board.getWidth() == BOARD_SIZE && board.getHeight() == BOARD_SIZE
+                && board.getNumberOfPieces() <= maxPieces;
+    }
+
+    /**
+     * Looks the board up for its side to move.
+     * @return {@link #WIN}, {@link #LOSS}, {@link #DRAW} or {@link #UNKNOWN}.
+     */
+    public int probe(BoardModel board) {
+        if (!covers(board)) {
+            return UNKNOWN;
+        }
+        long located = locate(board);
+        long offset = offsets[signatureOf(located)];
+        if (offset < 0) {
+            return UNKNOWN; // One side has no pieces left, or the generator stopped short
+        }
+        long entry = entryOf(located);
+        int packed = data.get((int) (offset + (entry >>> 2)));
+        return (packed >>> ((int) (entry & 3) * 2)) & 3;
+    }
+
+    // The mapping itself is only released once the buffer is garbage collected
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    // --- Indexing, shared with the generator ---
+
+    /**
+     * Entry number of an 8x8 board's position within its signature's table, with the signature
+     * (piece counts, 4 bits per group) packed above bit {@link #COUNT_SHIFT}. Pieces of the same
+     * group are taken in ascending square order, so each position has exactly one entry.
+     */
+    static long locate(BoardModel board) {
+        int counts = 0;
+        for (int dark = 0; dark < DARK_SQUARES; dark++) {
+            AbstractPiece piece = board.getPieceAt(squareOf(dark));
+            if (piece != null) counts += 1 << (4 * group(piece));
+        }
+        // Where each group's pieces start in the index
+        int start1 = counts & 15;
+        int start2 = start1 + (counts >>> 4 & 15);
+        int start3 = start2 + (counts >>> 8 & 15);
+        int seen = 0;
+        long index = 0;
+        for (int dark = 0; dark < DARK_SQUARES; dark++) {
+            AbstractPiece piece = board.getPieceAt(squareOf(dark));
+            if (piece == null) continue;
+            int group = group(piece);
+            int start;
+            switch (group) {
+                case 0: start = 0; break;
+                case 1: start = start1; break;
+                case 2: start = start2; break;
+                default: start = start3; break;
+            }
+            int slot = start + (seen >>> (4 * group) & 15);
+            seen += 1 << (4 * group);
+            index |= (long) dark << (5 * slot);
+        }
+        long entry = index * 2 + (board.getSideToMove() == AbstractPiece.PEICE_TEAM.BLACK ? 1 : 0);
+        return (long) counts << COUNT_SHIFT | entry;
+    }
+
+    static int signatureOf(long located) {
+        return (int) (located >>> COUNT_SHIFT);
+    }
+
+    static long entryOf(long located) {
+        return located & ((1L << COUNT_SHIFT) - 1);
+    }
+
+    static int count(int signature, int group) {
+        return signature >>> (4 * group) & 15;
+    }
+
+    static int pieces(int signature) {
+        return count(signature, 0) + count(signature, 1) + count(signature, 2) + count(signature, 3);
+    }
+
+    static int signature(int whiteSerfs, int whiteKings, int blackSerfs, int blackKings) {
+        return whiteSerfs | whiteKings << 4 | blackSerfs << 8 | blackKings << 12;
+    }
+
+    static long entryCount(int signature) {
+        return 2L << (5 * pieces(signature));
+    }
+
+    // 0 white serf, 1 white king, 2 black serf, 3 black king
+    static int group(AbstractPiece piece) {
+        int group = piece.getKind() == AbstractPiece.PIECE_KIND.KING ? 1 : 0;
+        return piece.getTeam() == AbstractPiece.PEICE_TEAM.WHITE ? group : group + 2;
+    }
+
+    // Dark squares are those with (x + y) even, four per row starting at A1
+    static int squareOf(int dark) {
+        int row = dark >>> 2;
+        return row * BOARD_SIZE + (dark & 3) * 2 + (row & 1);
+    }
+}
@@ -0,0 +1,285 @@
+package chkMVC.chModel.Engine;
+
+import chkMVC.chModel.Checkers.BitboardBoardModel;
+import chkMVC.chModel.Checkers.BoardModel;
+import chkMVC.chModel.Checkers.Moves.MoveBuffer;
+import chkMVC.chModel.Checkers.Moves.MoveGenerator;
+import chkMVC.chModel.Checkers.Pieces.AbstractPiece;
+import chkMVC.chModel.Checkers.Pieces.KingPiece;
+import chkMVC.chModel.Checkers.Pieces.SerfPiece;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Offline builder for {@link Tablebase} files: solves every position with up to 'maxPieces'
+ * pieces (at least one a side) by retrograde analysis and writes the results.
+ * <p>
+ * Tables are solved one material signature at a time, smallest first. Every move out of a
+ * signature either stays inside it or lands in one that is already solved - a capture drops a
+ * piece, a promotion swaps a serf for a king - so only moves within the signature need iterating:
+ * <ol>
+ *   <li>Each position's moves are generated with the normal {@link MoveGenerator} (so the rules
+ *       match the game exactly). Moves into solved tables settle what they can straight away.</li>
+ *   <li>The rest is solved backwards from the known results: a position with a losing successor
+ *       is a win, one whose successors are all wins is a loss. Each position keeps a count of
+ *       unsolved successors so the whole pass is linear in the number of moves.</li>
+ *   <li>Whatever is left can be held forever by both sides, so it is a draw.</li>
+ * </ol>
+ * Three pieces take a second or two; four take about half a minute and want {@code -Xmx2g}.
+ */
+public class TablebaseGenerator {
+
+    private static final byte PENDING = 4; // Internal only, never written
+
+    private final int maxPieces;
+    private final Map<Integer, byte[]> solved = new HashMap<>(); // Signature -> one value per entry
+    private final BoardModel board = new BitboardBoardModel(Tablebase.BOARD_SIZE);
+    private final MoveGenerator generator = new MoveGenerator();
+    private final MoveBuffer moves = new MoveBuffer();
+
+    public TablebaseGenerator(int maxPieces) {
+        if (maxPieces < 2 || maxPieces > Tablebase.MAX_PIECES) {
+            throw new IllegalArgumentException("Tablebases cover 2 to " + Tablebase.MAX_PIECES
+                    + " pieces, got " + maxPieces + ".");
+        }
+        this.maxPieces = maxPieces;
+    }
+
+    // Solves every signature, smallest first
+    public void generate() {
+        for (int signature : signatures(maxPieces)) {
+            solve(signature);
+        }
+    }
+
+    /**
+     * Writes every solved table to 'file' in the format {@link Tablebase#open} reads.
+     */
+    public void write(Path file) throws IOException {
+        List<Integer> signatures = signatures(maxPieces);
+        try (OutputStream stream = Files.newOutputStream(file);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream, 1 << 16))) {
+            out.writeInt(Tablebase.MAGIC);
+            out.writeInt(Tablebase.VERSION);
+            out.writeInt(maxPieces);
+            out.writeInt(signatures.size());
+            long offset = Tablebase.HEADER_BYTES + (long) signatures.size() * Tablebase.DIRECTORY_ENTRY_BYTES;
+            for (int signature : signatures) {
+                long entries = Tablebase.entryCount(signature);
+                out.writeInt(signature);
+                out.writeLong(offset);
+                out.writeLong(entries);
+                offset += (entries + 3) / 4;
+            }
+            for (int signature : signatures) {
+                byte[] values = table(signature);
+                for (int i = 0; i < values.length; i += 4) {
+                    int packed = 0;
+                    for (int k = 0; k < 4 && i + k < values.length; k++) {
+                        packed |= values[i + k] << (k * 2);
+                    }
+                    out.writeByte(packed);
+                }
+            }
+        }
+    }
+
+    private byte[] table(int signature) {
+        byte[] values = solved.get(signature);
+        if (values == null) {
+            throw new IllegalStateException("Signature " + Integer.toHexString(signature) + " not solved yet.");
+        }
+        return values;
+    }
+
+    /**
+     * Every signature with 2..maxPieces pieces and at least one a side, in an order where all of a
+     * signature's successors come first: fewer pieces first, then fewer serfs (more kings) first.
+     */
+    static List<Integer> signatures(int maxPieces) {
+        List<Integer> signatures = new ArrayList<>();
+        for (int pieces = 2; pieces <= maxPieces; pieces++) {
+            for (int serfs = 0; serfs <= pieces; serfs++) {
+                for (int whiteSerfs = 0; whiteSerfs <= serfs; whiteSerfs++) {
+                    int blackSerfs = serfs - whiteSerfs;
+                    int kings = pieces - serfs;
+                    for (int whiteKings = 0; whiteKings <= kings; whiteKings++) {
+                        int blackKings = kings - whiteKings;
+                        if (whiteSerfs + whiteKings == 0 || blackSerfs + blackKings == 0) continue;
+                        signatures.add(Tablebase.signature(whiteSerfs, whiteKings, blackSerfs, blackKings));
+                    }
+                }
+            }
+        }
+        return signatures;
+    }
+
+    private void solve(int signature) {
+        int entries = (int) Tablebase.entryCount(signature);
+        byte[] values = new byte[entries];
+        int[] unsolved = new int[entries];  // Successors inside this table not yet solved
+        boolean[] canDraw = new boolean[entries]; // Has a move into a drawn solved table
+        IntList edgeFrom = new IntList();
+        IntList edgeTo = new IntList();
+        IntList queue = new IntList();
+
+        // Step 1: moves out of every position
+        for (int entry = 0; entry < entries; entry++) {
+            if (!setUp(signature, entry)) {
+                values[entry] = Tablebase.UNKNOWN;
+                continue;
+            }
+            moves.clear();
+            generator.generateLegal(board, board.getSideToMove(), moves);
+            byte value = Tablebase.LOSS; // Until a move says otherwise; no moves at all is a loss
+            for (int i = 0; i < moves.size() && value != Tablebase.WIN; i++) {
+                board.makeMove(moves, i);
+                int after = successor(signature, entry, edgeFrom, edgeTo);
+                board.unmakeMove();
+                if (after == Tablebase.LOSS) {
+                    value = Tablebase.WIN;
+                } else if (after == PENDING) {
+                    unsolved[entry]++;
+                } else if (after == Tablebase.DRAW) {
+                    canDraw[entry] = true;
+                }
+            }
+            if (value == Tablebase.LOSS && (unsolved[entry] > 0 || canDraw[entry])) {
+                value = PENDING;
+            }
+            values[entry] = value;
+            if (value != PENDING) queue.add(entry);
+        }
+
+        // Step 2: work backwards from the solved positions along reversed moves
+        int[] predecessorStart = new int[entries + 1];
+        for (int e = 0; e < edgeTo.size; e++) predecessorStart[edgeTo.data[e] + 1]++;
+        for (int entry = 0; entry < entries; entry++) predecessorStart[entry + 1] += predecessorStart[entry];
+        int[] predecessors = new int[edgeTo.size];
+        int[] fill = Arrays.copyOf(predecessorStart, entries);
+        for (int e = 0; e < edgeTo.size; e++) predecessors[fill[edgeTo.data[e]]++] = edgeFrom.data[e];
+
+        for (int head = 0; head < queue.size; head++) {
+            int entry = queue.data[head];
+            boolean lost = values[entry] == Tablebase.LOSS;
+            for (int p = predecessorStart[entry]; p < predecessorStart[entry + 1]; p++) {
+                int previous = predecessors[p];
+                if (values[previous] != PENDING) continue;
+                if (lost) {
+                    values[previous] = Tablebase.WIN;
+                    queue.add(previous);
+                } else if (--unsolved[previous] == 0 && !canDraw[previous]) {
+                    values[previous] = Tablebase.LOSS;
+                    queue.add(previous);
+                }
+            }
+        }
+
+        // Step 3: nobody can force anything
+        for (int entry = 0; entry < entries; entry++) {
+            if (values[entry] == PENDING) values[entry] = Tablebase.DRAW;
+        }
+        solved.put(signature, values);
+    }
+
+    // Value of the position just reached for the side now to move, or PENDING for one in the
+    // table being solved (recording the move so it can be walked backwards).
+    private int successor(int signature, int entry, IntList edgeFrom, IntList edgeTo) {
+        long located = Tablebase.locate(board);
+        int after = Tablebase.signatureOf(located);
+        boolean white = Tablebase.count(after, 0) + Tablebase.count(after, 1) > 0;
+        boolean black = Tablebase.count(after, 2) + Tablebase.count(after, 3) > 0;
+        if (!white || !black) {
+            return Tablebase.LOSS; // The mover took the last piece
+        }
+        if (after != signature) {
+            return table(after)[(int) Tablebase.entryOf(located)];
+        }
+        edgeFrom.add(entry);
+        edgeTo.add((int) Tablebase.entryOf(located));
+        return PENDING;
+    }
+
+    // Lays out the position for 'entry', or returns false if no real game can reach it
+    private boolean setUp(int signature, int entry) {
+        int index = entry >>> 1;
+        int used = 0;
+        int slot = 0;
+        for (int group = 0; group < Tablebase.GROUPS; group++) {
+            int previous = -1;
+            for (int k = 0; k < Tablebase.count(signature, group); k++, slot++) {
+                int dark = index >>> (5 * slot) & 31;
+                if (dark <= previous || (used & 1 << dark) != 0) {
+                    return false; // Not the canonical order, or two pieces on one square
+                }
+                boolean serf = group == 0 || group == 2;
+                int row = dark >>> 2;
+                if (serf && row == (group == 0 ? Tablebase.BOARD_SIZE - 1 : 0)) {
+                    return false; // A serf on its far row would already be a king
+                }
+                previous = dark;
+                used |= 1 << dark;
+            }
+        }
+
+        board.clearBoard();
+        slot = 0;
+        for (int group = 0; group < Tablebase.GROUPS; group++) {
+            AbstractPiece.PEICE_TEAM team = group < 2 ? AbstractPiece.PEICE_TEAM.WHITE : AbstractPiece.PEICE_TEAM.BLACK;
+            for (int k = 0; k < Tablebase.count(signature, group); k++, slot++) {
+                int square = Tablebase.squareOf(index >>> (5 * slot) & 31);
+                if (group == 1 || group == 3) {
+                    board.placePiece(new KingPiece(board.positionAt(square), team));
+                } else {
+                    board.placePiece(new SerfPiece(board.positionAt(square), team));
+                }
+            }
+        }
+        board.setSideToMove((entry & 1) == 0 ? AbstractPiece.PEICE_TEAM.WHITE : AbstractPiece.PEICE_TEAM.BLACK);
+        return true;
+    }
+
+    // Growable int array - the move lists run to millions of entries, too many to box
+    private static final class IntList {
+        int[] data = new int[1024];
+        int size;
+
+        void add(int value) {
+            if (size == data.length) data = Arrays.copyOf(data, size * 2);
+            data[size++] = value;
+        }
+    }
+
+    // Usage: TablebaseGenerator <file> [maxPieces]
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: TablebaseGenerator <file> [maxPieces]");
+            return;
+        }
+        Path file = Paths.get(args[0]);
+        int maxPieces = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+
+        long start = System.currentTimeMillis();
+        TablebaseGenerator generator = new TablebaseGenerator(maxPieces);
+        int[] tally = new int[4];
+        for (int signature : signatures(maxPieces)) {
+            generator.solve(signature);
+            for (byte value : generator.table(signature)) tally[value]++;
+        }
+        generator.write(file);
+        System.out.printf("%d-piece tablebase: %,d wins, %,d losses, %,d draws in %d ms, %,d bytes -> %s%n",
+                maxPieces, tally[Tablebase.WIN], tally[Tablebase.LOSS], tally[Tablebase.DRAW],
+                System.currentTimeMillis() - start, Files.size(file), file);
+    }
+}
@@ -0,0 +1,178 @@
+package chkMVC.chModel.Engine;
+
+import chkMVC.chModel.Checkers.Moves.Move;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Fixed-size cache of search results keyed by {@link chkMVC.chModel.Checkers.BoardModel#hash()}.
+ * <p>
+ * Everything lives in one {@code long[]}: no entry objects, no locks. Each entry is two longs -
+ * the packed data and {@code key ^ data}. A reader only accepts an entry if XORing the pair gives
+ * back its key, so an entry torn by two threads writing at once just looks like a miss. That makes
+ * it safe to share one table between any number of searching threads.
+ * <p>
+ * Entries sit in buckets of two: one slot prefers deeper results, the other always takes the
+ * newest. Results from older searches (see {@link #newSearch()}) are replaced first.
+ * <p>
+ * {@link #probe(long)} returns the packed data as a long (0 on a miss) so nothing is allocated;
+ * pull the fields out with {@link #move}, {@link #score}, {@link #depth} and {@link #bound}.
+ */
+public class TranspositionTable {
+
+    // Bound types
+    public static final int BOUND_NONE = 0;
+    public static final int BOUND_EXACT = 1;
+    public static final int BOUND_LOWER = 2; // Score is at least this (fail high)
+    public static final int BOUND_UPPER = 3; // Score is at most this (fail low)
+
+    public static final int MAX_DEPTH = 255;
+
+    // Data layout: move 31 bits | bound 2 | depth 8 | score 16 | generation 7
+    private static final int MOVE_MASK = Integer.MAX_VALUE;
+    private static final int BOUND_SHIFT = 31;
+    private static final int DEPTH_SHIFT = 33;
+    private static final int SCORE_SHIFT = 41;
+    private static final int GENERATION_SHIFT = 57;
+    private static final int GENERATION_MASK = 0x7F;
+
+    private static final int LONGS_PER_ENTRY = 2;
+    private static final int ENTRIES_PER_BUCKET = 2;
+
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final long[] slots;
+    private final int bucketMask;
+    private volatile int generation = 0;
+
+    /**
+     * @param megabytes Rough memory budget. Rounded down to a power-of-two number of buckets.
+     */
+    public TranspositionTable(int megabytes) {
+        if (megabytes <= 0) {
+            throw new IllegalArgumentException("Table size must be positive.");
+        }
+        long bytesPerBucket = (long) Long.BYTES * LONGS_PER_ENTRY * ENTRIES_PER_BUCKET;
+        long buckets = Long.highestOneBit(megabytes * 1024L * 1024L / bytesPerBucket);
+        // Java arrays top out around 2^31 elements
+        buckets = Math.min(buckets, 1L << 28);
+        this.slots = new long[(int) (buckets * LONGS_PER_ENTRY * ENTRIES_PER_BUCKET)];
+        this.bucketMask = (int) buckets - 1;
+    }
+
+    public int capacity() {
+        return slots.length / LONGS_PER_ENTRY;
+    }
+
+    // Call once per search so the previous search's entries are preferred for replacement
+    public void newSearch() {
+        generation = (generation + 1) & GENERATION_MASK;
+    }
+
+    public void clear() {
+        for (int i = 0; i < slots.length; i++) {
+            SLOTS.setOpaque(slots, i, 0L);
+        }
+    }
+
+    /**
+     * @return The packed entry for 'key', or 0 if there is none.
+     */
+    public long probe(long key) {
+        int base = bucketBase(key);
+        for (int e = 0; e < ENTRIES_PER_BUCKET; e++) {
+            int slot = base + e * LONGS_PER_ENTRY;
+            long data = (long) SLOTS.getOpaque(slots, slot);
+            long check = (long) SLOTS.getOpaque(slots, slot + 1);
+            if (data != 0 && (check ^ data) == key) {
+                return data;
+            }
+        }
+        return 0L;
+    }
+
+    /**
+     * @param move A move key (see MoveBuffer.key) or Move.NO_MOVE.
+     */
+    public void store(long key, int depth, int score, int bound, int move) {
+        if (bound == BOUND_NONE) {
+            throw new IllegalArgumentException("Bound type must be set when storing.");
+        }
+        int currentGeneration = generation;
+        long data = (move & MOVE_MASK)
+                | ((long) bound << BOUND_SHIFT)
+                | ((long) Math.min(Math.max(depth, 0), MAX_DEPTH) << DEPTH_SHIFT)
+                | ((long) (score & 0xFFFF) << SCORE_SHIFT)
+                | ((long) currentGeneration << GENERATION_SHIFT);
+
+        int base = bucketBase(key);
+        int deepSlot = base;
+        int newestSlot = base + LONGS_PER_ENTRY;
+
+        // Same position already cached? Update it in place, keeping the old move if we have none
+        for (int slot = deepSlot; slot <= newestSlot; slot += LONGS_PER_ENTRY) {
+            long old = (long) SLOTS.getOpaque(slots, slot);
+            long check = (long) SLOTS.getOpaque(slots, slot + 1);
+            if (old != 0 && (check ^ old) == key) {
+                if (move == Move.NO_MOVE) {
+                    data = (data & ~(long) MOVE_MASK) | (old & MOVE_MASK);
+                }
+                write(slot, key, data);
+                return;
+            }
+        }
+
+        long deep = (long) SLOTS.getOpaque(slots, deepSlot);
+        boolean stale = generation(deep) != currentGeneration;
+        if (deep == 0 || stale || depth >= depth(deep)) {
+            write(deepSlot, key, data);
+        } else {
+            write(newestSlot, key, data);
+        }
+    }
+
+    // Roughly how full the table is, in permille, from a sample of the first buckets
+    public int hashfull() {
+        int sample = Math.min(1000, capacity());
+        int used = 0;
+        for (int i = 0; i < sample; i++) {
+            long data = (long) SLOTS.getOpaque(slots, i * LONGS_PER_ENTRY);
+            if (data != 0 && generation(data) == generation) used++;
+        }
+        return sample == 0 ? 0 : used * 1000 / sample;
+    }
+
+    // --- Field decoders ---
+
+    public static int move(long data) {
+        return (int) (data & MOVE_MASK);
+    }
+
+    public static int bound(long data) {
+        return (int) ((data >>> BOUND_SHIFT) & 0x3);
+    }
+
+    public static int depth(long data) {
+        return (int) ((data >>> DEPTH_SHIFT) & 0xFF);
+    }
+
+    public static int score(long data) {
+        return (short) (data >>> SCORE_SHIFT); // Sign-extends the 16 bits back
+    }
+
+    private static int generation(long data) {
+        return (int) ((data >>> GENERATION_SHIFT) & GENERATION_MASK);
+    }
+
+    private int bucketBase(long key) {
+        // Mix the high bits in so keys that differ only up top still spread out
+        int bucket = (int) (key ^ (key >>> 32)) & bucketMask;
+        return bucket * LONGS_PER_ENTRY * ENTRIES_PER_BUCKET;
+    }
+
+    private void write(int slot, long key, long data) {
+        SLOTS.setOpaque(slots, slot, data);
+        SLOTS.setOpaque(slots, slot + 1, key ^ data);
+    }
+}
@@ -28,4 +28,14 @@ public enum CLIENT_REQUEST_CODES {
     public int getCode() {
         return code;
     }
+
+    private static final CLIENT_REQUEST_CODES[] VALUES = values();
+
+    // The constant sent as 'code' on the wire, or null for a code this version doesn't know
+    public static CLIENT_REQUEST_CODES fromCode(int code) {
+        for (CLIENT_REQUEST_CODES value : VALUES) {
+            if (value.code == code) return value;
+        }
+        return null;
+    }
 }
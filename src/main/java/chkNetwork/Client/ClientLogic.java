@@ -1,9 +1,12 @@
 package chkNetwork.Client;
 
 import chkNetwork.CLIENT_REQUEST_CODES;
+import chkNetwork.Frame;
+import chkNetwork.SERVER_RESPONSE_CODES;
 
 import java.io.*;
 import java.net.*;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -18,13 +21,27 @@ public class ClientLogic {
     private Socket socket;
     private PrintWriter out;
     private BufferedReader in;
+    // Binary protocol (chkNetwork.Frame) instead of lines, asked for in the first line sent
+    private final boolean binary;
+    private DataOutputStream frameOut;
+    private DataInputStream frameIn;
     private ChatView view; // Reference to the GUI
     private final AtomicBoolean isRunning = new AtomicBoolean(false);
     private final ExecutorService networkExecutor = Executors.newSingleThreadExecutor(); // For listener thread
 
     public ClientLogic(String host, int port) {
+        this(host, port, false);
+    }
+
+    // binaryProtocol: talk in length-prefixed frames with numeric codes rather than text lines
+    public ClientLogic(String host, int port, boolean binaryProtocol) {
         this.host = host;
         this.port = port;
+        this.binary = binaryProtocol;
+    }
+
+    public boolean isBinary() {
+        return binary;
     }
 
     // Setter for the View (GUI)
@@ -46,11 +63,19 @@ public class ClientLogic {
 
         try {
             socket = new Socket(host, port);
-            out = new PrintWriter(socket.getOutputStream(), true);
-            in = new BufferedReader(new InputStreamReader(socket.getInputStream()));
+            if (binary) {
+                frameOut = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+                frameIn = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                // The handshake is the one line a binary client sends, then everything is frames
+                frameOut.write((Frame.handshake(this.username) + "\n").getBytes(StandardCharsets.UTF_8));
+                frameOut.flush();
+            } else {
+                out = new PrintWriter(socket.getOutputStream(), true);
+                in = new BufferedReader(new InputStreamReader(socket.getInputStream()));
 
-            // Send username immediately
-            out.println(this.username);
+                // Send username immediately
+                out.println(this.username);
+            }
 
             // Start the listener thread using an ExecutorService
             isRunning.set(true);
@@ -77,26 +102,17 @@ public class ClientLogic {
     // Background task to listen for messages from the server
     private void listenToServer() {
         try {
-            String messageFromServer;
-            while (isRunning.get() && (messageFromServer = in.readLine()) != null) {
-                // Process different types of messages from server
-                // For now, just display everything
-                if (view != null) {
-                    // Ensure GUI updates happen on the Event Dispatch Thread
-                    final String finalMessage = messageFromServer; // Need final variable for lambda
-                    javax.swing.SwingUtilities.invokeLater(() -> view.appendMessage(finalMessage));
-                } else {
-                    System.out.println("Received (no view): " + messageFromServer);
+            if (binary) {
+                Frame frame;
+                while (isRunning.get() && (frame = Frame.read(frameIn)) != null) {
+                    // The code says what it is, no need to look at the text. ERROR only comes for a refused login.
+                    showMessage(frame.getText(), frame.getCode() == SERVER_RESPONSE_CODES.ERROR.getCode());
                 }
-
-                // Example: Check for specific server messages
-                if ("ERROR: Username".equals(messageFromServer.substring(0, Math.min(messageFromServer.length(), 16)))) {
-                    String finalMessageFromServer = messageFromServer;
-                    javax.swing.SwingUtilities.invokeLater(() -> {
-                        view.showErrorMessage("Login Failed", finalMessageFromServer);
-                        disconnect(); // Disconnect if username is invalid/taken
-                        view.closeWindow(); // Maybe close the window too
-                    });
+            } else {
+                String messageFromServer;
+                while (isRunning.get() && (messageFromServer = in.readLine()) != null) {
+                    // Example: Check for specific server messages
+                    showMessage(messageFromServer, "ERROR: Username".equals(messageFromServer.substring(0, Math.min(messageFromServer.length(), 16))));
                 }
             }
         } catch (SocketException e) {
@@ -121,10 +137,55 @@ public class ClientLogic {
         }
     }
 
+    private void showMessage(String messageFromServer, boolean loginFailed) {
+        // Process different types of messages from server
+        // For now, just display everything
+        if (view != null) {
+            // Ensure GUI updates happen on the Event Dispatch Thread
+            final String finalMessage = messageFromServer; // Need final variable for lambda
+            javax.swing.SwingUtilities.invokeLater(() -> view.appendMessage(finalMessage));
+        } else {
+            System.out.println("Received (no view): " + messageFromServer);
+        }
+
+        if (loginFailed) {
+            String finalMessageFromServer = messageFromServer;
+            javax.swing.SwingUtilities.invokeLater(() -> {
+                if (view != null) view.showErrorMessage("Login Failed", finalMessageFromServer);
+                disconnect(); // Disconnect if username is invalid/taken
+                if (view != null) view.closeWindow(); // Maybe close the window too
+            });
+        }
+    }
+
+    // One frame to the server. Synchronized so the GUI and other callers can't interleave frames.
+    private synchronized boolean sendFrame(int code, String text) {
+        DataOutputStream stream = frameOut;
+        if (stream == null) return false;
+        if (text.getBytes(StandardCharsets.UTF_8).length > Frame.MAX_PAYLOAD_BYTES) {
+            // Refused rather than cut short: the user should know their message didn't go out whole
+            if (view != null)
+                javax.swing.SwingUtilities.invokeLater(() -> view.showErrorMessage("Send Error", "Message too long to send."));
+            return false;
+        }
+        try {
+            stream.write(Frame.encodeText(code, text));
+            stream.flush();
+            return true;
+        } catch (IOException e) {
+            System.err.println("Error sending to server: " + e.getMessage());
+            return false;
+        }
+    }
+
     // Send a standard chat message
     public void sendMessage(String message) {
-        if (out != null && isRunning.get() && message != null && !message.trim().isEmpty()) {
-            out.println(message);
+        if ((out != null || frameOut != null) && isRunning.get() && message != null && !message.trim().isEmpty()) {
+            if (binary) {
+                if (!sendFrame(CLIENT_REQUEST_CODES.SEND_CHAT_MESSAGE.getCode(), message)) return; // Keep the text to fix up
+            } else {
+                out.println(message);
+            }
             if (view != null) {
                 javax.swing.SwingUtilities.invokeLater(() -> view.clearInputField());
             }
@@ -136,7 +197,12 @@ public class ClientLogic {
 
     // Send a formatted command (implementation based on your previous request)
     public void sendCommand(CLIENT_REQUEST_CODES request, List<String> args) {
-        if (out != null && isRunning.get()) {
+        if (binary && frameOut != null && isRunning.get()) {
+            // Same arguments, but the request is a code rather than a name to parse
+            String payload = args == null ? "" : String.join(" ", args);
+            System.out.println("Sending command: " + request + " " + payload); // Log command
+            sendFrame(request.getCode(), payload);
+        } else if (out != null && isRunning.get()) {
             StringBuilder commandString = new StringBuilder();
             commandString.append("/").append(request.name()); // Assuming commands start with '/'
             if (args != null && !args.isEmpty()) {
@@ -174,6 +240,8 @@ public class ClientLogic {
             // Nullify resources
             in = null;
             out = null;
+            frameIn = null;
+            frameOut = null;
             socket = null;
             if (view != null) {
                 javax.swing.SwingUtilities.invokeLater(() -> view.setWindowTitle(this.username + "'s Chat Client - Disconnected"));
@@ -0,0 +1,140 @@
+package chkNetwork;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * One message of the binary wire protocol:
+ * <pre>
+ *   int32  payload length (big-endian, not counting this 7-byte header)
+ *   uint16 code - a CLIENT_REQUEST_CODES value from clients, SERVER_RESPONSE_CODES from the server
+ *   uint8  flags
+ *   bytes  payload
+ * </pre>
+ * A client asks for it by sending {@link #HANDSHAKE} and its username as its first line instead
+ * of just the username; both sides speak frames from the next byte on. Clients that send a plain
+ * username keep the line protocol, so old and new clients share a server.
+ */
+public final class Frame {
+
+    public static final String HANDSHAKE = "CHKBIN/1";
+    public static final int HEADER_BYTES = 7;
+    public static final int MAX_PAYLOAD_BYTES = 64 * 1024;
+
+    public static final int FLAG_TEXT = 0x01; // Payload is UTF-8 text
+
+    private final int code;
+    private final int flags;
+    private final byte[] payload;
+
+    public Frame(int code, int flags, byte[] payload) {
+        if (code < 0 || code > 0xFFFF) {
+            throw new IllegalArgumentException("Frame code out of range: " + code);
+        }
+        if (payload.length > MAX_PAYLOAD_BYTES) {
+            throw new IllegalArgumentException("Frame payload too large: " + payload.length + " bytes.");
+        }
+        this.code = code;
+        this.flags = flags & 0xFF;
+        this.payload = payload;
+    }
+
+    public static Frame text(int code, String text) {
+        return new Frame(code, FLAG_TEXT, textPayload(text));
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    public int getFlags() {
+        return flags;
+    }
+
+    public byte[] getPayload() {
+        return payload;
+    }
+
+    public String getText() {
+        return new String(payload, StandardCharsets.UTF_8);
+    }
+
+    // The whole frame, header included, ready to write
+    public byte[] encode() {
+        return encode(code, flags, payload);
+    }
+
+    // Throws IllegalArgumentException for a payload over MAX_PAYLOAD_BYTES - no reader would take it
+    public static byte[] encode(int code, int flags, byte[] payload) {
+        if (payload.length > MAX_PAYLOAD_BYTES) {
+            throw new IllegalArgumentException("Frame payload too large: " + payload.length + " bytes.");
+        }
+        ByteBuffer frame = ByteBuffer.allocate(HEADER_BYTES + payload.length);
+        frame.putInt(payload.length).putShort((short) code).put((byte) flags).put(payload);
+        return frame.array();
+    }
+
+    // Text longer than MAX_PAYLOAD_BYTES is cut short rather than refused (see textPayload)
+    public static byte[] encodeText(int code, String text) {
+        return encode(code, FLAG_TEXT, textPayload(text));
+    }
+
+    // UTF-8 of 'text', cut to at most MAX_PAYLOAD_BYTES on a character boundary
+    public static byte[] textPayload(String text) {
+        byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+        if (utf8.length <= MAX_PAYLOAD_BYTES) {
+            return utf8;
+        }
+        int cut = MAX_PAYLOAD_BYTES;
+        while (cut > 0 && (utf8[cut] & 0xC0) == 0x80) cut--; // Don't split a multi-byte character
+        return Arrays.copyOf(utf8, cut);
+    }
+
+    /**
+     * Reads one frame, blocking.
+     * @return The frame, or null if the stream ended cleanly between frames.
+     * @throws IOException if it ends mid-frame or announces a payload over MAX_PAYLOAD_BYTES.
+     */
+    public static Frame read(DataInputStream in) throws IOException {
+        int length;
+        try {
+            length = in.readInt();
+        } catch (EOFException e) {
+            return null;
+        }
+        checkLength(length);
+        int code = in.readUnsignedShort();
+        int flags = in.readUnsignedByte();
+        byte[] payload = new byte[length];
+        in.readFully(payload);
+        return new Frame(code, flags, payload);
+    }
+
+    static void checkLength(int length) throws IOException {
+        if (length < 0 || length > MAX_PAYLOAD_BYTES) {
+            throw new IOException("Bad frame length " + length + ".");
+        }
+    }
+
+    // The first line a binary client sends
+    public static String handshake(String username) {
+        return HANDSHAKE + " " + username;
+    }
+
+    // The username from a handshake line, or null if 'line' is a plain (text protocol) username
+    public static String handshakeUsername(String line) {
+        if (line.startsWith(HANDSHAKE + " ")) {
+            return line.substring(HANDSHAKE.length() + 1);
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return "Frame{code=" + code + ", flags=" + flags + ", " + payload.length + " bytes}";
+    }
+}
@@ -0,0 +1,51 @@
+package chkNetwork;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Pulls {@link Frame}s out of a byte stream that arrives in arbitrary chunks, for non-blocking
+ * readers. Keeps the unfinished frame between calls; the payload array is allocated once its
+ * length is known, so a frame split over many reads is only copied once.
+ */
+public class FrameDecoder {
+
+    private final byte[] header = new byte[Frame.HEADER_BYTES];
+    private int headerLength;
+    private byte[] payload;
+    private int payloadLength;
+    private int code;
+    private int flags;
+
+    /**
+     * Takes bytes from 'in' until one frame is complete.
+     * @return The frame, or null if 'in' ran out first (the bytes so far are kept).
+     * @throws IOException if a frame announces a payload over Frame.MAX_PAYLOAD_BYTES.
+     */
+    public Frame next(ByteBuffer in) throws IOException {
+        if (payload == null) {
+            int take = Math.min(in.remaining(), Frame.HEADER_BYTES - headerLength);
+            in.get(header, headerLength, take);
+            headerLength += take;
+            if (headerLength < Frame.HEADER_BYTES) {
+                return null;
+            }
+            int length = (header[0] & 0xFF) << 24 | (header[1] & 0xFF) << 16 | (header[2] & 0xFF) << 8 | (header[3] & 0xFF);
+            Frame.checkLength(length);
+            code = (header[4] & 0xFF) << 8 | (header[5] & 0xFF);
+            flags = header[6] & 0xFF;
+            payload = new byte[length];
+            payloadLength = 0;
+        }
+        int take = Math.min(in.remaining(), payload.length - payloadLength);
+        in.get(payload, payloadLength, take);
+        payloadLength += take;
+        if (payloadLength < payload.length) {
+            return null;
+        }
+        Frame frame = new Frame(code, flags, payload);
+        payload = null;
+        headerLength = 0;
+        return frame;
+    }
+}
@@ -40,4 +40,14 @@ public enum SERVER_RESPONSE_CODES {
     public int getCode() {
         return code;
     }
+
+    private static final SERVER_RESPONSE_CODES[] VALUES = values();
+
+    // The constant sent as 'code' on the wire, or null for a code this version doesn't know
+    public static SERVER_RESPONSE_CODES fromCode(int code) {
+        for (SERVER_RESPONSE_CODES value : VALUES) {
+            if (value.code == code) return value;
+        }
+        return null;
+    }
 }
@@ -0,0 +1,40 @@
+package chkNetwork.Server;
+
+import chkNetwork.SERVER_RESPONSE_CODES;
+
+// One connected client as ServerLogic sees it, whether it has its own thread (ClientHandler)
+// or shares a selector with thousands of others (NioClientConnection).
+interface ClientConnection {
+
+    // Null until the client has sent its first line
+    String getUsername();
+
+    // Queue one message for this client's writer; never waits for the socket. Safe to call from any
+    // thread. Text clients get the message as a line; binary clients (Frame protocol) get a frame
+    // with 'code' and the message. If the queue is full its OverflowPolicy decides.
+    default void send(SERVER_RESPONSE_CODES code, String message) {
+        send(new OutboundMessage(code, message));
+    }
+
+    // Same, for a message that may go to many clients: its encoding is shared, not redone per client
+    void send(OutboundMessage message);
+
+    // A general server message
+    default void sendResponse(String message) {
+        send(SERVER_RESPONSE_CODES.NOTIFICATION, message);
+    }
+
+    // Whether this client negotiated binary frames at connect time
+    boolean isBinary();
+
+    // Messages waiting for this client's writer
+    OutboundQueue getOutboundQueue();
+
+    // Disconnect and unregister. Safe to call more than once; only the first call does anything.
+    void closeConnection(String reason);
+
+    // Same, but done on the connection's own thread (reader or event loop) rather than the caller's,
+    // for callers in the middle of a broadcast. Nothing more is sent meanwhile.
+    // Returns false if a close was already asked for.
+    boolean closeLater(String reason);
+}
@@ -0,0 +1,40 @@
+package chkNetwork.Server;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * What runs the blocking ClientHandlers, one task per connected client.
+ * <p>
+ * Both spend nearly all their time parked in readLine. A platform thread reserves its whole stack
+ * for that, so a cached pool runs out of memory long before it runs out of sockets; a virtual
+ * thread's stack lives on the heap and only as deep as it is, so thousands of idle spectators
+ * are cheap. ConnectionLoadTest (in the network tests) measures the difference.
+ */
+public enum ClientExecutor {
+
+    CACHED_POOL,     // Executors.newCachedThreadPool() - a platform thread per client
+    VIRTUAL_THREADS; // Executors.newVirtualThreadPerTaskExecutor() - a virtual thread per client
+
+    ExecutorService create() {
+        switch (this) {
+            case VIRTUAL_THREADS:
+                return Executors.newVirtualThreadPerTaskExecutor();
+            case CACHED_POOL:
+            default:
+                return Executors.newCachedThreadPool();
+        }
+    }
+
+    // Short names for command lines: "cached" or "virtual"
+    public static ClientExecutor named(String name) {
+        switch (name.toLowerCase()) {
+            case "cached":
+                return CACHED_POOL;
+            case "virtual":
+                return VIRTUAL_THREADS;
+            default:
+                throw new IllegalArgumentException("Unknown executor '" + name + "', expected cached or virtual.");
+        }
+    }
+}
@@ -1,62 +1,128 @@
 package chkNetwork.Server;
 
-import java.io.BufferedReader;
+import chkNetwork.CLIENT_REQUEST_CODES;
+import chkNetwork.Frame;
+import chkNetwork.SERVER_RESPONSE_CODES;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.PrintWriter;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.Socket;
 import java.net.SocketException;
-import java.util.Set;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
-class ClientHandler implements Runnable { // Implement Runnable
+class ClientHandler implements Runnable, ClientConnection { // Runnable: one pooled thread per client
 
     private final Socket socket;
     private final ServerLogic serverInstance; // Reference to the parent server
-    private PrintWriter out;
-    private BufferedReader in;
+    // Binary protocol (Frame), if the client's first line was a handshake
+    private volatile boolean binary = false;
+    private DataInputStream frameIn;
+    // Sending only queues; a writer task on the client executor drains the queue to the socket,
+    // one write per already-encoded message. At most one writer runs per client, and only while
+    // there is something to write, so a client that stops reading blocks its own writer and nobody else.
+    private volatile OutputStream out;
+    private final OutboundQueue outbound;
+    private final Executor writerExecutor;
+    private final AtomicBoolean writerScheduled = new AtomicBoolean(false);
+    private final Runnable writer = this::drainOutbound;
+    private volatile Thread readerThread; // The thread running run()
+    private final AtomicReference<String> closeRequested = new AtomicReference<>(); // Reason given to closeLater
     private volatile String username; // Make username volatile as it's set after thread start
     private volatile boolean clientRunning = true;
 
-    public ClientHandler(Socket socket, ServerLogic serverInstance) {
+    public ClientHandler(Socket socket, ServerLogic serverInstance, Executor writerExecutor) {
         this.socket = socket;
         this.serverInstance = serverInstance; // Store the server instance
+        this.writerExecutor = writerExecutor;
+        this.outbound = serverInstance.newOutboundQueue();
     }
 
     public String getUsername() {
         return username;
     }
 
+    public boolean isBinary() {
+        return binary;
+    }
+
+    public OutboundQueue getOutboundQueue() {
+        return outbound;
+    }
+
     // Method to send a message to this specific client
-    public void sendResponse(String message) {
-        if (out != null && clientRunning) { // Check if output stream is ready and running
-            out.println(message);
+    public void send(OutboundMessage message) {
+        if (!clientRunning || closeRequested.get() != null) return;
+        if (!outbound.offer(message)) {
+            serverInstance.disconnectSlowClient(this);
+            return;
+        }
+        if (writerScheduled.compareAndSet(false, true)) {
+            if (Thread.currentThread() == readerThread) {
+                drainOutbound(); // A reply to this client's own request: no need for another thread
+                return;
+            }
+            try {
+                writerExecutor.execute(writer);
+            } catch (RejectedExecutionException e) {
+                writerScheduled.set(false); // Server shutting down
+            }
         }
     }
 
-    // Send the list of currently connected users to this client
-    public void sendUserList() {
-        Set<String> userNames = serverInstance.getConnectedUsernames();
-        // Fix the user list string!
-        StringBuilder clientsList = new StringBuilder("Connected users (");
-        clientsList.append(userNames.size()).append("): "); // Use the actual size
-        clientsList.append(String.join(" ", userNames));
-        sendResponse(clientsList.toString());
+    // The writer: empties the queue, then hands back - checking again so a message queued just as
+    // it finished isn't left waiting for the next send
+    private void drainOutbound() {
+        do {
+            OutboundMessage message;
+            while ((message = outbound.poll()) != null) {
+                OutputStream stream = out;
+                if (stream == null) { // Not logged in yet, or closed
+                    outbound.clear();
+                    break;
+                }
+                try {
+                    message.writeTo(stream, binary);
+                } catch (IOException e) {
+                    // A dead socket shows up on the reading side and closes the connection there
+                    outbound.clear();
+                    break;
+                }
+            }
+            writerScheduled.set(false);
+        } while (!outbound.isEmpty() && writerScheduled.compareAndSet(false, true));
     }
 
 
     @Override
     public void run() {
+        readerThread = Thread.currentThread();
         try {
-            in = new BufferedReader(new InputStreamReader(socket.getInputStream()));
-            out = new PrintWriter(socket.getOutputStream(), true);
+            // Text lines are read byte by byte off this buffer (see readLine), not through a Reader,
+            // so nothing past the first line is decoded before we know the protocol
+            InputStream input = new BufferedInputStream(socket.getInputStream());
 
-            // 1. Get username
+            // 1. Get username, or a binary handshake with the username
             // Add a timeout for username entry?
-            String receivedUsername = in.readLine();
+            String receivedUsername = readLine(input);
             if (receivedUsername == null) {
                 System.out.println("Client disconnected before sending username.");
                 return; // Exit run method
             }
+            String binaryUsername = Frame.handshakeUsername(receivedUsername);
+            if (binaryUsername != null) {
+                frameIn = new DataInputStream(input);
+                binary = true;
+                receivedUsername = binaryUsername;
+            }
+            out = socket.getOutputStream();
             this.username = receivedUsername.trim(); // Set the username for this handler
 
 
@@ -65,22 +131,26 @@ class ClientHandler implements Runnable { // Implement Runnable
 
 
             // 3. Listen for messages from this client
-            String message;
-            while (clientRunning && (message = in.readLine()) != null) {
-                System.out.println(username + ": " + message); // Log server side
-
-                // Process potential commands or broadcast chat
-                // TODO: Add command parsing logic here (e.g., "/move", "/resign")
-                if (message.startsWith("/")) {
-                    handleCommand(message);
-                } else {
-                    // Broadcast chat message
-                    serverInstance.broadcastMessage(username + ": " + message, this);
+            if (binary) {
+                Frame frame;
+                while (clientRunning && (frame = Frame.read(frameIn)) != null) {
+                    CLIENT_REQUEST_CODES request = CLIENT_REQUEST_CODES.fromCode(frame.getCode());
+                    if (request == null) {
+                        send(SERVER_RESPONSE_CODES.INVALID_REQUEST, "SERVER: Unknown request code " + frame.getCode() + ".");
+                    } else {
+                        serverInstance.handleRequest(this, request, frame.getText());
+                    }
+                }
+            } else {
+                String message;
+                while (clientRunning && (message = readLine(input)) != null) {
+                    // Commands and chat are handled the same for every kind of connection
+                    serverInstance.handleMessage(this, message);
                 }
             }
 
         } catch (SocketException e) {
-            if (!clientRunning) {
+            if (!clientRunning || closeRequested.get() != null) {
                 System.out.println("Client socket closed for " + (username != null ? username : "unknown user") + " as requested.");
             } else {
                 System.err.println("SocketException for " + (username != null ? username : "unknown user") + ": " + e.getMessage() + " (Likely client disconnected abruptly)");
@@ -91,21 +161,31 @@ class ClientHandler implements Runnable { // Implement Runnable
                 e.printStackTrace();
             }
         } finally {
-            closeConnection(null); // Ensure cleanup happens
+            closeConnection(closeRequested.get()); // Ensure cleanup happens
         }
         System.out.println("Client handler finished for: " + (username != null ? username : "unknown user"));
     }
 
-    private void handleCommand(String command) {
-        // Basic command handling placeholder
-        System.out.println("Received command from " + username + ": " + command);
-        sendResponse("SERVER: Command '" + command + "' received (not implemented yet).");
-        // Example: if (command.equalsIgnoreCase("/ready")) { serverInstance.markPlayerReady(this); }
+    // The next line as UTF-8, without its terminator, or null if the stream ends first. Lines are
+    // capped at LineDecoder.MAX_LINE_BYTES like on the NIO server; a longer one drops the client.
+    private static String readLine(InputStream input) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream(64);
+        int b;
+        while ((b = input.read()) != '\n') {
+            if (b < 0) return line.size() == 0 ? null : line.toString(StandardCharsets.UTF_8);
+            if (line.size() >= LineDecoder.MAX_LINE_BYTES) throw new IOException("Line longer than " + LineDecoder.MAX_LINE_BYTES + " bytes.");
+            line.write(b);
+        }
+        String text = line.toString(StandardCharsets.UTF_8);
+        return text.endsWith("\r") ? text.substring(0, text.length() - 1) : text;
     }
 
     // Gracefully close connection for this client
     public void closeConnection(String reason) {
-        if (!clientRunning) return; // Already closing/closed
+        if (!clientRunning) { // Already closing/closed
+            closeSocket(); // Cuts short a last flush that is still going (see below), e.g. on server stop
+            return;
+        }
         clientRunning = false; // Signal loops to stop
 
         System.out.println("Closing connection for " + (username != null ? username : "unknown user") + (reason != null ? ". Reason: " + reason : ""));
@@ -113,6 +193,28 @@ class ClientHandler implements Runnable { // Implement Runnable
         // Unregister *before* closing socket if possible
         serverInstance.unregisterClient(this);
 
+        // On the client's own thread (it hung up, or was refused at login), get whatever is still
+        // queued out first - "Username taken" should arrive before the socket closes. Only if no
+        // writer is busy; from other threads we never wait on this client's socket.
+        if (Thread.currentThread() == readerThread && writerScheduled.compareAndSet(false, true)) {
+            drainOutbound();
+        }
+        closeSocket();
+    }
+
+    // Only closes the socket here. That wakes the reader thread (and a writer stuck on the socket),
+    // and the reader does the real close - unregistering and telling everyone - on its way out.
+    public boolean closeLater(String reason) {
+        if (!closeRequested.compareAndSet(null, reason)) return false;
+        try {
+            socket.close();
+        } catch (IOException e) {
+            System.err.println("Error closing socket for " + (username != null ? username : "unknown user") + ": " + e.getMessage());
+        }
+        return true;
+    }
+
+    private void closeSocket() {
         try {
             if (socket != null && !socket.isClosed()) {
                 // Maybe send a final "goodbye" message before closing?
@@ -123,8 +225,8 @@ class ClientHandler implements Runnable { // Implement Runnable
             System.err.println("Error closing socket for " + (username != null ? username : "unknown user") + ": " + e.getMessage());
         } finally {
             // Nullify resources
-            in = null;
             out = null;
+            frameIn = null;
         }
     }
 }
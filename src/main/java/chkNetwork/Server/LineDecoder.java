@@ -0,0 +1,59 @@
+package chkNetwork.Server;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Splits a byte stream into '\n'-terminated UTF-8 lines ("\r\n" works too), keeping whatever is
+ * left of an unfinished line for the next read. Same lines BufferedReader.readLine gives the
+ * blocking handler.
+ * <p>
+ * The partial-line buffer is only allocated once a connection sends something, so an idle
+ * spectator costs nothing here. One per connection, used by its event loop thread only.
+ */
+class LineDecoder {
+
+    static final int MAX_LINE_BYTES = 8192;
+    private static final int INITIAL_BYTES = 128;
+
+    private byte[] line;
+    private int length;
+
+    /**
+     * Takes bytes from 'in' up to and including the next newline.
+     * @return The line without its terminator, or null if 'in' ran out first (the bytes are kept).
+     * @throws IOException if a line is longer than MAX_LINE_BYTES.
+     */
+    String next(ByteBuffer in) throws IOException {
+        while (in.hasRemaining()) {
+            byte b = in.get();
+            if (b == '\n') {
+                int end = length > 0 && line[length - 1] == '\r' ? length - 1 : length;
+                String text = end == 0 ? "" : new String(line, 0, end, StandardCharsets.UTF_8);
+                length = 0;
+                return text;
+            }
+            append(b);
+        }
+        return null;
+    }
+
+    // Bytes of an unfinished line waiting for the rest
+    int pending() {
+        return length;
+    }
+
+    private void append(byte b) throws IOException {
+        if (line == null) {
+            line = new byte[INITIAL_BYTES];
+        } else if (length == line.length) {
+            if (length >= MAX_LINE_BYTES) {
+                throw new IOException("Line longer than " + MAX_LINE_BYTES + " bytes.");
+            }
+            line = Arrays.copyOf(line, Math.min(length * 2, MAX_LINE_BYTES));
+        }
+        line[length++] = b;
+    }
+}
@@ -0,0 +1,194 @@
+package chkNetwork.Server;
+
+import chkNetwork.CLIENT_REQUEST_CODES;
+import chkNetwork.Frame;
+import chkNetwork.FrameDecoder;
+import chkNetwork.SERVER_RESPONSE_CODES;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A client on the {@link NioServer}. Speaks the same protocols as ClientHandler: the first line is
+ * the username, then either lines for ServerLogic.handleMessage or, if that first line was a
+ * {@link Frame} handshake, frames for ServerLogic.handleRequest.
+ * <p>
+ * Reads and writes only happen on the connection's event loop. send can be called from
+ * anywhere - it queues the message (bounded, see {@link OutboundQueue}) and asks the loop for a
+ * flush, and whatever the socket won't take right away waits for OP_WRITE instead of blocking the
+ * caller.
+ */
+class NioClientConnection implements ClientConnection {
+
+    private final SocketChannel channel;
+    private final NioServer.EventLoop loop;
+    private final ServerLogic server;
+    private final LineDecoder decoder = new LineDecoder();
+    private FrameDecoder frames; // Set once the client has asked for binary frames
+    private volatile boolean binary = false;
+    private final OutboundQueue outbound;
+    private ByteBuffer writing; // The message the socket hasn't fully taken yet, loop thread only
+    private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+    private final AtomicBoolean open = new AtomicBoolean(true);
+    private final AtomicBoolean closeRequested = new AtomicBoolean(false); // See closeLater
+    private final Runnable flushTask = this::flushOrClose;
+    private SelectionKey key; // Set on the loop once registered
+    private volatile String username;
+
+    NioClientConnection(SocketChannel channel, NioServer.EventLoop loop, ServerLogic server) {
+        this.channel = channel;
+        this.loop = loop;
+        this.server = server;
+        this.outbound = server.newOutboundQueue();
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public boolean isBinary() {
+        return binary;
+    }
+
+    @Override
+    public OutboundQueue getOutboundQueue() {
+        return outbound;
+    }
+
+    @Override
+    public void send(OutboundMessage message) {
+        if (!open.get() || closeRequested.get()) return;
+        if (!outbound.offer(message)) {
+            server.disconnectSlowClient(this);
+            return;
+        }
+        if (flushScheduled.compareAndSet(false, true)) {
+            loop.execute(flushTask);
+        }
+    }
+
+    @Override
+    public void closeConnection(String reason) {
+        if (!open.compareAndSet(true, false)) return; // Already closing/closed
+        System.out.println("Closing connection for " + (username != null ? username : "unknown user") + (reason != null ? ". Reason: " + reason : ""));
+        server.unregisterClient(this);
+        if (loop.inLoop()) {
+            closeChannel();
+        } else {
+            loop.execute(this::closeChannel);
+        }
+    }
+
+    @Override
+    public boolean closeLater(String reason) {
+        if (!closeRequested.compareAndSet(false, true)) return false;
+        loop.execute(() -> closeConnection(reason));
+        return true;
+    }
+
+    // --- Event loop side ---
+
+    void register() {
+        try {
+            key = channel.register(loop.selector, SelectionKey.OP_READ, this);
+        } catch (ClosedChannelException e) {
+            closeConnection(null);
+        }
+    }
+
+    // Reads what has arrived into the loop's buffer and handles every complete line or frame
+    void read(ByteBuffer buffer) throws IOException {
+        buffer.clear();
+        int read = channel.read(buffer);
+        if (read < 0) {
+            closeConnection(null); // Client hung up
+            return;
+        }
+        buffer.flip();
+        while (open.get()) {
+            if (frames != null) {
+                Frame frame = frames.next(buffer);
+                if (frame == null) break;
+                CLIENT_REQUEST_CODES request = CLIENT_REQUEST_CODES.fromCode(frame.getCode());
+                if (request == null) {
+                    send(SERVER_RESPONSE_CODES.INVALID_REQUEST, "SERVER: Unknown request code " + frame.getCode() + ".");
+                } else {
+                    server.handleRequest(this, request, frame.getText());
+                }
+                continue;
+            }
+            String line = decoder.next(buffer);
+            if (line == null) break;
+            if (username == null) {
+                String binaryUsername = Frame.handshakeUsername(line);
+                if (binaryUsername != null) {
+                    frames = new FrameDecoder(); // The rest of this buffer is already frames
+                    binary = true;
+                    line = binaryUsername;
+                }
+                username = line.trim();
+                server.registerClient(this, username);
+            } else {
+                server.handleMessage(this, line);
+            }
+        }
+    }
+
+    // Writes queued messages until the socket is full, then waits for OP_WRITE to finish the job.
+    // The event loop is this connection's writer: a client that doesn't read only grows its own queue.
+    void flush() throws IOException {
+        flushScheduled.set(false);
+        while (true) {
+            if (writing == null) {
+                OutboundMessage message = outbound.poll();
+                if (message == null) break;
+                writing = message.buffer(binary); // A view of the shared bytes, only the position is ours
+            }
+            channel.write(writing);
+            if (writing.hasRemaining()) {
+                setInterest(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                return;
+            }
+            writing = null;
+        }
+        setInterest(SelectionKey.OP_READ);
+    }
+
+    private void flushOrClose() {
+        if (!channel.isOpen()) return;
+        try {
+            flush();
+        } catch (IOException e) {
+            closeConnection(e.getMessage());
+        }
+    }
+
+    // Last try at getting queued lines out (e.g. "Username taken"), then close
+    private void closeChannel() {
+        try {
+            if (channel.isOpen() && key != null) flush();
+        } catch (IOException e) {
+            // Closing anyway
+        }
+        outbound.clear();
+        writing = null;
+        try {
+            if (key != null) key.cancel();
+            channel.close();
+        } catch (IOException e) {
+            System.err.println("Error closing channel for " + (username != null ? username : "unknown user") + ": " + e.getMessage());
+        }
+    }
+
+    private void setInterest(int ops) {
+        if (key != null && key.isValid() && key.interestOps() != ops) {
+            key.interestOps(ops);
+        }
+    }
+}
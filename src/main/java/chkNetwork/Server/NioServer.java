@@ -0,0 +1,209 @@
+package chkNetwork.Server;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Non-blocking transport for ServerLogic: a fixed set of event loop threads, each with one
+ * Selector, instead of a thread per client. Loop 0 also accepts, handing new connections out
+ * round-robin. Each connection lives on one loop for its whole life, so its reads, line decoding
+ * and socket writes never race.
+ * <p>
+ * Every loop reads into one direct buffer of its own, and connections only allocate once they
+ * have something unfinished to hold (half a line, or output the socket would not take yet), so
+ * tens of thousands of idle spectators cost a channel and a few small objects each.
+ */
+class NioServer {
+
+    static final int READ_BUFFER_BYTES = 64 * 1024;
+
+    private final ServerLogic server;
+    private final int port;
+    private final EventLoop[] loops;
+    private ServerSocketChannel acceptor;
+    private int nextLoop = 0; // Only touched by loop 0
+
+    NioServer(ServerLogic server, int port, int eventLoops) {
+        if (eventLoops < 1) {
+            throw new IllegalArgumentException("Need at least one event loop.");
+        }
+        this.server = server;
+        this.port = port;
+        this.loops = new EventLoop[eventLoops];
+    }
+
+    void start() throws IOException {
+        acceptor = ServerSocketChannel.open();
+        acceptor.bind(new InetSocketAddress(port));
+        acceptor.configureBlocking(false);
+        for (int i = 0; i < loops.length; i++) {
+            loops[i] = new EventLoop(i);
+        }
+        acceptor.register(loops[0].selector, SelectionKey.OP_ACCEPT);
+        for (EventLoop loop : loops) {
+            loop.thread.start();
+        }
+    }
+
+    // Port actually bound, which differs from the one asked for when that was 0
+    int getLocalPort() {
+        return acceptor == null ? port : acceptor.socket().getLocalPort();
+    }
+
+    int getEventLoopCount() {
+        return loops.length;
+    }
+
+    // Stops accepting, lets every loop run what is queued (final messages, closes), then closes what is left
+    void stop() {
+        try {
+            if (acceptor != null) acceptor.close();
+        } catch (IOException e) {
+            System.err.println("Error closing server channel: " + e.getMessage());
+        }
+        for (EventLoop loop : loops) {
+            if (loop != null) loop.shutdown();
+        }
+        for (EventLoop loop : loops) {
+            if (loop == null) continue;
+            try {
+                loop.thread.join(2000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void accept() {
+        SocketChannel channel;
+        try {
+            while ((channel = acceptor.accept()) != null) {
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                System.out.println("Connection received from " + channel.getRemoteAddress());
+                EventLoop loop = loops[nextLoop];
+                nextLoop = (nextLoop + 1) % loops.length;
+                NioClientConnection connection = new NioClientConnection(channel, loop, server);
+                loop.execute(connection::register);
+            }
+        } catch (IOException e) {
+            if (acceptor.isOpen()) {
+                System.err.println("IOException in accept: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * One selector thread. Other threads never touch its channels directly - they hand it
+     * Runnables through {@link #execute}, which it runs between selects.
+     */
+    final class EventLoop implements Runnable {
+
+        final Selector selector;
+        final Thread thread;
+        final ByteBuffer readBuffer = ByteBuffer.allocateDirect(READ_BUFFER_BYTES);
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        private volatile boolean running = true;
+
+        EventLoop(int index) throws IOException {
+            this.selector = Selector.open();
+            this.thread = new Thread(this, "CheckersServer-EventLoop-" + index);
+            this.thread.setDaemon(true);
+        }
+
+        void execute(Runnable task) {
+            if (!running && !thread.isAlive()) {
+                task.run(); // Loop already gone (server stopped), nothing left to race with
+                return;
+            }
+            tasks.add(task);
+            if (Thread.currentThread() != thread) {
+                selector.wakeup();
+            }
+        }
+
+        boolean inLoop() {
+            return Thread.currentThread() == thread;
+        }
+
+        void shutdown() {
+            running = false;
+            selector.wakeup();
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (running) {
+                    if (tasks.isEmpty()) {
+                        selector.select();
+                    } else {
+                        selector.selectNow(); // Work queued by this thread itself, don't block on it
+                    }
+                    runTasks();
+                    Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                    while (keys.hasNext()) {
+                        SelectionKey key = keys.next();
+                        keys.remove();
+                        handle(key);
+                    }
+                }
+                runTasks(); // Goodbyes queued during shutdown
+            } catch (IOException e) {
+                System.err.println("Event loop failed: " + e.getMessage());
+            } finally {
+                for (SelectionKey key : selector.keys()) {
+                    if (key.attachment() instanceof NioClientConnection) {
+                        ((NioClientConnection) key.attachment()).closeConnection("Server shutting down");
+                    }
+                }
+                runTasks();
+                try {
+                    selector.close();
+                } catch (IOException e) {
+                    System.err.println("Error closing selector: " + e.getMessage());
+                }
+            }
+        }
+
+        private void runTasks() {
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    System.err.println("Event loop task failed: " + e);
+                    e.printStackTrace();
+                }
+            }
+        }
+
+        private void handle(SelectionKey key) {
+            if (!key.isValid()) return;
+            if (key.isAcceptable()) {
+                accept();
+                return;
+            }
+            NioClientConnection connection = (NioClientConnection) key.attachment();
+            try {
+                if (key.isReadable()) connection.read(readBuffer);
+                if (key.isValid() && key.isWritable()) connection.flush();
+            } catch (ClosedChannelException e) {
+                connection.closeConnection(null);
+            } catch (IOException e) {
+                connection.closeConnection(e.getMessage());
+            }
+        }
+    }
+}
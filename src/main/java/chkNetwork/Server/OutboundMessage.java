@@ -0,0 +1,60 @@
+package chkNetwork.Server;
+
+import chkNetwork.Frame;
+import chkNetwork.SERVER_RESPONSE_CODES;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * One server message, encoded at most once per protocol no matter how many clients get it: a
+ * broadcast to a thousand text clients builds one line, and every socket writes those same bytes.
+ * Text and binary encodings are built the first time a recipient of that kind asks for them.
+ * <p>
+ * The encoded bytes are never modified after they are built, so any thread may read them.
+ */
+final class OutboundMessage {
+
+    private final SERVER_RESPONSE_CODES code;
+    private final String text;
+    private volatile byte[] line;  // text + '\n', for line protocol clients
+    private volatile byte[] frame; // A Frame, for binary clients
+
+    OutboundMessage(SERVER_RESPONSE_CODES code, String text) {
+        this.code = code;
+        this.text = text;
+    }
+
+    SERVER_RESPONSE_CODES getCode() {
+        return code;
+    }
+
+    String getText() {
+        return text;
+    }
+
+    // The shared encoding for one kind of client. Racing first callers may both encode, which is
+    // harmless - the results are equal and one of them wins.
+    private byte[] bytes(boolean binary) {
+        if (binary) {
+            byte[] encoded = frame;
+            if (encoded == null) frame = encoded = Frame.encodeText(code.getCode(), text);
+            return encoded;
+        }
+        byte[] encoded = line;
+        if (encoded == null) line = encoded = (text + "\n").getBytes(StandardCharsets.UTF_8);
+        return encoded;
+    }
+
+    // A read-only view with its own position, for a non-blocking writer; the bytes are shared
+    ByteBuffer buffer(boolean binary) {
+        return ByteBuffer.wrap(bytes(binary)).asReadOnlyBuffer();
+    }
+
+    // Writes the shared bytes in one call (no per-recipient copy)
+    void writeTo(OutputStream out, boolean binary) throws IOException {
+        out.write(bytes(binary));
+    }
+}
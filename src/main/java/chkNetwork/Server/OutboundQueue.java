@@ -0,0 +1,136 @@
+package chkNetwork.Server;
+
+import chkNetwork.SERVER_RESPONSE_CODES;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The messages waiting to be written to one client. Any thread offers, the connection's writer
+ * polls. Bounded, so a client that stops reading costs at most 'capacity' messages of memory and
+ * never makes the thread that sent to it wait: once full, the {@link OverflowPolicy} decides.
+ */
+final class OutboundQueue {
+
+    private final int capacity;
+    private final OverflowPolicy policy;
+    private final LongAdder dropped; // The server's count, shared by every connection
+    private final ArrayDeque<OutboundMessage> messages = new ArrayDeque<>();
+    private final ReentrantLock lock = new ReentrantLock(); // Short and never held while writing
+    private int peak;
+
+    OutboundQueue(int capacity, OverflowPolicy policy, LongAdder dropped) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Outbound queue capacity must be at least 1.");
+        }
+        this.capacity = capacity;
+        this.policy = policy;
+        this.dropped = dropped;
+    }
+
+    /**
+     * Queues 'message', making room by the policy if the queue is full. Under COALESCE_STATE a
+     * state update also replaces the queued one of its code, full or not, so at most one of each
+     * code ever waits and a lagging client only gets the latest state.
+     * @return false if the policy says the client is too far behind to keep; nothing was queued.
+     */
+    boolean offer(OutboundMessage message) {
+        lock.lock();
+        try {
+            if (policy == OverflowPolicy.COALESCE_STATE && isStateUpdate(message.getCode())) {
+                removeOldest(message.getCode()); // The only one of its code, if any
+                if (messages.size() < capacity) {
+                    add(message); // At the back: it is newer than everything queued
+                    return true;
+                }
+                return dropChatFor(message);
+            }
+            if (messages.size() < capacity) {
+                add(message);
+                return true;
+            }
+            return policy != OverflowPolicy.DISCONNECT && dropChatFor(message);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Makes room by dropping chat: the oldest queued, or 'message' itself if it is chat and none is queued
+    private boolean dropChatFor(OutboundMessage message) {
+        if (removeOldest(SERVER_RESPONSE_CODES.CHAT_MESSAGE)) {
+            add(message);
+            return true;
+        }
+        if (message.getCode() == SERVER_RESPONSE_CODES.CHAT_MESSAGE) {
+            dropped.increment(); // No older chat to drop, so this one goes
+            return true;
+        }
+        return false;
+    }
+
+    // The next message to write, or null if there is none
+    OutboundMessage poll() {
+        lock.lock();
+        try {
+            return messages.poll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean isEmpty() {
+        return size() == 0;
+    }
+
+    // Messages waiting right now
+    int size() {
+        lock.lock();
+        try {
+            return messages.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // The most messages that have ever waited at once
+    int getPeak() {
+        lock.lock();
+        try {
+            return peak;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void clear() {
+        lock.lock();
+        try {
+            messages.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void add(OutboundMessage message) {
+        messages.add(message);
+        if (messages.size() > peak) peak = messages.size();
+    }
+
+    private boolean removeOldest(SERVER_RESPONSE_CODES code) {
+        Iterator<OutboundMessage> it = messages.iterator();
+        while (it.hasNext()) {
+            if (it.next().getCode() == code) {
+                it.remove();
+                dropped.increment();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isStateUpdate(SERVER_RESPONSE_CODES code) {
+        return code == SERVER_RESPONSE_CODES.GAME_STATE_UPDATE || code == SERVER_RESPONSE_CODES.ROUND_UPDATE;
+    }
+}
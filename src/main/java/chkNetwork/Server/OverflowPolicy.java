@@ -0,0 +1,30 @@
+package chkNetwork.Server;
+
+/**
+ * What a client's outbound queue does when it is full, i.e. when the client reads slower than the
+ * server talks. Whatever it does, it does to that client only - the sender has already moved on.
+ * <p>
+ * Chat (CHAT_MESSAGE) is the only thing ever thrown away; replies, moves and roster changes are
+ * kept or the client goes. State updates (GAME_STATE_UPDATE, ROUND_UPDATE) describe the whole
+ * state, so a newer one makes a queued older one of the same code worthless.
+ */
+public enum OverflowPolicy {
+
+    DROP_OLDEST_CHAT, // Drop the oldest queued chat to make room (or the new chat, if none is queued); disconnect if there's no chat to drop
+    COALESCE_STATE,   // A state update always replaces the queued one of its code, full or not; otherwise like DROP_OLDEST_CHAT
+    DISCONNECT;       // Disconnect the client
+
+    // Short names for command lines: "drop-chat", "coalesce" or "disconnect"
+    public static OverflowPolicy named(String name) {
+        switch (name.toLowerCase()) {
+            case "drop-chat":
+                return DROP_OLDEST_CHAT;
+            case "coalesce":
+                return COALESCE_STATE;
+            case "disconnect":
+                return DISCONNECT;
+            default:
+                throw new IllegalArgumentException("Unknown overflow policy '" + name + "', expected drop-chat, coalesce or disconnect.");
+        }
+    }
+}
@@ -1,11 +1,16 @@
 package chkNetwork.Server;
 
+import chkNetwork.CLIENT_REQUEST_CODES;
+import chkNetwork.SERVER_RESPONSE_CODES;
 import java.io.*;
 import java.net.*;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
 
 public class ServerLogic implements Runnable { // Implement Runnable for the main accept loop
 
@@ -13,27 +18,149 @@ public class ServerLogic implements Runnable { // Implement Runnable for the mai
     private ServerSocket serverSocket;
     private volatile boolean isRunning = false; // Flag to control the main loop
     private Thread serverThread; // Thread running the accept loop
-    private final ExecutorService clientExecutor; // To manage client handler threads
+    private ClientExecutor executorStrategy = ClientExecutor.CACHED_POOL;
+    private ExecutorService clientExecutor; // Runs the client handlers, created by start()
+
+    // Concurrent collections rather than synchronized blocks, so handlers on virtual threads
+    // never block while pinned to their carrier thread. Clients are read on every broadcast and
+    // only change on join/leave, so the recipients are a copy-on-write array: iterating it walks an
+    // immutable snapshot without copying or locking anything.
+    private final Set<ClientConnection> clientHandlers = new CopyOnWriteArraySet<>();
+    private final Map<String, ClientConnection> clients = new ConcurrentHashMap<>();
+
+    // Game-specific logic (still needs proper integration). Roles are guarded by gameLock.
+    private final ReentrantLock gameLock = new ReentrantLock();
+    private ClientConnection host = null;
+    private ClientConnection white = null;
+    private ClientConnection black = null;
+    private ServerView view;
 
-    // Instance fields instead of static
-    private final Set<ClientHandler> clientHandlers = Collections.synchronizedSet(new HashSet<>());
-    private final Map<String, ClientHandler> clients = Collections.synchronizedMap(new HashMap<>());
+    // Every client's outbound messages wait in a bounded queue of their own, see OutboundQueue
+    public static final int DEFAULT_OUTBOUND_QUEUE = 1024;
+    private int outboundCapacity = DEFAULT_OUTBOUND_QUEUE;
+    private OverflowPolicy overflowPolicy = OverflowPolicy.COALESCE_STATE;
+    private final LongAdder droppedMessages = new LongAdder();
+    private final LongAdder slowClientDisconnects = new LongAdder();
 
-    // Game-specific logic (still needs proper integration)
-    private ClientHandler host = null;
-    private ClientHandler white = null;
-    private ClientHandler black = null;
-    private ServerView view;
+    // Non-blocking mode: this many selector threads serve every client instead of a thread each (0 = off)
+    private int eventLoops = 0;
+    private NioServer nioServer;
+
+    // No engine seat or tablebase adjudication yet: there is no game protocol to feed them moves.
+    // EnginePlayer (which takes a Tablebase and an OpeningBook) is ready for when there is.
 
     // Setter for the View (GUI)
     public void setView(ServerView view) {
         this.view = view;
     }
 
+    /**
+     * Serve clients from 'eventLoops' selector threads (NioServer) instead of a thread per client.
+     * Same protocol and messages either way. Must be set before start(); 0 switches back to blocking.
+     */
+    public void setNonBlocking(int eventLoops) {
+        if (eventLoops < 0) {
+            throw new IllegalArgumentException("Event loop count must not be negative.");
+        }
+        if (isRunning) {
+            throw new IllegalStateException("Choose the server mode before starting it.");
+        }
+        this.eventLoops = eventLoops;
+    }
+
+    public boolean isNonBlocking() {
+        return eventLoops > 0;
+    }
+
+    // What runs each blocking ClientHandler (ignored in non-blocking mode). Must be set before start().
+    public void setClientExecutor(ClientExecutor executorStrategy) {
+        if (executorStrategy == null) {
+            throw new IllegalArgumentException("Executor strategy cannot be null.");
+        }
+        if (isRunning) {
+            throw new IllegalStateException("Choose the executor before starting the server.");
+        }
+        this.executorStrategy = executorStrategy;
+    }
+
+    public ClientExecutor getClientExecutor() {
+        return executorStrategy;
+    }
+
+    /**
+     * How many messages may wait for each client, and what happens to a client that falls further
+     * behind than that. Must be set before start().
+     */
+    public void setOutboundQueue(int capacity, OverflowPolicy policy) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Outbound queue capacity must be at least 1.");
+        }
+        if (policy == null) {
+            throw new IllegalArgumentException("Overflow policy cannot be null.");
+        }
+        if (isRunning) {
+            throw new IllegalStateException("Choose the outbound queue before starting the server.");
+        }
+        this.outboundCapacity = capacity;
+        this.overflowPolicy = policy;
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    // Messages waiting to be written, per connected user - the slow consumers are the big numbers
+    public Map<String, Integer> getOutboundQueueDepths() {
+        Map<String, Integer> depths = new TreeMap<>();
+        for (ClientConnection handler : clientHandlers) {
+            depths.put(handler.getUsername(), handler.getOutboundQueue().size());
+        }
+        return depths;
+    }
+
+    // The deepest any connected user's queue has been
+    public int getPeakOutboundQueueDepth() {
+        int peak = 0;
+        for (ClientConnection handler : clientHandlers) {
+            peak = Math.max(peak, handler.getOutboundQueue().getPeak());
+        }
+        return peak;
+    }
+
+    // Chat and superseded state updates thrown away by the overflow policy, since start
+    public long getDroppedMessages() {
+        return droppedMessages.sum();
+    }
+
+    // Clients disconnected because their queue was full and the policy couldn't make room
+    public long getSlowClientDisconnects() {
+        return slowClientDisconnects.sum();
+    }
+
+    OutboundQueue newOutboundQueue() {
+        return new OutboundQueue(outboundCapacity, overflowPolicy, droppedMessages);
+    }
+
+    // Called by a connection whose queue refused a message, often from inside a broadcast loop. The
+    // close (and its "has left" broadcast) happens later on the client's own thread. What it had
+    // queued is dropped rather than flushed, so nobody waits on its socket.
+    void disconnectSlowClient(ClientConnection handler) {
+        if (handler.closeLater("Too slow, outbound queue full")) {
+            slowClientDisconnects.increment();
+            handler.getOutboundQueue().clear();
+        }
+    }
+
     public ServerLogic(int port) {
         this.port = port;
-        // Use a thread pool for client handlers for better resource management
-        this.clientExecutor = Executors.newCachedThreadPool();
+    }
+
+    public ServerLogic(int port, ClientExecutor executorStrategy) {
+        this(port);
+        if (executorStrategy == null) {
+            throw new IllegalArgumentException("Executor strategy cannot be null.");
+        }
+        this.executorStrategy = executorStrategy; // Not through the setter, which subclasses could override
     }
 
 
@@ -43,12 +170,20 @@ public class ServerLogic implements Runnable { // Implement Runnable for the mai
             return;
         }
         System.out.println("Starting Checkers server on port " + port + "...");
+        if (eventLoops > 0) {
+            nioServer = new NioServer(this, port, eventLoops);
+            nioServer.start();
+            isRunning = true;
+            System.out.println("Server started successfully (non-blocking, " + eventLoops + " event loops).");
+            return;
+        }
         serverSocket = new ServerSocket(port);
+        clientExecutor = executorStrategy.create();
         isRunning = true;
         // Start the main accept loop in its own thread
         serverThread = new Thread(this, "CheckersServer-AcceptThread");
         serverThread.start();
-        System.out.println("Server started successfully.");
+        System.out.println("Server started successfully (" + executorStrategy + ").");
     }
 
     public void stop() {
@@ -68,34 +203,22 @@ public class ServerLogic implements Runnable { // Implement Runnable for the mai
             System.err.println("Error closing server socket: " + e.getMessage());
         }
 
-        // Gracefully shut down client threads
-        clientExecutor.shutdown(); // Disable new tasks from being submitted
-        try {
-            // Wait a while for existing tasks to terminate
-            if (!clientExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
-                clientExecutor.shutdownNow(); // Cancel currently executing tasks
-                // Wait a while for tasks to respond to being cancelled
-                if (!clientExecutor.awaitTermination(5, TimeUnit.SECONDS))
-                    System.err.println("Client handler pool did not terminate");
-            }
-        } catch (InterruptedException ie) {
-            // (Re-)Cancel if current thread also interrupted
-            clientExecutor.shutdownNow();
-            // Preserve interrupt status
-            Thread.currentThread().interrupt();
-        }
-
-        // Explicitly close remaining client sockets (redundant if shutdownNow worked)
-        // Use a copy to avoid ConcurrentModificationException while iterating and removing
-        synchronized (clientHandlers) {
-            Set<ClientHandler> handlersCopy = new HashSet<>(clientHandlers);
-            for(ClientHandler handler : handlersCopy) {
-                handler.closeConnection("Server shutting down");
-            }
+        // Close client sockets first: that is what wakes handlers blocked in readLine
+        // The iterator is a snapshot, so handlers can unregister themselves while we go
+        for (ClientConnection handler : clientHandlers) {
+            handler.closeConnection("Server shutting down");
         }
         clientHandlers.clear(); // Should be empty now
         clients.clear();
 
+        // Then gracefully shut down client threads
+        if (clientExecutor != null) shutDownClientExecutor();
+
+        if (nioServer != null) {
+            nioServer.stop(); // Flushes the goodbyes queued above, then closes the selectors
+            nioServer = null;
+        }
+
         // Wait for the server thread to die
         try {
             if (serverThread != null && serverThread.isAlive()) {
@@ -109,6 +232,25 @@ public class ServerLogic implements Runnable { // Implement Runnable for the mai
         System.out.println("Server stopped.");
     }
 
+    private void shutDownClientExecutor() {
+        clientExecutor.shutdown(); // Disable new tasks from being submitted
+        try {
+            // Wait a while for existing tasks to terminate
+            if (!clientExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+                clientExecutor.shutdownNow(); // Cancel currently executing tasks
+                // Wait a while for tasks to respond to being cancelled
+                if (!clientExecutor.awaitTermination(5, TimeUnit.SECONDS))
+                    System.err.println("Client handler pool did not terminate");
+            }
+        } catch (InterruptedException ie) {
+            // (Re-)Cancel if current thread also interrupted
+            clientExecutor.shutdownNow();
+            // Preserve interrupt status
+            Thread.currentThread().interrupt();
+        }
+        clientExecutor = null;
+    }
+
     @Override
     public void run() {
         System.out.println("Server accept loop started. Listening for connections...");
@@ -117,7 +259,7 @@ public class ServerLogic implements Runnable { // Implement Runnable for the mai
                 Socket clientSocket = serverSocket.accept(); // Blocking call
                 System.out.println("Connection received from " + clientSocket.getRemoteSocketAddress());
                 // Create and start a handler for the new client
-                ClientHandler handler = new ClientHandler(clientSocket, this); // Pass 'this' server instance
+                ClientHandler handler = new ClientHandler(clientSocket, this, clientExecutor); // Pass 'this' server instance, the executor also runs its writer
                 clientExecutor.submit(handler); // Use executor service
                 // handler.start(); // Old way: starting thread directly
             } catch (SocketException e) {
@@ -141,25 +283,20 @@ public class ServerLogic implements Runnable { // Implement Runnable for the mai
     }
 
 
-    void registerClient(ClientHandler handler, String username) {
+    void registerClient(ClientConnection handler, String username) {
         if (username == null || username.trim().isEmpty()) {
             System.err.println("Attempt to register client with null or empty username.");
             handler.closeConnection("Invalid username provided.");
             return;
         }
-        if (clients.containsKey(username)) {
+        // putIfAbsent claims the name atomically, so two clients racing for it can't both get it
+        if (clients.putIfAbsent(username, handler) != null) {
             System.err.println("Username '" + username + "' is already taken.");
-            handler.sendResponse("ERROR: Username '" + username + "' is already taken. Please reconnect with a different name.");
+            handler.send(SERVER_RESPONSE_CODES.ERROR, "ERROR: Username '" + username + "' is already taken. Please reconnect with a different name.");
             handler.closeConnection("Username taken");
             return;
         }
-
-        synchronized (clients) {
-            clients.put(username, handler);
-        }
-        synchronized (clientHandlers) {
-            clientHandlers.add(handler);
-        }
+        clientHandlers.add(handler);
 
         // Assign roles (basic example, needs more logic)
         assignRoles(handler);
@@ -167,31 +304,31 @@ public class ServerLogic implements Runnable { // Implement Runnable for the mai
         System.out.println(username + " successfully registered.");
 
         // Send current user list to the new client
-        handler.sendUserList();
+        sendUserList(handler);
 
         // Notify others
-        broadcastMessage(username + " has joined the chat!", handler); // Exclude sender
+        broadcastMessage(SERVER_RESPONSE_CODES.PLAYER_JOINED, username + " has joined the chat!", handler); // Exclude sender
     }
 
-    void unregisterClient(ClientHandler handler) {
+    void unregisterClient(ClientConnection handler) {
         String username = handler.getUsername(); // Get username before removing
-        boolean removed = false;
-        synchronized (clientHandlers) {
-            removed = clientHandlers.remove(handler);
-        }
+        boolean removed = clientHandlers.remove(handler);
         if (username != null) {
-            synchronized (clients) {
-                clients.remove(username);
-            }
+            clients.remove(username, handler); // Only if it's ours - a rejected duplicate mustn't evict the original
             // Reset roles if the leaving client held one
-            if (handler == host) host = null;
-            if (handler == white) white = null;
-            if (handler == black) black = null;
-            // Could re-assign roles here if needed
+            gameLock.lock();
+            try {
+                if (handler == host) host = null;
+                if (handler == white) white = null;
+                if (handler == black) black = null;
+                // Could re-assign roles here if needed
+            } finally {
+                gameLock.unlock();
+            }
 
             System.out.println(username + " unregistered.");
             if (removed) { // Only broadcast leave if they were fully registered
-                broadcastMessage(username + " has left the chat.", null); // Send to everyone
+                broadcastMessage(SERVER_RESPONSE_CODES.PLAYER_LEFT, username + " has left the chat.", null); // Send to everyone
             }
         } else {
             System.out.println("An unregistered client disconnected.");
@@ -200,43 +337,102 @@ public class ServerLogic implements Runnable { // Implement Runnable for the mai
 
     }
 
-    void broadcastMessage(String message, ClientHandler sender) {
-        // Use a snapshot to avoid issues if clientHandlers changes during iteration
-        Set<ClientHandler> handlersSnapshot;
-        synchronized (clientHandlers) {
-            handlersSnapshot = new HashSet<>(clientHandlers);
+    // A line from a registered client: commands start with '/', anything else is chat for everyone else
+    void handleMessage(ClientConnection sender, String message) {
+        System.out.println(sender.getUsername() + ": " + message); // Log server side
+        if (message.startsWith("/")) {
+            handleCommand(sender, message);
+        } else {
+            broadcastMessage(SERVER_RESPONSE_CODES.CHAT_MESSAGE, sender.getUsername() + ": " + message, sender);
+        }
+    }
+
+    /**
+     * A frame from a binary client. Does what the equivalent text line does: chat is broadcast,
+     * anything else is the command "/NAME payload".
+     */
+    void handleRequest(ClientConnection sender, CLIENT_REQUEST_CODES request, String payload) {
+        switch (request) {
+            case SEND_CHAT_MESSAGE:
+                System.out.println(sender.getUsername() + ": " + payload); // Log server side
+                broadcastMessage(SERVER_RESPONSE_CODES.CHAT_MESSAGE, sender.getUsername() + ": " + payload, sender);
+                break;
+            case PING:
+                sender.send(SERVER_RESPONSE_CODES.SUCCESS, payload);
+                break;
+            case DISCONNECT:
+                sender.closeConnection("Client disconnected");
+                break;
+            default:
+                handleCommand(sender, "/" + request.name() + (payload.isEmpty() ? "" : " " + payload));
+                break;
         }
+    }
+
+    private void handleCommand(ClientConnection sender, String command) {
+        // Basic command handling placeholder
+        System.out.println("Received command from " + sender.getUsername() + ": " + command);
+        sender.send(SERVER_RESPONSE_CODES.INVALID_REQUEST, "SERVER: Command '" + command + "' received (not implemented yet).");
+        // Example: if (command.equalsIgnoreCase("/ready")) { markPlayerReady(sender); }
+    }
+
+    // Send the list of currently connected users to one client
+    private void sendUserList(ClientConnection handler) {
+        Set<String> userNames = getConnectedUsernames();
+        StringBuilder clientsList = new StringBuilder("Connected users (");
+        clientsList.append(userNames.size()).append("): "); // Use the actual size
+        clientsList.append(String.join(" ", userNames));
+        handler.send(SERVER_RESPONSE_CODES.SUCCESS, clientsList.toString()); // The reply to a successful login
+    }
+
+    void broadcastMessage(String message, ClientConnection sender) {
+        broadcastMessage(SERVER_RESPONSE_CODES.NOTIFICATION, message, sender);
+    }
 
+    // 'code' is what binary clients see with the message; text clients just get the line
+    void broadcastMessage(SERVER_RESPONSE_CODES code, String message, ClientConnection sender) {
         System.out.println("Broadcasting: " + message + (sender != null ? " (from " + sender.getUsername() + ")" : " (from Server)"));
-        view.appendMessage(message);
+        if (view != null) view.appendMessage(message); // Headless servers have no window
 
-        for (ClientHandler handler : handlersSnapshot) {
+        // Encoded once (per protocol in use), every recipient writes the same bytes. send only
+        // queues, so a recipient that has stopped reading costs this loop nothing.
+        OutboundMessage encoded = new OutboundMessage(code, message);
+        for (ClientConnection handler : clientHandlers) { // Copy-on-write: a snapshot, no copy made
             if (handler != sender) {
-                handler.sendResponse(message);
-
+                handler.send(encoded);
             }
         }
     }
 
-    private synchronized void assignRoles(ClientHandler newHandler) {
-        // Simple first-come, first-served assignment
-        if (host == null) {
-            host = newHandler;
-            newHandler.sendResponse("SERVER: You are the host.");
-            System.out.println(newHandler.getUsername() + " assigned as host.");
-        }
+    private void assignRoles(ClientConnection newHandler) {
+        // Decide under the lock, tell the client after - no socket writes while holding it
+        List<String> replies = new ArrayList<>(2);
+        gameLock.lock();
+        try {
+            // Simple first-come, first-served assignment
+            if (host == null) {
+                host = newHandler;
+                replies.add("SERVER: You are the host.");
+                System.out.println(newHandler.getUsername() + " assigned as host.");
+            }
 
-        if (white == null) {
-            white = newHandler;
-            newHandler.sendResponse("SERVER: You are playing as White.");
-            System.out.println(newHandler.getUsername() + " assigned as White.");
-        } else if (black == null) {
-            black = newHandler;
-            newHandler.sendResponse("SERVER: You are playing as Black.");
-            System.out.println(newHandler.getUsername() + " assigned as Black.");
-        } else {
-            newHandler.sendResponse("SERVER: The game is full, you are spectating.");
-            System.out.println(newHandler.getUsername() + " is spectating.");
+            if (white == null) {
+                white = newHandler;
+                replies.add("SERVER: You are playing as White.");
+                System.out.println(newHandler.getUsername() + " assigned as White.");
+            } else if (black == null) {
+                black = newHandler;
+                replies.add("SERVER: You are playing as Black.");
+                System.out.println(newHandler.getUsername() + " assigned as Black.");
+            } else {
+                replies.add("SERVER: The game is full, you are spectating.");
+                System.out.println(newHandler.getUsername() + " is spectating.");
+            }
+        } finally {
+            gameLock.unlock();
+        }
+        for (String reply : replies) {
+            newHandler.sendResponse(reply);
         }
     }
 
@@ -244,14 +440,18 @@ public class ServerLogic implements Runnable { // Implement Runnable for the mai
         return port;
     }
 
+    // Port actually listened on - differs from getPort() when that was 0 (any free port)
+    public int getLocalPort() {
+        if (nioServer != null) return nioServer.getLocalPort();
+        return serverSocket != null ? serverSocket.getLocalPort() : port;
+    }
+
     public boolean isRunning() {
         return isRunning;
     }
 
     public Set<String> getConnectedUsernames() {
-        synchronized (clients) {
-            return new HashSet<>(clients.keySet());
-        }
+        return new HashSet<>(clients.keySet());
     }
 
     // --- Main method (for standalone execution) ---
@@ -259,6 +459,26 @@ public class ServerLogic implements Runnable { // Implement Runnable for the mai
         final int DEFAULT_PORT = 5000;
 
         ServerLogic server = new ServerLogic(DEFAULT_PORT);
+        // Options: --nio [event loops], --executor cached|virtual,
+        // --queue <capacity> [drop-chat|coalesce|disconnect]
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--executor") && i + 1 < args.length) {
+                server.setClientExecutor(ClientExecutor.named(args[++i]));
+            } else if (args[i].equals("--queue") && i + 1 < args.length) {
+                int capacity = Integer.parseInt(args[++i]);
+                OverflowPolicy policy = server.getOverflowPolicy();
+                if (i + 1 < args.length && !args[i + 1].startsWith("--")) {
+                    policy = OverflowPolicy.named(args[++i]);
+                }
+                server.setOutboundQueue(capacity, policy);
+            } else if (args[i].equals("--nio")) {
+                int loops = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+                if (i + 1 < args.length && args[i + 1].matches("\\d+")) {
+                    loops = Integer.parseInt(args[++i]);
+                }
+                server.setNonBlocking(loops);
+            }
+        }
 
         ServerWindow window = new ServerWindow(server);
 
@@ -0,0 +1,119 @@
+package ModelTest;
+
+import chkMVC.chModel.Checkers.BitboardBoardModel;
+import chkMVC.chModel.Checkers.BoardModel;
+import chkMVC.chModel.Checkers.Pieces.AbstractPiece;
+import chkMVC.chModel.Checkers.Pieces.SerfPiece;
+import chkMVC.chModel.Checkers.Position;
+import org.junit.jupiter.api.*;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BitboardBoardModelTest {
+
+    private static BitboardBoardModel gameBoardModel;
+
+    @BeforeAll
+    static void initBoard() {
+        gameBoardModel = new BitboardBoardModel(8);
+    }
+
+    @AfterEach
+    void clearBoardAfterTest() {
+        gameBoardModel.clearBoard();
+        assertEquals(0, gameBoardModel.getNumberOfPieces(), "Board should be empty after clearing.");
+        assertEquals(0L, gameBoardModel.getOccupiedBits(), "No bits should be set after clearing.");
+    }
+
+    @Test
+    void testPlaceAndGetPiece() {
+        Position pos = gameBoardModel.createPosition(3, 3);
+        SerfPiece piece = new SerfPiece(pos, AbstractPiece.PEICE_TEAM.WHITE);
+        gameBoardModel.placePiece(piece);
+
+        assertEquals(1, gameBoardModel.getNumberOfPieces());
+        assertTrue(gameBoardModel.isOccupied(pos), "Position should be occupied after placement.");
+        assertSame(piece, gameBoardModel.getPieceAt(pos), "Should get back the same instance.");
+
+        int square = gameBoardModel.squareOf(pos);
+        assertEquals(18, square, "C3 should be square 18 on an 8 wide board.");
+        assertTrue(gameBoardModel.isOccupied(square));
+        assertSame(piece, gameBoardModel.getPieceAt(square));
+        assertEquals(1L << square, gameBoardModel.getTeamBits(AbstractPiece.PEICE_TEAM.WHITE));
+        assertEquals(0L, gameBoardModel.getTeamBits(AbstractPiece.PEICE_TEAM.BLACK));
+        assertEquals(1L << square, gameBoardModel.getKindBits(AbstractPiece.PIECE_KIND.SERF));
+    }
+
+    @Test
+    void testAddPieceToOccupiedSpot() {
+        Position position = gameBoardModel.createPosition(3, 3);
+        gameBoardModel.placePiece(new SerfPiece(position, AbstractPiece.PEICE_TEAM.WHITE));
+
+        SerfPiece piece2 = new SerfPiece(position, AbstractPiece.PEICE_TEAM.BLACK);
+        IllegalStateException thrown = assertThrows(IllegalStateException.class,
+                () -> gameBoardModel.placePiece(piece2));
+        assertTrue(thrown.getMessage().startsWith("Cannot place piece at " + position));
+        assertEquals(1, gameBoardModel.getNumberOfPieces());
+    }
+
+    @Test
+    void testMoveAndRemovePiece() {
+        Position from = gameBoardModel.createPosition(3, 3);
+        Position to = gameBoardModel.createPosition(4, 4);
+        SerfPiece piece = new SerfPiece(from, AbstractPiece.PEICE_TEAM.BLACK);
+        gameBoardModel.placePiece(piece);
+
+        gameBoardModel.movePiece(from, to);
+        assertFalse(gameBoardModel.isOccupied(from));
+        assertSame(piece, gameBoardModel.getPieceAt(to));
+        assertEquals(to, piece.getPosition(), "Piece should know its new position.");
+        assertEquals(1L << gameBoardModel.squareOf(to), gameBoardModel.getTeamBits(AbstractPiece.PEICE_TEAM.BLACK));
+
+        assertTrue(gameBoardModel.removePiece(to));
+        assertFalse(gameBoardModel.removePiece(to), "Second removal should report nothing removed.");
+        assertEquals(0, gameBoardModel.getNumberOfPieces());
+    }
+
+    @Test
+    void testMatchesMapModel() {
+        // Same setup on both engines should answer every occupancy query the same way
+        BoardModel mapModel = new BoardModel(8);
+        int[][] spots = {{1, 1}, {3, 1}, {2, 2}, {8, 8}, {5, 6}};
+        for (int[] spot : spots) {
+            mapModel.placePiece(new SerfPiece(mapModel.createPosition(spot[0], spot[1]), AbstractPiece.PEICE_TEAM.WHITE));
+            gameBoardModel.placePiece(new SerfPiece(gameBoardModel.createPosition(spot[0], spot[1]), AbstractPiece.PEICE_TEAM.WHITE));
+        }
+
+        for (int square = 0; square < gameBoardModel.getSquareCount(); square++) {
+            assertEquals(mapModel.isOccupied(square), gameBoardModel.isOccupied(square), "Mismatch at square " + square);
+        }
+        assertEquals(mapModel.getNumberOfPieces(), gameBoardModel.getNumberOfPieces());
+    }
+
+    @Test
+    void testSimpleMovesOnBitboard() {
+        // Pieces only see the BoardModel API, so move generation works unchanged
+        SerfPiece piece = new SerfPiece(gameBoardModel.createPosition(3, 3), AbstractPiece.PEICE_TEAM.WHITE);
+        gameBoardModel.placePiece(piece);
+        gameBoardModel.placePiece(new SerfPiece(gameBoardModel.createPosition(4, 4), AbstractPiece.PEICE_TEAM.BLACK));
+
+        List<Position> moves = piece.getValidSimpleMoves(gameBoardModel);
+        assertFalse(moves.contains(gameBoardModel.createPosition(4, 4)), "Occupied square should not be a move.");
+    }
+
+    @Test
+    void testBoardTooLarge() {
+        assertThrows(IllegalArgumentException.class, () -> new BitboardBoardModel(9),
+                "A 9x9 board does not fit in 64 bits.");
+        assertDoesNotThrow(() -> new BitboardBoardModel(16, 4));
+    }
+
+    @Test
+    void testSquareOffBoard() {
+        assertEquals(BoardModel.NO_SQUARE, gameBoardModel.squareOf(0, 1));
+        assertEquals(BoardModel.NO_SQUARE, gameBoardModel.squareOf(9, 1));
+        assertThrows(IllegalArgumentException.class, () -> gameBoardModel.isOccupied(64));
+    }
+}
@@ -0,0 +1,83 @@
+package ModelTest;
+
+import chkMVC.chModel.Checkers.BitboardBoardModel;
+import chkMVC.chModel.Checkers.BoardModel;
+import chkMVC.chModel.Checkers.Pieces.AbstractPiece;
+import chkMVC.chModel.Checkers.Storage.MapBoardStorage;
+import chkMVC.chModel.Checkers.Position;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoardCopyTest {
+
+    private static BoardModel newBoard(boolean bitboard) {
+        BoardModel board = bitboard ? new BitboardBoardModel(8) : new BoardModel(8, 8, new MapBoardStorage());
+        board.setupStartingPosition();
+        return board;
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void testCopyIsIndependent(boolean bitboard) {
+        BoardModel board = newBoard(bitboard);
+        board.switchSideToMove();
+        BoardModel copy = board.copy();
+
+        assertEquals(board.getClass(), copy.getClass());
+        assertEquals(board.hash(), copy.hash());
+        assertEquals(board.getSideToMove(), copy.getSideToMove());
+        assertEquals(board.getNumberOfPieces(), copy.getNumberOfPieces());
+
+        Position c3 = board.createPosition(3, 3);
+        AbstractPiece original = board.getPieceAt(c3);
+        AbstractPiece copied = copy.getPieceAt(c3);
+        assertNotSame(original, copied, "Pieces are copied, not shared.");
+        assertEquals(original.getId(), copied.getId(), "A copied piece keeps its id.");
+
+        copy.movePiece(c3, copy.createPosition(4, 4));
+        assertEquals(c3, original.getPosition(), "Moving on the copy must not move the original's piece.");
+        assertTrue(board.isOccupied(c3));
+        assertNotEquals(board.hash(), copy.hash());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void testSnapshotSharesUntilWritten(boolean bitboard) {
+        BoardModel board = newBoard(bitboard);
+        long startHash = board.hash();
+        Position c3 = board.createPosition(3, 3);
+        Position d4 = board.createPosition(4, 4);
+
+        BoardModel snapshot = board.snapshot();
+        assertSame(board.getPieceAt(c3), snapshot.getPieceAt(c3), "Nothing is copied until a write.");
+
+        // Writing to the original leaves the snapshot as it was
+        board.movePiece(c3, d4);
+        assertFalse(board.isOccupied(c3));
+        assertTrue(snapshot.isOccupied(c3));
+        assertFalse(snapshot.isOccupied(d4));
+        assertEquals(c3, snapshot.getPieceAt(c3).getPosition());
+        assertEquals(startHash, snapshot.hash());
+
+        // And the other way round
+        snapshot.removePiece(c3);
+        assertEquals(23, snapshot.getNumberOfPieces());
+        assertEquals(24, board.getNumberOfPieces());
+        assertEquals(d4, board.getPieceAt(d4).getPosition());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void testClearingSnapshotKeepsOriginal(boolean bitboard) {
+        BoardModel board = newBoard(bitboard);
+        BoardModel snapshot = board.snapshot();
+
+        snapshot.clearBoard();
+
+        assertEquals(0, snapshot.getNumberOfPieces());
+        assertEquals(24, board.getNumberOfPieces());
+        assertEquals(newBoard(bitboard).hash(), board.hash());
+    }
+}
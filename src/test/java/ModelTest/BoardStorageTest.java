@@ -0,0 +1,87 @@
+package ModelTest;
+
+import chkMVC.chModel.Checkers.BoardModel;
+import chkMVC.chModel.Checkers.Moves.Perft;
+import chkMVC.chModel.Checkers.Pieces.AbstractPiece;
+import chkMVC.chModel.Checkers.Pieces.SerfPiece;
+import chkMVC.chModel.Checkers.Position;
+import chkMVC.chModel.Checkers.Storage.ArrayBoardStorage;
+import chkMVC.chModel.Checkers.Storage.BitboardStorage;
+import chkMVC.chModel.Checkers.Storage.BoardStorage;
+import chkMVC.chModel.Checkers.Storage.MapBoardStorage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoardStorageTest {
+
+    @Test
+    void testFactoryPicksBySize() {
+        assertInstanceOf(BitboardStorage.class, BoardStorage.forSize(8, 8));
+        assertInstanceOf(ArrayBoardStorage.class, BoardStorage.forSize(10, 10));
+        assertInstanceOf(ArrayBoardStorage.class, BoardStorage.forSize(100, 100));
+        assertInstanceOf(MapBoardStorage.class, BoardStorage.forSize(1000, 1000));
+        assertThrows(IllegalArgumentException.class, () -> BoardStorage.forSize(0, 8));
+        assertThrows(IllegalArgumentException.class, () -> BoardStorage.named("tree", 64));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"map", "array", "bitboard"})
+    void testStoreAndCollect(String name) {
+        BoardStorage storage = BoardStorage.named(name, 64);
+        SerfPiece white = new SerfPiece(new BoardModel(8).createPosition(1, 1), AbstractPiece.PEICE_TEAM.WHITE);
+        storage.put(40, white);
+        storage.put(3, white);
+        storage.put(17, new SerfPiece(white.getPosition(), AbstractPiece.PEICE_TEAM.BLACK));
+
+        assertEquals(3, storage.size());
+        assertSame(white, storage.get(40));
+        assertTrue(storage.isOccupied(17));
+        assertFalse(storage.isOccupied(18));
+
+        int[] squares = new int[64];
+        assertEquals(2, storage.collectSquares(AbstractPiece.PEICE_TEAM.WHITE, squares));
+        assertArrayEquals(new int[]{3, 40}, Arrays.copyOf(squares, 2), "Squares come back in ascending order.");
+
+        assertSame(white, storage.remove(3));
+        assertNull(storage.remove(3));
+        assertEquals(1, storage.collectSquares(AbstractPiece.PEICE_TEAM.WHITE, squares));
+        assertEquals(40, squares[0]);
+
+        storage.clear();
+        assertEquals(0, storage.size());
+        assertNull(storage.get(40));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"map", "array"})
+    void testPerftAgreesOnEveryBackend(String name) {
+        BoardModel board = new BoardModel(8, 8, BoardStorage.named(name, 64));
+        board.setupStartingPosition();
+        assertEquals(36768, new Perft(board).perft(AbstractPiece.PEICE_TEAM.WHITE, 6));
+    }
+
+    @Test
+    void testLargeCustomBoard() {
+        BoardModel board = new BoardModel(100, 100);
+        Position from = board.createPosition(50, 50);
+        Position to = board.createPosition(51, 51);
+        board.placePiece(new SerfPiece(from, AbstractPiece.PEICE_TEAM.WHITE));
+        board.movePiece(from, to);
+
+        assertFalse(board.isOccupied(from));
+        assertEquals(to, board.getPieceAt(board.squareOf(51, 51)).getPosition());
+        assertEquals(1, board.getNumberOfPieces());
+    }
+
+    @Test
+    void testStorageMustStartEmpty() {
+        BoardStorage storage = new ArrayBoardStorage(64);
+        storage.put(0, new SerfPiece(new BoardModel(8).createPosition(1, 1), AbstractPiece.PEICE_TEAM.WHITE));
+        assertThrows(IllegalArgumentException.class, () -> new BoardModel(8, 8, storage));
+    }
+}
@@ -0,0 +1,174 @@
+package ModelTest;
+
+import chkMVC.chModel.Checkers.BitboardBoardModel;
+import chkMVC.chModel.Checkers.BoardModel;
+import chkMVC.chModel.Checkers.Moves.CaptureSequenceGenerator;
+import chkMVC.chModel.Checkers.Moves.Move;
+import chkMVC.chModel.Checkers.Moves.MoveBuffer;
+import chkMVC.chModel.Checkers.Moves.MoveGenerator;
+import chkMVC.chModel.Checkers.Pieces.AbstractPiece;
+import chkMVC.chModel.Checkers.Pieces.SerfPiece;
+import chkMVC.chModel.Checkers.Position;
+import org.junit.jupiter.api.*;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CaptureSequenceTest {
+
+    private static BoardModel gameBoardModel;
+    private final CaptureSequenceGenerator generator = new CaptureSequenceGenerator();
+    private final MoveBuffer buffer = new MoveBuffer();
+
+    @BeforeAll
+    static void initBoard() {
+        gameBoardModel = new BitboardBoardModel(8);
+    }
+
+    @AfterEach
+    void clearBoardAfterTest() {
+        gameBoardModel.clearBoard();
+        buffer.clear();
+    }
+
+    private void place(BoardModel board, int x, int y, AbstractPiece.PEICE_TEAM team) {
+        board.placePiece(new SerfPiece(board.createPosition(x, y), team));
+    }
+
+    @Test
+    void testSingleJumpIsOneHop() {
+        place(gameBoardModel, 3, 3, AbstractPiece.PEICE_TEAM.WHITE);
+        place(gameBoardModel, 4, 4, AbstractPiece.PEICE_TEAM.BLACK);
+
+        int found = generator.generate(gameBoardModel, gameBoardModel.getPieceAt(gameBoardModel.squareOf(3, 3)), buffer);
+
+        assertEquals(1, found);
+        assertEquals(1, buffer.hopCount(0));
+        assertEquals(gameBoardModel.squareOf(5, 5), buffer.to(0));
+    }
+
+    @Test
+    void testBranchingChains() {
+        // C1 jumps D2 to E3, then either D4 to C5, or F4 to G5 and on over F6 to E7
+        place(gameBoardModel, 3, 1, AbstractPiece.PEICE_TEAM.WHITE);
+        place(gameBoardModel, 4, 2, AbstractPiece.PEICE_TEAM.BLACK);
+        place(gameBoardModel, 4, 4, AbstractPiece.PEICE_TEAM.BLACK);
+        place(gameBoardModel, 6, 4, AbstractPiece.PEICE_TEAM.BLACK);
+        place(gameBoardModel, 6, 6, AbstractPiece.PEICE_TEAM.BLACK);
+
+        AbstractPiece jumper = gameBoardModel.getPieceAt(gameBoardModel.squareOf(3, 1));
+        int found = generator.generate(gameBoardModel, jumper, buffer);
+
+        assertEquals(2, found, "Expected one chain per branch, and no partial chains.");
+        assertEquals(2, buffer.hopCount(0));
+        assertEquals(gameBoardModel.squareOf(3, 5), buffer.to(0));
+        assertEquals(3, buffer.hopCount(1));
+        assertEquals(gameBoardModel.squareOf(5, 7), buffer.to(1));
+
+        // Every hop starts where the previous one landed
+        for (int hop = 1; hop < buffer.hopCount(1); hop++) {
+            assertEquals(Move.to(buffer.hop(1, hop - 1)), Move.from(buffer.hop(1, hop)));
+        }
+
+        // The board is left exactly as it was
+        assertEquals(5, gameBoardModel.getNumberOfPieces());
+        assertEquals(gameBoardModel.createPosition(3, 1), jumper.getPosition());
+
+        List<Position> landings = jumper.getRecursiveValidPositions(gameBoardModel);
+        assertEquals(List.of(gameBoardModel.createPosition(3, 5), gameBoardModel.createPosition(5, 7)), landings);
+    }
+
+    @Test
+    void testNoChainWithoutOpponent() {
+        place(gameBoardModel, 3, 3, AbstractPiece.PEICE_TEAM.WHITE);
+        place(gameBoardModel, 4, 4, AbstractPiece.PEICE_TEAM.WHITE);
+
+        assertEquals(0, generator.generateAll(gameBoardModel, AbstractPiece.PEICE_TEAM.WHITE, buffer));
+        assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    void testGenerateAllCoversEveryPiece() {
+        place(gameBoardModel, 3, 3, AbstractPiece.PEICE_TEAM.WHITE);
+        place(gameBoardModel, 7, 3, AbstractPiece.PEICE_TEAM.WHITE);
+        place(gameBoardModel, 4, 4, AbstractPiece.PEICE_TEAM.BLACK);
+        place(gameBoardModel, 6, 4, AbstractPiece.PEICE_TEAM.BLACK);
+
+        assertEquals(2, generator.generateAll(gameBoardModel, AbstractPiece.PEICE_TEAM.WHITE, buffer));
+        // Black moves down the board, so D4 takes C3 and F4 takes G3
+        buffer.clear();
+        assertEquals(2, generator.generateAll(gameBoardModel, AbstractPiece.PEICE_TEAM.BLACK, buffer));
+        assertEquals(gameBoardModel.squareOf(2, 2), buffer.to(0));
+        assertEquals(gameBoardModel.squareOf(8, 2), buffer.to(1));
+    }
+
+    @Test
+    void testLongChainOnBigBoard() {
+        BoardModel bigBoard = new BoardModel(20, 20);
+        place(bigBoard, 1, 1, AbstractPiece.PEICE_TEAM.WHITE);
+        for (int i = 2; i <= 18; i += 2) {
+            place(bigBoard, i, i, AbstractPiece.PEICE_TEAM.BLACK);
+        }
+
+        int found = generator.generate(bigBoard, bigBoard.getPieceAt(bigBoard.squareOf(1, 1)), buffer);
+
+        assertEquals(1, found);
+        assertEquals(9, buffer.hopCount(0), "Should jump all nine pieces on the diagonal.");
+        assertEquals(bigBoard.squareOf(19, 19), buffer.to(0));
+    }
+
+    @Test
+    void testChainsOnBoardsOverAThousandSquares() {
+        for (int size : new int[]{32, 100}) {
+            BoardModel bigBoard = new BoardModel(size, size);
+            place(bigBoard, 1, 1, AbstractPiece.PEICE_TEAM.WHITE);
+            for (int i = 2; i <= 10; i += 2) {
+                place(bigBoard, i, i, AbstractPiece.PEICE_TEAM.BLACK);
+            }
+            place(bigBoard, 2, 4, AbstractPiece.PEICE_TEAM.BLACK); // Branches off after the first hop
+
+            AbstractPiece piece = bigBoard.getPieceAt(bigBoard.squareOf(1, 1));
+            assertEquals(2, generator.generate(bigBoard, piece, buffer), size + "x" + size);
+            int diagonal = buffer.hopCount(0) == 5 ? 0 : 1;
+            assertEquals(bigBoard.squareOf(11, 11), buffer.to(diagonal));
+            assertEquals(bigBoard.squareOf(10, 10), Move.captured(buffer.hop(diagonal, 4)));
+            assertEquals(bigBoard.squareOf(1, 5), buffer.to(1 - diagonal));
+            assertEquals(bigBoard.squareOf(2, 4), Move.captured(buffer.hop(1 - diagonal, 1)));
+            assertNotEquals(buffer.key(0), buffer.key(1));
+
+            MoveBuffer legal = new MoveBuffer();
+            assertEquals(2, new MoveGenerator().generateLegal(bigBoard, AbstractPiece.PEICE_TEAM.WHITE, legal), "Captures are forced.");
+            assertEquals(2, piece.getRecursiveValidPositions(bigBoard).size());
+            buffer.clear();
+        }
+
+        BoardModel tooBig = new BoardModel(129, 129);
+        assertThrows(IllegalArgumentException.class, () -> Move.checkBoard(tooBig));
+    }
+
+    @Test
+    void testRecursiveValidPositionsOnBoardsTooBigToPack() {
+        BoardModel packed = new BoardModel(100, 100);
+        BoardModel unpacked = new BoardModel(150, 150); // Over Move.MAX_SQUARES
+        for (BoardModel board : new BoardModel[]{packed, unpacked}) {
+            place(board, 1, 1, AbstractPiece.PEICE_TEAM.WHITE);
+            for (int i = 2; i <= 10; i += 2) {
+                place(board, i, i, AbstractPiece.PEICE_TEAM.BLACK);
+            }
+            place(board, 2, 4, AbstractPiece.PEICE_TEAM.BLACK);
+        }
+
+        List<Position> expected = packed.getPieceAt(packed.squareOf(1, 1)).getRecursiveValidPositions(packed);
+        List<Position> landings = unpacked.getPieceAt(unpacked.squareOf(1, 1)).getRecursiveValidPositions(unpacked);
+        assertEquals(2, landings.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getX(), landings.get(i).getX(), "Same chains, in the same order.");
+            assertEquals(expected.get(i).getY(), landings.get(i).getY());
+        }
+
+        BoardModel lone = new BoardModel(150, 150);
+        place(lone, 75, 75, AbstractPiece.PEICE_TEAM.WHITE);
+        assertTrue(lone.getPieceAt(lone.squareOf(75, 75)).getRecursiveValidPositions(lone).isEmpty());
+    }
+}
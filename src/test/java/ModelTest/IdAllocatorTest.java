@@ -0,0 +1,88 @@
+package ModelTest;
+
+import chkGameUtil.IdAllocator;
+import chkGameUtil.IncrementerSingleton;
+import chkMVC.chModel.Checkers.BitboardBoardModel;
+import chkMVC.chModel.Checkers.BoardModel;
+import chkMVC.chModel.Checkers.Pieces.AbstractPiece;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IdAllocatorTest {
+
+    private static final int THREADS = 8;
+
+    @Test
+    void testIdsAreUniqueAcrossThreads() throws Exception {
+        int perThread = IdAllocator.BLOCK_SIZE * 10 + 7; // Cross several block boundaries
+        Set<Integer> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(pool.submit(() -> {
+                    int last = 0;
+                    for (int i = 0; i < perThread; i++) {
+                        int id = IdAllocator.nextId();
+                        assertTrue(id > last, "Ids go up within a thread.");
+                        last = id;
+                        ids.add(id);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) future.get();
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(THREADS * perThread, ids.size(), "Every id handed out should be different.");
+    }
+
+    @Test
+    void testBoardsSetUpConcurrentlyHaveDistinctPieceIds() throws Exception {
+        Set<Integer> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS * 4; t++) {
+                futures.add(pool.submit(() -> {
+                    BoardModel board = new BitboardBoardModel(8);
+                    board.setupStartingPosition();
+                    for (int square = 0; square < board.getSquareCount(); square++) {
+                        AbstractPiece piece = board.getPieceAt(square);
+                        if (piece != null) ids.add(piece.getId());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) future.get();
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(THREADS * 4 * 24, ids.size());
+    }
+
+    @Test
+    void testIncrementerIsThreadSafe() throws Exception {
+        IncrementerSingleton counter = IncrementerSingleton.getInstance();
+        int before = counter.getValue();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) counter.increment();
+                }));
+            }
+            for (Future<?> future : futures) future.get();
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(before + THREADS * 10_000, counter.getValue());
+        assertSame(counter, IncrementerSingleton.getInstance());
+    }
+}
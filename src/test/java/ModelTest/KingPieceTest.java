@@ -0,0 +1,120 @@
+package ModelTest;
+
+import chkMVC.chModel.Checkers.BitboardBoardModel;
+import chkMVC.chModel.Checkers.BoardModel;
+import chkMVC.chModel.Checkers.Moves.Move;
+import chkMVC.chModel.Checkers.Moves.MoveBuffer;
+import chkMVC.chModel.Checkers.Moves.MoveGenerator;
+import chkMVC.chModel.Checkers.Pieces.AbstractPiece;
+import chkMVC.chModel.Checkers.Pieces.KingPiece;
+import chkMVC.chModel.Checkers.Pieces.SerfPiece;
+import chkMVC.chModel.Checkers.Position;
+import org.junit.jupiter.api.*;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class KingPieceTest {
+
+    private static BoardModel gameBoardModel;
+    private final MoveBuffer buffer = new MoveBuffer();
+    private final MoveGenerator generator = new MoveGenerator();
+
+    @BeforeAll
+    static void initBoard() {
+        gameBoardModel = new BitboardBoardModel(8);
+    }
+
+    @AfterEach
+    void clearBoardAfterTest() {
+        gameBoardModel.clearBoard();
+        gameBoardModel.setSideToMove(AbstractPiece.PEICE_TEAM.WHITE);
+        buffer.clear();
+    }
+
+    @Test
+    void testKingMovesEveryWay() {
+        KingPiece king = new KingPiece(gameBoardModel.createPosition(4, 4), AbstractPiece.PEICE_TEAM.BLACK);
+        gameBoardModel.placePiece(king);
+
+        king.generateSimpleMoves(gameBoardModel, buffer);
+        List<Position> listMoves = king.getValidSimpleMoves(gameBoardModel);
+
+        assertEquals(4, buffer.size());
+        assertEquals(listMoves.size(), buffer.size());
+        for (int i = 0; i < buffer.size(); i++) {
+            assertEquals(listMoves.get(i), gameBoardModel.positionAt(Move.to(buffer.get(i))));
+        }
+    }
+
+    @Test
+    void testKingInCornerOnlyHasOneStep() {
+        KingPiece king = new KingPiece(gameBoardModel.createPosition(1, 1), AbstractPiece.PEICE_TEAM.WHITE);
+        gameBoardModel.placePiece(king);
+
+        king.generateSimpleMoves(gameBoardModel, buffer);
+        king.generateJumpMoves(gameBoardModel, buffer);
+
+        assertEquals(1, buffer.size());
+        assertEquals(gameBoardModel.squareOf(2, 2), Move.to(buffer.get(0)));
+    }
+
+    @Test
+    void testKingJumpsBackwards() {
+        KingPiece king = new KingPiece(gameBoardModel.createPosition(5, 5), AbstractPiece.PEICE_TEAM.WHITE);
+        gameBoardModel.placePiece(king);
+        gameBoardModel.placePiece(new SerfPiece(gameBoardModel.createPosition(4, 4), AbstractPiece.PEICE_TEAM.BLACK));
+
+        king.generateJumpMoves(gameBoardModel, buffer);
+
+        assertEquals(1, buffer.size());
+        assertEquals(Move.encodeJump(gameBoardModel.squareOf(5, 5), gameBoardModel.squareOf(3, 3), gameBoardModel.squareOf(4, 4)), buffer.get(0));
+        assertEquals(king.getValidJumpMoves(gameBoardModel), List.of(gameBoardModel.createPosition(3, 3)));
+    }
+
+    @Test
+    void testPromotionAndTakeBack() {
+        SerfPiece serf = new SerfPiece(gameBoardModel.createPosition(2, 7), AbstractPiece.PEICE_TEAM.WHITE);
+        gameBoardModel.placePiece(serf);
+        long hashBefore = gameBoardModel.hash();
+
+        generator.generateLegal(gameBoardModel, AbstractPiece.PEICE_TEAM.WHITE, buffer);
+        gameBoardModel.makeMove(buffer, 0);
+
+        AbstractPiece crowned = gameBoardModel.getPieceAt(gameBoardModel.positionAt(buffer.to(0)));
+        assertEquals(AbstractPiece.PIECE_KIND.KING, crowned.getKind());
+        assertEquals(serf.getId(), crowned.getId(), "Promotion keeps the piece's id.");
+
+        gameBoardModel.unmakeMove();
+        assertSame(serf, gameBoardModel.getPieceAt(gameBoardModel.createPosition(2, 7)));
+        assertEquals(hashBefore, gameBoardModel.hash());
+
+        // Promoting again reuses the same king
+        gameBoardModel.makeMove(buffer, 0);
+        assertSame(crowned, gameBoardModel.getPieceAt(gameBoardModel.positionAt(buffer.to(0))));
+    }
+
+    @Test
+    void testCrowningEndsTheChain() {
+        // A6 jumps B7 to C8 and is crowned; as a king it could go on over D7, but the move ends
+        gameBoardModel.placePiece(new SerfPiece(gameBoardModel.createPosition(1, 6), AbstractPiece.PEICE_TEAM.WHITE));
+        gameBoardModel.placePiece(new SerfPiece(gameBoardModel.createPosition(2, 7), AbstractPiece.PEICE_TEAM.BLACK));
+        gameBoardModel.placePiece(new SerfPiece(gameBoardModel.createPosition(4, 7), AbstractPiece.PEICE_TEAM.BLACK));
+
+        generator.generateLegal(gameBoardModel, AbstractPiece.PEICE_TEAM.WHITE, buffer);
+
+        assertEquals(1, buffer.size());
+        assertEquals(1, buffer.hopCount(0));
+        assertEquals(gameBoardModel.squareOf(3, 8), buffer.to(0));
+    }
+
+    @Test
+    void testKingHashesDifferently() {
+        BoardModel serfBoard = new BitboardBoardModel(8);
+        serfBoard.placePiece(new SerfPiece(serfBoard.createPosition(3, 3), AbstractPiece.PEICE_TEAM.WHITE));
+        gameBoardModel.placePiece(new KingPiece(gameBoardModel.createPosition(3, 3), AbstractPiece.PEICE_TEAM.WHITE));
+
+        assertNotEquals(serfBoard.hash(), gameBoardModel.hash());
+    }
+}
@@ -0,0 +1,105 @@
+package ModelTest;
+
+import chkMVC.chModel.Checkers.BitboardBoardModel;
+import chkMVC.chModel.Checkers.BoardModel;
+import chkMVC.chModel.Checkers.Moves.MoveBuffer;
+import chkMVC.chModel.Checkers.Moves.MoveGenerator;
+import chkMVC.chModel.Checkers.Pieces.AbstractPiece;
+import chkMVC.chModel.Checkers.Pieces.SerfPiece;
+import chkMVC.chModel.Checkers.Position;
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MakeUnmakeTest {
+
+    private BoardModel board;
+    private final MoveGenerator generator = new MoveGenerator();
+    private final MoveBuffer moves = new MoveBuffer();
+
+    @BeforeEach
+    void setUp() {
+        board = new BitboardBoardModel(8);
+    }
+
+    private SerfPiece place(int x, int y, AbstractPiece.PEICE_TEAM team) {
+        SerfPiece piece = new SerfPiece(board.createPosition(x, y), team);
+        board.placePiece(piece);
+        return piece;
+    }
+
+    @Test
+    void testChainCaptureIsRestored() {
+        // C1 jumps D2 and F4 in one move, landing on G5
+        SerfPiece jumper = place(3, 1, AbstractPiece.PEICE_TEAM.WHITE);
+        SerfPiece first = place(4, 2, AbstractPiece.PEICE_TEAM.BLACK);
+        SerfPiece second = place(6, 4, AbstractPiece.PEICE_TEAM.BLACK);
+        long hashBefore = board.hash();
+
+        generator.generateLegal(board, AbstractPiece.PEICE_TEAM.WHITE, moves);
+        assertEquals(1, moves.size());
+        board.makeMove(moves, 0);
+
+        assertEquals(1, board.getNumberOfPieces());
+        assertSame(jumper, board.getPieceAt(board.createPosition(7, 5)));
+        assertEquals(AbstractPiece.PEICE_TEAM.BLACK, board.getSideToMove());
+        assertEquals(1, board.getUndoDepth());
+
+        board.unmakeMove();
+
+        assertEquals(hashBefore, board.hash());
+        assertEquals(AbstractPiece.PEICE_TEAM.WHITE, board.getSideToMove());
+        assertSame(jumper, board.getPieceAt(board.createPosition(3, 1)));
+        assertSame(first, board.getPieceAt(board.createPosition(4, 2)));
+        assertSame(second, board.getPieceAt(board.createPosition(6, 4)));
+        assertEquals(board.createPosition(3, 1), jumper.getPosition());
+        assertEquals(0, board.getUndoDepth());
+    }
+
+    @Test
+    void testTakeBackSeveralMoves() {
+        board.setupStartingPosition();
+        long startHash = board.hash();
+
+        for (int ply = 0; ply < 10; ply++) {
+            moves.clear();
+            generator.generateLegal(board, board.getSideToMove(), moves);
+            board.makeMove(moves, ply % moves.size());
+        }
+        assertEquals(10, board.getUndoDepth());
+        while (board.getUndoDepth() > 0) {
+            board.unmakeMove();
+        }
+
+        BoardModel fresh = new BitboardBoardModel(8);
+        fresh.setupStartingPosition();
+        assertEquals(startHash, board.hash());
+        assertEquals(fresh.hash(), board.hash());
+        assertEquals(24, board.getNumberOfPieces());
+    }
+
+    @Test
+    void testNothingToTakeBack() {
+        assertThrows(IllegalStateException.class, () -> board.unmakeMove());
+    }
+
+    @Test
+    void testUnmakeAfterSnapshotKeepsBoardsApart() {
+        SerfPiece jumper = place(3, 3, AbstractPiece.PEICE_TEAM.WHITE);
+        place(4, 4, AbstractPiece.PEICE_TEAM.BLACK);
+        place(7, 7, AbstractPiece.PEICE_TEAM.BLACK);
+        generator.generateLegal(board, AbstractPiece.PEICE_TEAM.WHITE, moves);
+        board.makeMove(moves, 0);
+
+        BoardModel snapshot = board.snapshot();
+        board.unmakeMove(); // Copies our storage, and the undo stack has to follow
+
+        Position e5 = board.createPosition(5, 5);
+        assertEquals(2, snapshot.getNumberOfPieces());
+        assertEquals(e5, snapshot.getPieceAt(e5).getPosition(), "The snapshot's piece must not be moved back.");
+        assertEquals(3, board.getNumberOfPieces());
+        AbstractPiece restored = board.getPieceAt(board.createPosition(3, 3));
+        assertEquals(jumper.getId(), restored.getId());
+        assertNotSame(snapshot.getPieceAt(e5), restored);
+    }
+}
@@ -0,0 +1,121 @@
+package ModelTest;
+
+import chkMVC.chModel.Checkers.BitboardBoardModel;
+import chkMVC.chModel.Checkers.BoardModel;
+import chkMVC.chModel.Checkers.Moves.Move;
+import chkMVC.chModel.Checkers.Moves.MoveBuffer;
+import chkMVC.chModel.Checkers.Moves.MoveGenerator;
+import chkMVC.chModel.Checkers.Pieces.AbstractPiece;
+import chkMVC.chModel.Checkers.Pieces.SerfPiece;
+import chkMVC.chModel.Engine.MctsEngine;
+import chkMVC.chModel.Engine.SearchResult;
+import chkMVC.chModel.Engine.SelfPlay;
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MctsEngineTest {
+
+    private final MoveGenerator generator = new MoveGenerator();
+    private final MoveBuffer moves = new MoveBuffer();
+    private BoardModel board;
+
+    @BeforeEach
+    void setUp() {
+        board = new BitboardBoardModel(8);
+    }
+
+    private void place(int x, int y, AbstractPiece.PEICE_TEAM team) {
+        board.placePiece(new SerfPiece(board.createPosition(x, y), team));
+    }
+
+    private void play(int moveKey) {
+        moves.clear();
+        generator.generateLegal(board, board.getSideToMove(), moves);
+        int index = moves.indexOfKey(moveKey);
+        assertTrue(index >= 0, "Not a legal move here.");
+        board.makeMove(moves, index);
+    }
+
+    @Test
+    void testCaptureAndNoMoves() {
+        place(3, 3, AbstractPiece.PEICE_TEAM.WHITE);
+        place(4, 4, AbstractPiece.PEICE_TEAM.BLACK);
+        MctsEngine engine = new MctsEngine(1, 1);
+
+        SearchResult result = engine.search(board, 100, 0);
+        assertEquals(Move.encodeJump(board.squareOf(3, 3), board.squareOf(5, 5), board.squareOf(4, 4)), result.getMove());
+
+        board.clearBoard();
+        place(8, 8, AbstractPiece.PEICE_TEAM.WHITE); // Stuck on the last row
+        place(1, 7, AbstractPiece.PEICE_TEAM.BLACK);
+        assertFalse(engine.search(board, 100, 0).hasMove());
+    }
+
+    @Test
+    void testTreeStaysWithinItsBudget() {
+        board.setupStartingPosition();
+        long hashBefore = board.hash();
+        MctsEngine engine = new MctsEngine(1, 1);
+
+        SearchResult result = engine.search(board, 20_000, 0);
+
+        assertTrue(result.hasMove());
+        assertEquals(20_000, result.getNodes());
+        assertTrue(engine.getTreeSize() <= engine.getCapacity());
+        assertTrue(engine.getTreeSize() > engine.getCapacity() / 2, "20,000 leaves should fill a 1 MB tree.");
+        assertEquals(hashBefore, board.hash(), "Search must leave the board as it found it.");
+    }
+
+    @Test
+    void testTreeIsReusedAfterAMoveAndReply() {
+        board.setupStartingPosition();
+        MctsEngine engine = new MctsEngine(4, 1);
+
+        play(engine.search(board, 3000, 0).getMove());
+        play(engine.search(board, 3000, 0).getMove()); // The reply, found from the same tree
+        assertTrue(engine.getReusedNodes() > 0);
+        int reused = engine.getTreeSize();
+
+        play(engine.search(board, 1000, 0).getMove());
+        engine.search(board, 1000, 0);
+        assertTrue(engine.getReusedNodes() > 0 && engine.getReusedNodes() < reused,
+                "Only the subtree under the new position is kept: " + engine.getReusedNodes());
+
+        engine.clear();
+        BoardModel other = new BitboardBoardModel(8);
+        other.setupStartingPosition();
+        engine.search(other, 10, 0);
+        assertEquals(0, engine.getReusedNodes());
+    }
+
+    @Test
+    void testParallelRollouts() {
+        board.setupStartingPosition();
+        long hashBefore = board.hash();
+        try (MctsEngine engine = new MctsEngine(2, 3)) {
+            SearchResult result = engine.search(board, 500, 0);
+
+            assertTrue(result.hasMove());
+            assertEquals(1500, result.getNodes(), "One rollout per thread for every leaf.");
+            assertEquals(hashBefore, board.hash());
+            play(result.getMove());
+        }
+    }
+
+    @Test
+    void testBeatsRandomMoves() {
+        SelfPlay selfPlay = new SelfPlay("mcts:300", "random", 1);
+        SelfPlay.Report report = selfPlay.run(4);
+        assertTrue(report.getWhiteWins() > report.getBlackWins(), report.toString());
+    }
+
+    @Test
+    void testBadArgumentsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new MctsEngine(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new MctsEngine(1, 0));
+        MctsEngine engine = new MctsEngine(1, 1);
+        board.setupStartingPosition();
+        assertThrows(IllegalArgumentException.class, () -> engine.search(board, 0, 0));
+    }
+}
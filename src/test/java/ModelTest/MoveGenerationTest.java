@@ -0,0 +1,118 @@
+package ModelTest;
+
+import chkMVC.chModel.Checkers.BitboardBoardModel;
+import chkMVC.chModel.Checkers.BoardModel;
+import chkMVC.chModel.Checkers.Moves.Move;
+import chkMVC.chModel.Checkers.Moves.MoveBuffer;
+import chkMVC.chModel.Checkers.Pieces.AbstractPiece;
+import chkMVC.chModel.Checkers.Pieces.SerfPiece;
+import chkMVC.chModel.Checkers.Position;
+import org.junit.jupiter.api.*;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MoveGenerationTest {
+
+    private static BoardModel gameBoardModel;
+    private final MoveBuffer buffer = new MoveBuffer();
+
+    @BeforeAll
+    static void initBoard() {
+        gameBoardModel = new BitboardBoardModel(8);
+    }
+
+    @AfterEach
+    void clearBoardAfterTest() {
+        gameBoardModel.clearBoard();
+        buffer.clear();
+    }
+
+    @Test
+    void testMoveEncoding() {
+        int simple = Move.encode(18, 27);
+        assertEquals(18, Move.from(simple));
+        assertEquals(27, Move.to(simple));
+        assertFalse(Move.isJump(simple));
+
+        int jump = Move.encodeJump(18, 36, 27);
+        assertEquals(18, Move.from(jump));
+        assertEquals(36, Move.to(jump));
+        assertEquals(27, Move.captured(jump));
+        assertTrue(Move.isJump(jump));
+        assertEquals("C3xE5", Move.toString(jump, gameBoardModel));
+    }
+
+    @Test
+    void testSimpleMovesMatchListApi() {
+        SerfPiece piece = new SerfPiece(gameBoardModel.createPosition(3, 3), AbstractPiece.PEICE_TEAM.WHITE);
+        gameBoardModel.placePiece(piece);
+        gameBoardModel.placePiece(new SerfPiece(gameBoardModel.createPosition(2, 4), AbstractPiece.PEICE_TEAM.WHITE));
+
+        piece.generateSimpleMoves(gameBoardModel, buffer);
+        List<Position> listMoves = piece.getValidSimpleMoves(gameBoardModel);
+
+        assertEquals(listMoves.size(), buffer.size(), "Both paths should find the same number of moves.");
+        for (int i = 0; i < buffer.size(); i++) {
+            assertEquals(listMoves.get(i), gameBoardModel.positionAt(Move.to(buffer.get(i))));
+        }
+    }
+
+    @Test
+    void testEdgeOfBoardDoesNotThrow() {
+        // A1 only has one forward square and no jumps to the left
+        SerfPiece piece = new SerfPiece(gameBoardModel.createPosition(1, 1), AbstractPiece.PEICE_TEAM.WHITE);
+        gameBoardModel.placePiece(piece);
+
+        assertDoesNotThrow(() -> piece.generateSimpleMoves(gameBoardModel, buffer));
+        assertEquals(1, buffer.size());
+        assertEquals(gameBoardModel.squareOf(2, 2), Move.to(buffer.get(0)));
+
+        buffer.clear();
+        SerfPiece topPiece = new SerfPiece(gameBoardModel.createPosition(8, 8), AbstractPiece.PEICE_TEAM.WHITE);
+        gameBoardModel.placePiece(topPiece);
+        topPiece.generateSimpleMoves(gameBoardModel, buffer);
+        topPiece.generateJumpMoves(gameBoardModel, buffer);
+        assertTrue(buffer.isEmpty(), "White piece on the last row has nowhere to go.");
+    }
+
+    @Test
+    void testJumpOverOpponent() {
+        SerfPiece piece = new SerfPiece(gameBoardModel.createPosition(3, 3), AbstractPiece.PEICE_TEAM.WHITE);
+        gameBoardModel.placePiece(piece);
+        gameBoardModel.placePiece(new SerfPiece(gameBoardModel.createPosition(4, 4), AbstractPiece.PEICE_TEAM.BLACK));
+        gameBoardModel.placePiece(new SerfPiece(gameBoardModel.createPosition(2, 4), AbstractPiece.PEICE_TEAM.WHITE)); // Own piece, no jump
+
+        piece.generateJumpMoves(gameBoardModel, buffer);
+
+        assertEquals(1, buffer.size(), "Only the opponent piece can be jumped.");
+        int jump = buffer.get(0);
+        assertEquals(gameBoardModel.squareOf(5, 5), Move.to(jump));
+        assertEquals(gameBoardModel.squareOf(4, 4), Move.captured(jump));
+        assertEquals(piece.getValidJumpMoves(gameBoardModel).get(0), gameBoardModel.positionAt(Move.to(jump)));
+    }
+
+    @Test
+    void testNoJumpOntoOccupiedSquare() {
+        SerfPiece piece = new SerfPiece(gameBoardModel.createPosition(5, 5), AbstractPiece.PEICE_TEAM.BLACK);
+        gameBoardModel.placePiece(piece);
+        gameBoardModel.placePiece(new SerfPiece(gameBoardModel.createPosition(4, 4), AbstractPiece.PEICE_TEAM.WHITE));
+        gameBoardModel.placePiece(new SerfPiece(gameBoardModel.createPosition(3, 3), AbstractPiece.PEICE_TEAM.WHITE));
+
+        piece.generateJumpMoves(gameBoardModel, buffer);
+        assertTrue(buffer.isEmpty(), "Landing square is taken so the jump is not allowed.");
+    }
+
+    @Test
+    void testWorksOnMapModel() {
+        BoardModel mapModel = new BoardModel(8);
+        SerfPiece piece = new SerfPiece(mapModel.createPosition(5, 5), AbstractPiece.PEICE_TEAM.BLACK);
+        mapModel.placePiece(piece);
+
+        piece.generateSimpleMoves(mapModel, buffer);
+        assertEquals(2, buffer.size());
+        assertTrue(buffer.contains(Move.encode(mapModel.squareOf(5, 5), mapModel.squareOf(4, 4))));
+        assertTrue(buffer.contains(Move.encode(mapModel.squareOf(5, 5), mapModel.squareOf(6, 4))));
+    }
+}
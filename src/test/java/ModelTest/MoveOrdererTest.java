@@ -0,0 +1,102 @@
+package ModelTest;
+
+import chkMVC.chModel.Checkers.BitboardBoardModel;
+import chkMVC.chModel.Checkers.BoardModel;
+import chkMVC.chModel.Checkers.Moves.Move;
+import chkMVC.chModel.Checkers.Moves.MoveBuffer;
+import chkMVC.chModel.Checkers.Moves.MoveGenerator;
+import chkMVC.chModel.Checkers.Pieces.AbstractPiece;
+import chkMVC.chModel.Checkers.Pieces.SerfPiece;
+import chkMVC.chModel.Engine.MoveOrderer;
+import chkMVC.chModel.Engine.ParallelSearch;
+import chkMVC.chModel.Engine.PositionalEvaluator;
+import chkMVC.chModel.Engine.SearchEngine;
+import chkMVC.chModel.Engine.TranspositionTable;
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MoveOrdererTest {
+
+    private BoardModel board;
+    private final MoveGenerator generator = new MoveGenerator();
+    private final MoveBuffer moves = new MoveBuffer();
+
+    @BeforeEach
+    void setUp() {
+        board = new BitboardBoardModel(8);
+    }
+
+    private void place(int x, int y, AbstractPiece.PEICE_TEAM team) {
+        board.placePiece(new SerfPiece(board.createPosition(x, y), team));
+    }
+
+    @Test
+    void testMostCapturesFirst() {
+        // A1 can take B2 and D4 in one go, G1 only takes F2
+        place(1, 1, AbstractPiece.PEICE_TEAM.WHITE);
+        place(2, 2, AbstractPiece.PEICE_TEAM.BLACK);
+        place(4, 4, AbstractPiece.PEICE_TEAM.BLACK);
+        place(7, 1, AbstractPiece.PEICE_TEAM.WHITE);
+        place(6, 2, AbstractPiece.PEICE_TEAM.BLACK);
+        generator.generateLegal(board, AbstractPiece.PEICE_TEAM.WHITE, moves);
+        assertEquals(2, moves.size());
+
+        MoveOrderer orderer = new MoveOrderer();
+        orderer.score(board, moves, Move.NO_MOVE, 0);
+        assertEquals(2, moves.hopCount(orderer.next(0, moves.size())), "The double capture goes first.");
+
+        // Unless the table says otherwise
+        int single = moves.hopCount(0) == 1 ? 0 : 1;
+        orderer.score(board, moves, moves.key(single), 0);
+        assertEquals(single, orderer.next(0, moves.size()));
+    }
+
+    @Test
+    void testKillerIsTriedFirst() {
+        board.setupStartingPosition();
+        generator.generateLegal(board, AbstractPiece.PEICE_TEAM.WHITE, moves);
+        MoveOrderer orderer = new MoveOrderer(true, false);
+
+        int last = moves.size() - 1;
+        orderer.cutoff(board, moves, last, 3, 2, 4);
+        orderer.score(board, moves, Move.NO_MOVE, 2);
+        assertEquals(last, orderer.next(2, moves.size()));
+
+        orderer.score(board, moves, Move.NO_MOVE, 3);
+        assertEquals(0, orderer.next(3, moves.size()), "Killers are per ply.");
+    }
+
+    @Test
+    void testHistoryOrdersQuietMoves() {
+        board.setupStartingPosition();
+        generator.generateLegal(board, AbstractPiece.PEICE_TEAM.WHITE, moves);
+        MoveOrderer orderer = new MoveOrderer(false, true);
+
+        orderer.cutoff(board, moves, 4, 4, 7, 2); // Small bonus
+        orderer.cutoff(board, moves, 5, 5, 9, 6); // Deeper cutoff, bigger bonus, other ply
+        orderer.score(board, moves, Move.NO_MOVE, 1);
+        assertEquals(5, orderer.next(1, moves.size()));
+        assertEquals(4, orderer.next(1, moves.size()));
+        assertEquals(0, orderer.next(1, moves.size()));
+
+        assertEquals(2, orderer.getCutoffs());
+        assertEquals(0, orderer.getFirstMoveCutoffs());
+        assertEquals(4.5, orderer.getAverageCutoffIndex());
+    }
+
+    @Test
+    void testHeuristicsSearchFewerNodes() {
+        BoardModel position = ParallelSearch.benchmarkPositions().get(1);
+        MoveOrderer plain = new MoveOrderer(false, false);
+        MoveOrderer full = new MoveOrderer();
+        long plainNodes = new SearchEngine(position.copy(), new TranspositionTable(4), new PositionalEvaluator(), plain)
+                .search(9, 0).getNodes();
+        long fullNodes = new SearchEngine(position.copy(), new TranspositionTable(4), new PositionalEvaluator(), full)
+                .search(9, 0).getNodes();
+
+        assertTrue(fullNodes < plainNodes, "Killers and history should cut the tree: " + fullNodes + " vs " + plainNodes);
+        assertTrue(full.getCutoffs() > 0);
+        assertTrue(full.getFirstMoveCutoffRate() >= plain.getFirstMoveCutoffRate());
+    }
+}
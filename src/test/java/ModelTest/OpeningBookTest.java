@@ -0,0 +1,127 @@
+package ModelTest;
+
+import chkMVC.chModel.Checkers.BitboardBoardModel;
+import chkMVC.chModel.Checkers.BoardModel;
+import chkMVC.chModel.Checkers.Moves.Move;
+import chkMVC.chModel.Checkers.Moves.MoveBuffer;
+import chkMVC.chModel.Checkers.Moves.MoveGenerator;
+import chkMVC.chModel.Checkers.Pieces.AbstractPiece;
+import chkMVC.chModel.Engine.EnginePlayer;
+import chkMVC.chModel.Engine.OpeningBook;
+import chkMVC.chModel.Engine.OpeningBookBuilder;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OpeningBookTest {
+
+    @TempDir
+    Path dir;
+
+    private final MoveGenerator generator = new MoveGenerator();
+    private final MoveBuffer moves = new MoveBuffer();
+    private BoardModel board;
+
+    @BeforeEach
+    void setUp() {
+        board = new BitboardBoardModel(8);
+        board.setupStartingPosition();
+    }
+
+    // A game record that plays move number 'choice' (mod the number of legal moves) every ply
+    private String record(int choice, int plies, String result) {
+        BoardModel game = new BitboardBoardModel(8);
+        game.setupStartingPosition();
+        StringBuilder record = new StringBuilder();
+        for (int ply = 0; ply < plies; ply++) {
+            moves.clear();
+            generator.generateLegal(game, game.getSideToMove(), moves);
+            int index = choice % moves.size();
+            if (ply % 2 == 0) record.append(ply / 2 + 1).append(". ");
+            record.append(Move.toString(moves, index, game)).append(' ');
+            game.makeMove(moves, index);
+        }
+        return record.append(result).toString();
+    }
+
+    private OpeningBook build(String... records) throws IOException {
+        OpeningBookBuilder builder = new OpeningBookBuilder(8);
+        for (String record : records) builder.addGame(record);
+        Path file = dir.resolve("book.bin");
+        builder.write(file);
+        return OpeningBook.open(file);
+    }
+
+    private void legalMoves() {
+        moves.clear();
+        generator.generateLegal(board, board.getSideToMove(), moves);
+    }
+
+    @Test
+    void testMostPlayedMoveWins() throws IOException {
+        try (OpeningBook book = build(record(0, 10, "*"), record(2, 10, "1-0"), record(2, 6, "1-0"))) {
+            legalMoves();
+            assertEquals(2, book.findMove(board, moves), "Move 2 was played twice, and won.");
+
+            board.makeMove(moves, 2);
+            legalMoves();
+            assertEquals(OpeningBook.NOT_FOUND, book.findMove(board, moves), "Black lost with every reply, so none are in the book.");
+        }
+    }
+
+    @Test
+    void testPickMoveOnlyReturnsBookMoves() throws IOException {
+        try (OpeningBook book = build(record(0, 4, "*"), record(3, 4, "*"))) {
+            legalMoves();
+            boolean[] seen = new boolean[moves.size()];
+            for (int random = 0; random < 100; random++) {
+                int index = book.pickMove(board, moves, random * 7919);
+                assertTrue(index == 0 || index == 3, "Picked " + index);
+                seen[index] = true;
+            }
+            assertTrue(seen[0] && seen[3], "Equal weights should both come up.");
+        }
+    }
+
+    @Test
+    void testLookupOnlyMatchesLegalMoves() throws IOException {
+        try (OpeningBook book = build(record(1, 8, "*"))) {
+            legalMoves();
+            MoveBuffer none = new MoveBuffer();
+            assertEquals(OpeningBook.NOT_FOUND, book.findMove(board, none));
+            assertEquals(OpeningBook.NOT_FOUND, book.pickMove(board, none, 5));
+
+            board.switchSideToMove(); // Same pieces, different hash
+            assertEquals(OpeningBook.NOT_FOUND, book.findMove(board, moves));
+        }
+    }
+
+    @Test
+    void testBadRecordsAreRejected() throws IOException {
+        OpeningBookBuilder builder = new OpeningBookBuilder();
+        assertThrows(IllegalArgumentException.class, () -> builder.addGame("1. C3-D4 A1-H8"));
+        assertEquals(0, builder.getGames());
+
+        Path junk = dir.resolve("junk.bin");
+        Files.write(junk, new byte[48]);
+        assertThrows(IOException.class, () -> OpeningBook.open(junk));
+    }
+
+    @Test
+    void testEnginePlaysFromTheBook() throws IOException {
+        try (OpeningBook book = build(record(5, 8, "1-0"))) {
+            EnginePlayer engine = new EnginePlayer(board, AbstractPiece.PEICE_TEAM.WHITE);
+            engine.setOpeningBook(book);
+            legalMoves();
+            String expected = Move.toString(moves, 5, board);
+
+            assertEquals(expected, engine.takeTurn());
+            assertEquals(0, engine.getLastResult().getDepth(), "Book moves aren't searched.");
+        }
+    }
+}
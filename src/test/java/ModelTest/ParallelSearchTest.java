@@ -0,0 +1,61 @@
+package ModelTest;
+
+import chkMVC.chModel.Checkers.BitboardBoardModel;
+import chkMVC.chModel.Checkers.BoardModel;
+import chkMVC.chModel.Checkers.Moves.Move;
+import chkMVC.chModel.Checkers.Pieces.AbstractPiece;
+import chkMVC.chModel.Checkers.Pieces.SerfPiece;
+import chkMVC.chModel.Engine.ParallelSearch;
+import chkMVC.chModel.Engine.SearchResult;
+import chkMVC.chModel.Engine.TranspositionTable;
+import org.junit.jupiter.api.*;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParallelSearchTest {
+
+    @Test
+    void testFindsSameCaptureAsSingleThread() {
+        BoardModel board = new BitboardBoardModel(8);
+        board.placePiece(new SerfPiece(board.createPosition(3, 3), AbstractPiece.PEICE_TEAM.WHITE));
+        board.placePiece(new SerfPiece(board.createPosition(4, 4), AbstractPiece.PEICE_TEAM.BLACK));
+
+        try (ParallelSearch search = new ParallelSearch(new TranspositionTable(1), 4)) {
+            SearchResult result = search.search(board, 6, 0);
+            assertEquals(Move.encodeJump(board.squareOf(3, 3), board.squareOf(5, 5), board.squareOf(4, 4)), result.getMove());
+            assertTrue(result.isWin());
+        }
+        assertEquals(2, board.getNumberOfPieces(), "The caller's board is never touched.");
+    }
+
+    @Test
+    void testStartingPositionWithThreads() {
+        BoardModel board = new BitboardBoardModel(8);
+        board.setupStartingPosition();
+        long hashBefore = board.hash();
+
+        try (ParallelSearch search = new ParallelSearch(new TranspositionTable(4), 3)) {
+            SearchResult result = search.search(board, 6, 0);
+            assertTrue(result.hasMove());
+            assertEquals(6, result.getDepth());
+        }
+        assertEquals(hashBefore, board.hash());
+    }
+
+    @Test
+    void testBenchmarkPositionsAreFixed() {
+        List<BoardModel> first = ParallelSearch.benchmarkPositions();
+        List<BoardModel> second = ParallelSearch.benchmarkPositions();
+        assertEquals(3, first.size());
+        for (int i = 0; i < first.size(); i++) {
+            assertEquals(first.get(i).hash(), second.get(i).hash());
+        }
+    }
+
+    @Test
+    void testRejectsZeroThreads() {
+        assertThrows(IllegalArgumentException.class, () -> new ParallelSearch(new TranspositionTable(1), 0));
+    }
+}
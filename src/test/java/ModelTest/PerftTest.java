@@ -0,0 +1,64 @@
+package ModelTest;
+
+import chkMVC.chModel.Checkers.BitboardBoardModel;
+import chkMVC.chModel.Checkers.BoardModel;
+import chkMVC.chModel.Checkers.Moves.Perft;
+import chkMVC.chModel.Checkers.Pieces.AbstractPiece;
+import chkMVC.chModel.Checkers.Storage.MapBoardStorage;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PerftTest {
+
+    // Published perft counts for the standard 8x8 starting position
+    private static final long[] EXPECTED = {1, 7, 49, 302, 1469, 7361, 36768};
+    // First depth where kings show up - the count is only right with promotion and king moves
+    private static final long EXPECTED_DEPTH_9 = 3963680;
+
+    private static BoardModel startingBoard(boolean bitboard) {
+        BoardModel board = bitboard ? new BitboardBoardModel(8) : new BoardModel(8, 8, new MapBoardStorage());
+        board.setupStartingPosition();
+        return board;
+    }
+
+    @Test
+    void testStartingPosition() {
+        BoardModel board = startingBoard(true);
+        assertEquals(24, board.getNumberOfPieces(), "12 pieces a side to start.");
+    }
+
+    @Test
+    void testPerftBitboardModel() {
+        Perft perft = new Perft(startingBoard(true));
+        for (int depth = 0; depth < EXPECTED.length; depth++) {
+            assertEquals(EXPECTED[depth], perft.perft(AbstractPiece.PEICE_TEAM.WHITE, depth), "Perft mismatch at depth " + depth);
+        }
+    }
+
+    @Test
+    void testPerftWithKings() {
+        assertEquals(EXPECTED_DEPTH_9, new Perft(startingBoard(true)).perft(AbstractPiece.PEICE_TEAM.WHITE, 9));
+    }
+
+    @Test
+    void testPerftMapModelAgrees() {
+        Perft perft = new Perft(startingBoard(false));
+        for (int depth = 0; depth < 5; depth++) {
+            assertEquals(EXPECTED[depth], perft.perft(AbstractPiece.PEICE_TEAM.BLACK, depth), "Perft mismatch at depth " + depth);
+        }
+    }
+
+    @Test
+    void testDivideSumsToPerft() {
+        BoardModel board = startingBoard(true);
+        Perft perft = new Perft(board);
+
+        Map<String, Long> divide = perft.divide(AbstractPiece.PEICE_TEAM.WHITE, 3);
+        assertEquals(7, divide.size(), "One entry per root move.");
+        assertEquals(EXPECTED[3], divide.values().stream().mapToLong(Long::longValue).sum());
+        assertEquals(24, board.getNumberOfPieces(), "Board should be restored after perft.");
+    }
+}
@@ -2,6 +2,7 @@ package ModelTest;
 
 import chkMVC.chModel.Checkers.BoardModel;
 import chkMVC.chModel.Checkers.Position;
+import chkMVC.chModel.Checkers.PositionTable;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
@@ -50,6 +51,50 @@ public class PositionTest {
         }, "Piece should throw an exception for illegal moves.");
     }
 
+    @Test
+    void testPositionsAreShared()
+    {
+        // Same board size -> same instance, even across boards
+        Position c3 = gameBoardModel.createPosition(3, 3);
+        Assertions.assertSame(c3, gameBoardModel.createPosition(3, 3), "Positions should be interned.");
+        Assertions.assertSame(c3, new BoardModel(8).createPosition(3, 3), "Boards of one size share a table.");
+        Assertions.assertSame(c3, gameBoardModel.positionAt(c3.getSquare()));
+        Assertions.assertSame(gameBoardModel.createPosition(4, 4), c3.getDeltaPosition(1, 1));
+    }
+
+    @Test
+    void testTryDeltaPositionOffBoard()
+    {
+        Position a1 = gameBoardModel.createPosition(1, 1);
+        Assertions.assertNull(a1.tryDeltaPosition(-1, 1), "Off board should give null, not throw.");
+        Assertions.assertEquals(gameBoardModel.createPosition(2, 2), a1.tryDeltaPosition(1, 1));
+        assertThrows(IllegalArgumentException.class, () -> a1.getDeltaPosition(-1, 1));
+
+        // Positions built by hand still work, they just are not shared
+        Position loose = new Position(8, 8, 8, 8);
+        Assertions.assertNull(loose.tryDeltaPosition(1, 1));
+        Assertions.assertEquals(gameBoardModel.createPosition(7, 7), loose.tryDeltaPosition(-1, -1));
+    }
+
+    @Test
+    void testNeighbourTables()
+    {
+        PositionTable table = gameBoardModel.getPositionTable();
+        int c3 = gameBoardModel.squareOf(3, 3);
+
+        Assertions.assertEquals(gameBoardModel.squareOf(2, 4), table.neighbour(c3, PositionTable.UP_LEFT));
+        Assertions.assertEquals(gameBoardModel.squareOf(5, 1), table.jump(c3, PositionTable.DOWN_RIGHT));
+        Assertions.assertEquals(BoardModel.NO_SQUARE, table.jump(gameBoardModel.squareOf(2, 2), PositionTable.DOWN_LEFT));
+        Assertions.assertEquals(BoardModel.NO_SQUARE, table.neighbour(gameBoardModel.squareOf(8, 8), PositionTable.UP_RIGHT));
+    }
+
+    @Test
+    void testInvalidCreatePosition()
+    {
+        assertThrows(IllegalArgumentException.class, () -> gameBoardModel.createPosition(0, 4));
+        assertThrows(IllegalArgumentException.class, () -> gameBoardModel.createPosition(4, 9));
+    }
+
     @AfterAll
     static void breakDown()
     {
@@ -0,0 +1,108 @@
+package ModelTest;
+
+import chkMVC.chModel.Checkers.BitboardBoardModel;
+import chkMVC.chModel.Checkers.BoardModel;
+import chkMVC.chModel.Checkers.Moves.MoveBuffer;
+import chkMVC.chModel.Checkers.Moves.MoveGenerator;
+import chkMVC.chModel.Checkers.Pieces.AbstractPiece;
+import chkMVC.chModel.Checkers.Pieces.SerfPiece;
+import chkMVC.chModel.Engine.PositionalEvaluator;
+import org.junit.jupiter.api.*;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PositionalEvaluatorTest {
+
+    private BoardModel board;
+    private PositionalEvaluator evaluator;
+
+    @BeforeEach
+    void setUp() {
+        board = new BitboardBoardModel(8);
+        evaluator = new PositionalEvaluator();
+    }
+
+    // A fresh evaluator on a copy counts everything from scratch
+    private int fromScratch(BoardModel board) {
+        return new PositionalEvaluator().evaluate(board.copy());
+    }
+
+    @Test
+    void testStartingPositionIsLevel() {
+        board.setupStartingPosition();
+        assertEquals(0, evaluator.evaluate(board), "The start is symmetric.");
+        assertEquals(12 * 100, evaluator.getTerm(PositionalEvaluator.Term.MATERIAL, AbstractPiece.PEICE_TEAM.WHITE));
+        assertEquals(4 * PositionalEvaluator.BACK_RANK_WEIGHT,
+                evaluator.getTerm(PositionalEvaluator.Term.BACK_RANK, AbstractPiece.PEICE_TEAM.BLACK));
+        // Only the front row can step: 4 pieces, 7 free squares between them
+        assertEquals(7 * PositionalEvaluator.MOBILITY_WEIGHT,
+                evaluator.getTerm(PositionalEvaluator.Term.MOBILITY, AbstractPiece.PEICE_TEAM.WHITE));
+    }
+
+    @Test
+    void testIncrementalMatchesFullCountThroughAGame() {
+        board.setupStartingPosition();
+        evaluator.evaluate(board); // Attach
+        MoveGenerator generator = new MoveGenerator();
+        MoveBuffer moves = new MoveBuffer();
+        Random random = new Random(15);
+
+        int played = 0;
+        for (int ply = 0; ply < 150; ply++) {
+            moves.clear();
+            generator.generateLegal(board, board.getSideToMove(), moves);
+            if (moves.isEmpty()) break;
+            board.makeMove(moves, random.nextInt(moves.size()));
+            played++;
+            assertEquals(fromScratch(board), evaluator.evaluate(board), "Drifted at ply " + ply);
+        }
+        // And all the way back again
+        while (played-- > 0) {
+            board.unmakeMove();
+            assertEquals(fromScratch(board), evaluator.evaluate(board));
+        }
+        assertEquals(0, evaluator.evaluate(board));
+    }
+
+    @Test
+    void testScoreIsFromSideToMove() {
+        board.placePiece(new SerfPiece(board.createPosition(3, 3), AbstractPiece.PEICE_TEAM.WHITE));
+        int white = evaluator.evaluate(board);
+        assertTrue(white > 0);
+
+        board.switchSideToMove();
+        assertEquals(-white, evaluator.evaluate(board));
+    }
+
+    @Test
+    void testWeightsAndBreakdown() {
+        board.placePiece(new SerfPiece(board.createPosition(4, 4), AbstractPiece.PEICE_TEAM.WHITE));
+        board.placePiece(new SerfPiece(board.createPosition(8, 8), AbstractPiece.PEICE_TEAM.BLACK));
+        int before = evaluator.evaluate(board);
+
+        evaluator.setWeight(PositionalEvaluator.Term.CENTER, 0);
+        int withoutCenter = evaluator.evaluate(board);
+        assertEquals(before - PositionalEvaluator.CENTER_WEIGHT, withoutCenter, "D4 is the only piece in the center.");
+
+        String breakdown = evaluator.breakdown();
+        assertTrue(breakdown.contains("CENTER: white 0, black 0, diff 0"), breakdown);
+        assertTrue(breakdown.endsWith("TOTAL: " + withoutCenter), breakdown);
+    }
+
+    @Test
+    void testClearAndDetach() {
+        board.setupStartingPosition();
+        evaluator.evaluate(board);
+        board.clearBoard();
+        assertEquals(0, evaluator.getTerm(PositionalEvaluator.Term.MATERIAL, AbstractPiece.PEICE_TEAM.WHITE));
+
+        evaluator.detach();
+        board.setupStartingPosition();
+        assertEquals(0, evaluator.getTerm(PositionalEvaluator.Term.MATERIAL, AbstractPiece.PEICE_TEAM.WHITE),
+                "A detached evaluator stops following the board.");
+        assertEquals(0, evaluator.evaluate(board)); // Re-attaches and counts again
+        assertEquals(1200, evaluator.getTerm(PositionalEvaluator.Term.MATERIAL, AbstractPiece.PEICE_TEAM.WHITE));
+    }
+}
@@ -0,0 +1,97 @@
+package ModelTest;
+
+import chkMVC.chModel.Checkers.BitboardBoardModel;
+import chkMVC.chModel.Checkers.BoardModel;
+import chkMVC.chModel.Checkers.Moves.Move;
+import chkMVC.chModel.Checkers.Pieces.AbstractPiece;
+import chkMVC.chModel.Checkers.Pieces.SerfPiece;
+import chkMVC.chModel.Engine.EnginePlayer;
+import chkMVC.chModel.Engine.MaterialEvaluator;
+import chkMVC.chModel.Engine.SearchEngine;
+import chkMVC.chModel.Engine.SearchResult;
+import chkMVC.chModel.Engine.TranspositionTable;
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SearchEngineTest {
+
+    private BoardModel board;
+    private SearchEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        board = new BitboardBoardModel(8);
+        engine = new SearchEngine(board, new TranspositionTable(1), new MaterialEvaluator());
+    }
+
+    private void place(int x, int y, AbstractPiece.PEICE_TEAM team) {
+        board.placePiece(new SerfPiece(board.createPosition(x, y), team));
+    }
+
+    @Test
+    void testTakesTheLastPiece() {
+        place(3, 3, AbstractPiece.PEICE_TEAM.WHITE);
+        place(4, 4, AbstractPiece.PEICE_TEAM.BLACK);
+        long hashBefore = board.hash();
+
+        SearchResult result = engine.search(6, 0);
+
+        assertEquals(Move.encodeJump(board.squareOf(3, 3), board.squareOf(5, 5), board.squareOf(4, 4)), result.getMove());
+        assertTrue(result.isWin(), "Black has no pieces left after the capture.");
+        assertEquals(hashBefore, board.hash(), "Search must leave the board as it found it.");
+        assertEquals(2, board.getNumberOfPieces());
+    }
+
+    @Test
+    void testStartingPositionSearch() {
+        board.setupStartingPosition();
+        long hashBefore = board.hash();
+
+        SearchResult result = engine.search(5, 0);
+
+        assertTrue(result.hasMove());
+        assertEquals(5, result.getDepth());
+        assertTrue(result.getNodes() > 0);
+        assertEquals(hashBefore, board.hash());
+        assertEquals(AbstractPiece.PEICE_TEAM.WHITE, board.getSideToMove());
+    }
+
+    @Test
+    void testTimeBudgetStillGivesAMove() {
+        board.setupStartingPosition();
+
+        SearchResult result = engine.search(SearchEngine.MAX_PLY, 50);
+
+        assertTrue(result.hasMove());
+        assertTrue(result.getDepth() >= 1);
+        assertTrue(result.getElapsedMillis() < 2000, "Search ran far past its budget: " + result);
+    }
+
+    @Test
+    void testNoMovesIsALoss() {
+        // White's only piece is on the last row and cannot move
+        place(8, 8, AbstractPiece.PEICE_TEAM.WHITE);
+        place(1, 7, AbstractPiece.PEICE_TEAM.BLACK);
+
+        SearchResult result = engine.search(3, 0);
+
+        assertFalse(result.hasMove());
+        assertTrue(result.isLoss());
+    }
+
+    @Test
+    void testEnginePlayerTakesTurn() {
+        board.setupStartingPosition();
+        board.setSideToMove(AbstractPiece.PEICE_TEAM.BLACK);
+        EnginePlayer player = new EnginePlayer(board, AbstractPiece.PEICE_TEAM.BLACK, new TranspositionTable(1));
+        player.setMaxDepth(3);
+
+        String played = player.takeTurn();
+
+        assertNotNull(played);
+        assertEquals(AbstractPiece.PEICE_TEAM.WHITE, board.getSideToMove());
+        assertEquals(3, player.getLastResult().getDepth());
+        assertThrows(IllegalStateException.class, player::takeTurn, "Not Black's turn any more.");
+    }
+}
@@ -0,0 +1,59 @@
+package ModelTest;
+
+import chkMVC.chModel.Engine.OpeningBookBuilder;
+import chkMVC.chModel.Engine.SelfPlay;
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SelfPlayTest {
+
+    @Test
+    void testRandomGamesAddUp() {
+        SelfPlay selfPlay = new SelfPlay("random", "random", 2);
+        SelfPlay.Report report = selfPlay.run(50);
+
+        assertEquals(50, report.getGames());
+        assertEquals(50, report.getWhiteWins() + report.getBlackWins() + report.getDraws());
+        assertTrue(report.getAveragePlies() > 10, "Random games still take a while: " + report.getAveragePlies());
+        assertTrue(report.getAveragePlies() <= SelfPlay.DEFAULT_MAX_PLIES);
+        assertTrue(report.getGamesPerSecond() > 0);
+        assertNull(report.getRecords());
+    }
+
+    @Test
+    void testResultsDoNotDependOnThreads() {
+        SelfPlay one = new SelfPlay("depth:2", "random", 1);
+        SelfPlay three = new SelfPlay("depth:2", "random", 3);
+        one.setKeepRecords(true);
+        three.setKeepRecords(true);
+
+        SelfPlay.Report a = one.run(12);
+        SelfPlay.Report b = three.run(12);
+        assertArrayEquals(a.getRecords(), b.getRecords());
+        assertEquals(a.getPlies(), b.getPlies());
+        assertTrue(a.getWhiteWins() > a.getBlackWins(), "A depth-2 search should beat random moves.");
+    }
+
+    @Test
+    void testRecordsFeedTheBookBuilder() {
+        SelfPlay selfPlay = new SelfPlay("random", "depth:1", 2);
+        selfPlay.setKeepRecords(true);
+        selfPlay.setMaxPlies(30);
+        String[] records = selfPlay.run(10).getRecords();
+
+        OpeningBookBuilder builder = new OpeningBookBuilder();
+        for (String record : records) {
+            assertTrue(record.startsWith("1. "), record);
+            builder.addGame(record);
+        }
+        assertEquals(10, builder.getGames());
+    }
+
+    @Test
+    void testBadSpecsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new SelfPlay("minimax", "random", 1));
+        assertThrows(IllegalArgumentException.class, () -> new SelfPlay("random", "depth:0", 1));
+        assertThrows(IllegalArgumentException.class, () -> new SelfPlay("random", "random", 0));
+    }
+}
@@ -0,0 +1,144 @@
+package ModelTest;
+
+import chkMVC.chModel.Checkers.BitboardBoardModel;
+import chkMVC.chModel.Checkers.BoardModel;
+import chkMVC.chModel.Checkers.Moves.MoveBuffer;
+import chkMVC.chModel.Checkers.Moves.MoveGenerator;
+import chkMVC.chModel.Checkers.Pieces.AbstractPiece;
+import chkMVC.chModel.Checkers.Pieces.KingPiece;
+import chkMVC.chModel.Checkers.Pieces.SerfPiece;
+import chkMVC.chModel.Engine.Tablebase;
+import chkMVC.chModel.Engine.TablebaseGenerator;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TablebaseTest {
+
+    @TempDir
+    static Path dir;
+    private static Tablebase tablebase;
+
+    private BoardModel board;
+
+    @BeforeAll
+    static void build() throws IOException {
+        TablebaseGenerator generator = new TablebaseGenerator(3);
+        generator.generate();
+        Path file = dir.resolve("tb3.bin");
+        generator.write(file);
+        tablebase = Tablebase.open(file);
+    }
+
+    @AfterAll
+    static void close() throws IOException {
+        tablebase.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        board = new BitboardBoardModel(8);
+    }
+
+    private void serf(int x, int y, AbstractPiece.PEICE_TEAM team) {
+        board.placePiece(new SerfPiece(board.createPosition(x, y), team));
+    }
+
+    private void king(int x, int y, AbstractPiece.PEICE_TEAM team) {
+        board.placePiece(new KingPiece(board.createPosition(x, y), team));
+    }
+
+    @Test
+    void testCaptureOfLastPieceIsAWin() {
+        king(3, 3, AbstractPiece.PEICE_TEAM.WHITE);
+        serf(4, 4, AbstractPiece.PEICE_TEAM.BLACK);
+        assertEquals(Tablebase.WIN, tablebase.probe(board));
+    }
+
+    @Test
+    void testNoMovesIsALoss() {
+        // White's serf on A7 is stuck behind the black king on B8
+        serf(1, 7, AbstractPiece.PEICE_TEAM.WHITE);
+        king(2, 8, AbstractPiece.PEICE_TEAM.BLACK);
+        assertEquals(Tablebase.LOSS, tablebase.probe(board));
+
+        board.switchSideToMove();
+        assertNotEquals(Tablebase.LOSS, tablebase.probe(board), "Black can move.");
+    }
+
+    @Test
+    void testOutsideTheTableIsUnknown() {
+        board.setupStartingPosition();
+        assertEquals(Tablebase.UNKNOWN, tablebase.probe(board));
+
+        BoardModel big = new BoardModel(10);
+        big.placePiece(new SerfPiece(big.createPosition(1, 1), AbstractPiece.PEICE_TEAM.WHITE));
+        big.placePiece(new SerfPiece(big.createPosition(5, 5), AbstractPiece.PEICE_TEAM.BLACK));
+        assertEquals(Tablebase.UNKNOWN, tablebase.probe(big));
+    }
+
+    @Test
+    void testEveryResultAgreesWithItsSuccessors() {
+        // Win: some move leaves the opponent lost. Loss: every move leaves them won. Draw: neither.
+        MoveGenerator generator = new MoveGenerator();
+        MoveBuffer moves = new MoveBuffer();
+        Random random = new Random(17);
+        int checked = 0;
+        while (checked < 2000) {
+            board.clearBoard();
+            board.setSideToMove(random.nextBoolean() ? AbstractPiece.PEICE_TEAM.WHITE : AbstractPiece.PEICE_TEAM.BLACK);
+            if (!placeRandomPieces(random, 2 + random.nextInt(2))) continue;
+
+            int expected = tablebase.probe(board);
+            moves.clear();
+            generator.generateLegal(board, board.getSideToMove(), moves);
+            boolean anyLoss = false;
+            boolean allWins = true;
+            for (int i = 0; i < moves.size(); i++) {
+                board.makeMove(moves, i);
+                int after = board.collectSquares(board.getSideToMove(), new int[3]) == 0 ? Tablebase.LOSS : tablebase.probe(board);
+                board.unmakeMove();
+                anyLoss |= after == Tablebase.LOSS;
+                allWins &= after == Tablebase.WIN;
+            }
+            int actual = anyLoss ? Tablebase.WIN : allWins ? Tablebase.LOSS : Tablebase.DRAW;
+            assertEquals(actual, expected, "Position with " + board.getNumberOfPieces() + " pieces, " + board.getSideToMove() + " to move");
+            checked++;
+        }
+    }
+
+    @Test
+    void testRejectsOtherFiles() throws IOException {
+        Path junk = dir.resolve("junk.bin");
+        Files.write(junk, new byte[64]);
+        assertThrows(IOException.class, () -> Tablebase.open(junk));
+        assertThrows(IllegalArgumentException.class, () -> new TablebaseGenerator(Tablebase.MAX_PIECES + 1));
+    }
+
+    // Random pieces on dark squares, at least one a side, no serf on its crowning row
+    private boolean placeRandomPieces(Random random, int count) {
+        boolean white = false;
+        boolean black = false;
+        for (int i = 0; i < count; i++) {
+            int y = 1 + random.nextInt(8);
+            int x = 1 + 2 * random.nextInt(4) + ((y + 1) & 1);
+            if (board.isOccupied(board.createPosition(x, y))) return false;
+            AbstractPiece.PEICE_TEAM team = random.nextBoolean() ? AbstractPiece.PEICE_TEAM.WHITE : AbstractPiece.PEICE_TEAM.BLACK;
+            boolean crowningRow = team == AbstractPiece.PEICE_TEAM.WHITE ? y == 8 : y == 1;
+            if (random.nextBoolean() || crowningRow) {
+                king(x, y, team);
+            } else {
+                serf(x, y, team);
+            }
+            white |= team == AbstractPiece.PEICE_TEAM.WHITE;
+            black |= team == AbstractPiece.PEICE_TEAM.BLACK;
+        }
+        return white && black;
+    }
+}
@@ -0,0 +1,89 @@
+package ModelTest;
+
+import chkMVC.chModel.Checkers.Moves.Move;
+import chkMVC.chModel.Engine.TranspositionTable;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TranspositionTableTest {
+
+    @Test
+    void testStoreAndProbe() {
+        TranspositionTable table = new TranspositionTable(1);
+        long key = 0x1234_5678_9ABC_DEF0L;
+        int move = Move.encode(9, 18);
+
+        assertEquals(0L, table.probe(key), "Empty table should miss.");
+        table.store(key, 7, -1234, TranspositionTable.BOUND_LOWER, move);
+
+        long data = table.probe(key);
+        assertNotEquals(0L, data);
+        assertEquals(7, TranspositionTable.depth(data));
+        assertEquals(-1234, TranspositionTable.score(data), "Negative scores should survive packing.");
+        assertEquals(TranspositionTable.BOUND_LOWER, TranspositionTable.bound(data));
+        assertEquals(move, TranspositionTable.move(data));
+        assertEquals(0L, table.probe(key + 1), "A different key should miss.");
+    }
+
+    @Test
+    void testUpdateKeepsMoveWhenNoneGiven() {
+        TranspositionTable table = new TranspositionTable(1);
+        long key = 42L;
+        int move = Move.encodeJump(9, 27, 18);
+        table.store(key, 3, 10, TranspositionTable.BOUND_EXACT, move);
+        table.store(key, 4, 20, TranspositionTable.BOUND_UPPER, Move.NO_MOVE);
+
+        long data = table.probe(key);
+        assertEquals(4, TranspositionTable.depth(data));
+        assertEquals(move, TranspositionTable.move(data), "Best move should be kept if the new store has none.");
+    }
+
+    @Test
+    void testDeepEntrySurvivesShallowCollision() {
+        TranspositionTable table = new TranspositionTable(1);
+        int buckets = table.capacity() / 2;
+        long deepKey = 5L;
+        long shallowKey = deepKey + buckets; // Same bucket
+        long otherShallowKey = deepKey + 2L * buckets;
+
+        table.store(deepKey, 10, 1, TranspositionTable.BOUND_EXACT, Move.NO_MOVE);
+        table.store(shallowKey, 1, 2, TranspositionTable.BOUND_EXACT, Move.NO_MOVE);
+        table.store(otherShallowKey, 1, 3, TranspositionTable.BOUND_EXACT, Move.NO_MOVE);
+
+        assertNotEquals(0L, table.probe(deepKey), "Deep entry should not be pushed out by shallow ones.");
+        assertNotEquals(0L, table.probe(otherShallowKey), "Newest entry should be in the always-replace slot.");
+    }
+
+    @Test
+    void testConcurrentAccessNeverReturnsTornEntries() throws InterruptedException {
+        // Every writer stores data derived from the key, so any hit must decode consistently
+        TranspositionTable table = new TranspositionTable(1);
+        AtomicInteger bad = new AtomicInteger();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            long seed = t;
+            threads[t] = new Thread(() -> {
+                SplittableRandom random = new SplittableRandom(seed);
+                for (int i = 0; i < 200_000; i++) {
+                    long key = random.nextLong(1, 4096) * 0x9E3779B97F4A7C15L;
+                    int depth = (int) (key >>> 58);
+                    table.store(key, depth, depth * 3, TranspositionTable.BOUND_EXACT, depth);
+                    long data = table.probe(key);
+                    if (data != 0 && (TranspositionTable.score(data) != TranspositionTable.depth(data) * 3
+                            || TranspositionTable.move(data) != TranspositionTable.depth(data))) {
+                        bad.incrementAndGet();
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(0, bad.get(), "Probes must never mix fields from different stores.");
+    }
+}
@@ -0,0 +1,95 @@
+package ModelTest;
+
+import chkMVC.chModel.Checkers.BitboardBoardModel;
+import chkMVC.chModel.Checkers.BoardModel;
+import chkMVC.chModel.Checkers.Moves.Perft;
+import chkMVC.chModel.Checkers.Pieces.AbstractPiece;
+import chkMVC.chModel.Checkers.Pieces.SerfPiece;
+import chkMVC.chModel.Checkers.Position;
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ZobristTest {
+
+    private static BoardModel gameBoardModel;
+
+    @BeforeAll
+    static void initBoard() {
+        gameBoardModel = new BoardModel(8);
+    }
+
+    @AfterEach
+    void clearBoardAfterTest() {
+        gameBoardModel.clearBoard();
+        gameBoardModel.setSideToMove(AbstractPiece.PEICE_TEAM.WHITE);
+    }
+
+    @Test
+    void testEmptyBoardHash() {
+        assertEquals(0L, gameBoardModel.hash(), "Empty board with white to move hashes to 0.");
+    }
+
+    @Test
+    void testPlaceAndRemoveRestoresHash() {
+        long before = gameBoardModel.hash();
+        Position pos = gameBoardModel.createPosition(3, 3);
+        gameBoardModel.placePiece(new SerfPiece(pos, AbstractPiece.PEICE_TEAM.WHITE));
+        assertNotEquals(before, gameBoardModel.hash(), "Placing a piece should change the hash.");
+
+        gameBoardModel.removePiece(pos);
+        assertEquals(before, gameBoardModel.hash(), "Removing it again should undo the change.");
+    }
+
+    @Test
+    void testMoveThereAndBack() {
+        Position from = gameBoardModel.createPosition(3, 3);
+        Position to = gameBoardModel.createPosition(4, 4);
+        gameBoardModel.placePiece(new SerfPiece(from, AbstractPiece.PEICE_TEAM.BLACK));
+        long start = gameBoardModel.hash();
+
+        gameBoardModel.movePiece(from, to);
+        long moved = gameBoardModel.hash();
+        assertNotEquals(start, moved);
+
+        gameBoardModel.movePiece(to, from);
+        assertEquals(start, gameBoardModel.hash());
+    }
+
+    @Test
+    void testSameStateSameHash() {
+        // Built in a different order, and on the other engine - still the same hash
+        BoardModel other = new BitboardBoardModel(8);
+        gameBoardModel.placePiece(new SerfPiece(gameBoardModel.createPosition(1, 1), AbstractPiece.PEICE_TEAM.WHITE));
+        gameBoardModel.placePiece(new SerfPiece(gameBoardModel.createPosition(8, 8), AbstractPiece.PEICE_TEAM.BLACK));
+        other.placePiece(new SerfPiece(other.createPosition(8, 8), AbstractPiece.PEICE_TEAM.BLACK));
+        other.placePiece(new SerfPiece(other.createPosition(1, 1), AbstractPiece.PEICE_TEAM.WHITE));
+
+        assertEquals(gameBoardModel.hash(), other.hash());
+    }
+
+    @Test
+    void testTeamAndSideMatter() {
+        Position pos = gameBoardModel.createPosition(5, 5);
+        gameBoardModel.placePiece(new SerfPiece(pos, AbstractPiece.PEICE_TEAM.WHITE));
+        long white = gameBoardModel.hash();
+        gameBoardModel.removePiece(pos);
+        gameBoardModel.placePiece(new SerfPiece(pos, AbstractPiece.PEICE_TEAM.BLACK));
+        assertNotEquals(white, gameBoardModel.hash(), "Team should be part of the hash.");
+
+        long whiteToMove = gameBoardModel.hash();
+        gameBoardModel.switchSideToMove();
+        assertEquals(AbstractPiece.PEICE_TEAM.BLACK, gameBoardModel.getSideToMove());
+        assertNotEquals(whiteToMove, gameBoardModel.hash(), "Side to move should be part of the hash.");
+        gameBoardModel.switchSideToMove();
+        assertEquals(whiteToMove, gameBoardModel.hash());
+    }
+
+    @Test
+    void testHashSurvivesPerft() {
+        gameBoardModel.setupStartingPosition();
+        long start = gameBoardModel.hash();
+        new Perft(gameBoardModel).perft(AbstractPiece.PEICE_TEAM.WHITE, 4);
+        assertEquals(start, gameBoardModel.hash(), "Playing and taking back moves must restore the hash.");
+    }
+}
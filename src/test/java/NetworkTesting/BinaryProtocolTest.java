@@ -0,0 +1,210 @@
+package NetworkTesting;
+
+import chkNetwork.CLIENT_REQUEST_CODES;
+import chkNetwork.Client.ChatView;
+import chkNetwork.Client.ClientLogic;
+import chkNetwork.Frame;
+import chkNetwork.FrameDecoder;
+import chkNetwork.SERVER_RESPONSE_CODES;
+import chkNetwork.Server.ServerLogic;
+import org.junit.jupiter.api.*;
+
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Frames with the code enums, negotiated per connection next to plain text clients
+public class BinaryProtocolTest {
+
+    private ServerLogic server;
+
+    @AfterEach
+    void stopServer() {
+        if (server != null) server.stop();
+    }
+
+    private Socket connect(String firstLine) throws IOException {
+        Socket socket = new Socket();
+        socket.connect(new InetSocketAddress("localhost", server.getLocalPort()), 2000);
+        socket.setSoTimeout(3000);
+        OutputStream out = socket.getOutputStream();
+        out.write((firstLine + "\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+        return socket;
+    }
+
+    private static Frame readUntil(DataInputStream in, SERVER_RESPONSE_CODES code) throws IOException {
+        Frame frame;
+        while ((frame = Frame.read(in)) != null) {
+            if (frame.getCode() == code.getCode()) return frame;
+        }
+        return fail("Connection closed before a " + code + " frame.");
+    }
+
+    private static String readUntil(BufferedReader in, String prefix) throws IOException {
+        String line;
+        while ((line = in.readLine()) != null) {
+            if (line.startsWith(prefix)) return line;
+        }
+        return fail("Connection closed before '" + prefix + "'.");
+    }
+
+    @Test
+    void testFramesSurviveAnySplit() throws IOException {
+        byte[] one = Frame.encodeText(CLIENT_REQUEST_CODES.MOVE_PIECE.getCode(), "C3 D4");
+        byte[] two = Frame.encode(0xFFFF, 0x80, new byte[0]);
+        ByteBuffer stream = ByteBuffer.allocate(one.length + two.length).put(one).put(two);
+        stream.flip();
+
+        FrameDecoder decoder = new FrameDecoder();
+        List<Frame> frames = new ArrayList<>();
+        while (stream.hasRemaining()) {
+            ByteBuffer oneByte = ByteBuffer.wrap(new byte[]{stream.get()});
+            Frame frame = decoder.next(oneByte);
+            if (frame != null) frames.add(frame);
+        }
+        assertEquals(2, frames.size());
+        assertEquals(CLIENT_REQUEST_CODES.MOVE_PIECE, CLIENT_REQUEST_CODES.fromCode(frames.get(0).getCode()));
+        assertEquals("C3 D4", frames.get(0).getText());
+        assertEquals(Frame.FLAG_TEXT, frames.get(0).getFlags());
+        assertEquals(0xFFFF, frames.get(1).getCode());
+        assertEquals(0x80, frames.get(1).getFlags());
+        assertNull(CLIENT_REQUEST_CODES.fromCode(0xFFFF));
+
+        Frame blocking = Frame.read(new DataInputStream(new ByteArrayInputStream(one)));
+        assertEquals("C3 D4", blocking.getText());
+
+        byte[] huge = ByteBuffer.allocate(Frame.HEADER_BYTES).putInt(Frame.MAX_PAYLOAD_BYTES + 1).array();
+        assertThrows(IOException.class, () -> new FrameDecoder().next(ByteBuffer.wrap(huge)));
+    }
+
+    @Test
+    void testEncodersNeverWriteOversizeFrames() throws IOException {
+        assertThrows(IllegalArgumentException.class, () -> Frame.encode(1, 0, new byte[Frame.MAX_PAYLOAD_BYTES + 1]));
+
+        // Too long by one two-byte character straddling the limit: the whole character goes
+        String text = "x".repeat(Frame.MAX_PAYLOAD_BYTES - 1) + "é";
+        byte[] encoded = Frame.encodeText(SERVER_RESPONSE_CODES.CHAT_MESSAGE.getCode(), text);
+        Frame frame = Frame.read(new DataInputStream(new ByteArrayInputStream(encoded)));
+        assertEquals(text.substring(0, text.length() - 1), frame.getText());
+    }
+
+    @Test
+    @Timeout(20)
+    void testOversizeTextLineOnTheBlockingServer() throws IOException {
+        server = new ServerLogic(0);
+        server.start();
+        oversizeLine();
+    }
+
+    @Test
+    @Timeout(20)
+    void testOversizeTextLineOnTheNonBlockingServer() throws IOException {
+        server = new ServerLogic(0);
+        server.setNonBlocking(1);
+        server.start();
+        oversizeLine();
+    }
+
+    // A text client sending a 70KB line is dropped; the binary client never sees a frame it can't read
+    private void oversizeLine() throws IOException {
+        try (Socket binary = connect(Frame.handshake("Bin"))) {
+            DataInputStream binaryIn = new DataInputStream(new BufferedInputStream(binary.getInputStream()));
+            readUntil(binaryIn, SERVER_RESPONSE_CODES.SUCCESS);
+            try (Socket text = connect("Txt")) {
+                assertEquals("Txt has joined the chat!", readUntil(binaryIn, SERVER_RESPONSE_CODES.PLAYER_JOINED).getText());
+                OutputStream textOut = text.getOutputStream();
+                textOut.write(("x".repeat(70 * 1024) + "\n").getBytes(StandardCharsets.UTF_8));
+                textOut.flush();
+                assertEquals("Txt has left the chat.", readUntil(binaryIn, SERVER_RESPONSE_CODES.PLAYER_LEFT).getText());
+            }
+            try (Socket text = connect("Txt2")) {
+                new PrintWriter(text.getOutputStream(), true).println("still here?");
+                assertEquals("Txt2: still here?", readUntil(binaryIn, SERVER_RESPONSE_CODES.CHAT_MESSAGE).getText());
+            }
+        }
+    }
+
+    @Test
+    @Timeout(20)
+    void testBinaryAndTextClientsTalkOnTheBlockingServer() throws IOException {
+        server = new ServerLogic(0);
+        server.start();
+        mixedClients();
+    }
+
+    @Test
+    @Timeout(20)
+    void testBinaryAndTextClientsTalkOnTheNonBlockingServer() throws IOException {
+        server = new ServerLogic(0);
+        server.setNonBlocking(1);
+        server.start();
+        mixedClients();
+    }
+
+    private void mixedClients() throws IOException {
+        try (Socket binary = connect(Frame.handshake("Bin"))) {
+            DataInputStream binaryIn = new DataInputStream(new BufferedInputStream(binary.getInputStream()));
+            OutputStream binaryOut = binary.getOutputStream();
+            assertTrue(readUntil(binaryIn, SERVER_RESPONSE_CODES.SUCCESS).getText().contains("Bin"), "Login reply lists the users.");
+
+            try (Socket text = connect("Txt")) {
+                BufferedReader textIn = new BufferedReader(new InputStreamReader(text.getInputStream(), StandardCharsets.UTF_8));
+                readUntil(textIn, "Connected users (2)");
+                assertEquals("Txt has joined the chat!", readUntil(binaryIn, SERVER_RESPONSE_CODES.PLAYER_JOINED).getText());
+
+                new PrintWriter(text.getOutputStream(), true).println("hello");
+                assertEquals("Txt: hello", readUntil(binaryIn, SERVER_RESPONSE_CODES.CHAT_MESSAGE).getText());
+
+                binaryOut.write(Frame.encodeText(CLIENT_REQUEST_CODES.SEND_CHAT_MESSAGE.getCode(), "hi there"));
+                binaryOut.write(Frame.encodeText(CLIENT_REQUEST_CODES.MOVE_PIECE.getCode(), "C3 D4"));
+                binaryOut.write(Frame.encodeText(9999, "?"));
+                binaryOut.flush();
+                assertEquals("Bin: hi there", readUntil(textIn, "Bin:"));
+                assertTrue(readUntil(binaryIn, SERVER_RESPONSE_CODES.INVALID_REQUEST).getText().contains("'/MOVE_PIECE C3 D4'"));
+                assertTrue(readUntil(binaryIn, SERVER_RESPONSE_CODES.INVALID_REQUEST).getText().contains("9999"));
+            }
+            assertEquals("Txt has left the chat.", readUntil(binaryIn, SERVER_RESPONSE_CODES.PLAYER_LEFT).getText());
+        }
+    }
+
+    @Test
+    @Timeout(20)
+    void testClientLogicSpeaksBinary() throws IOException, InterruptedException {
+        server = new ServerLogic(0);
+        server.start();
+        List<String> messages = new CopyOnWriteArrayList<>();
+        ClientLogic client = new ClientLogic("localhost", server.getLocalPort(), true);
+        client.setView(new ChatView() {
+            public void appendMessage(String message) { messages.add(message); }
+            public void showErrorMessage(String title, String message) { messages.add("ERROR " + message); }
+            public void clearInputField() { }
+            public void setWindowTitle(String title) { }
+            public void closeWindow() { }
+        });
+        assertTrue(client.connect("Gui"));
+        try (Socket text = connect("Watcher")) {
+            BufferedReader textIn = new BufferedReader(new InputStreamReader(text.getInputStream(), StandardCharsets.UTF_8));
+            readUntil(textIn, "Connected users (2)");
+
+            client.sendMessage("from the window");
+            assertEquals("Gui: from the window", readUntil(textIn, "Gui:"));
+
+            new PrintWriter(text.getOutputStream(), true).println("back at you");
+            long deadline = System.currentTimeMillis() + 3000;
+            while (!messages.contains("Watcher: back at you") && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20);
+            }
+            assertTrue(messages.contains("Watcher: back at you"), messages.toString());
+        } finally {
+            client.disconnect();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package NetworkTesting;
+
+import chkNetwork.Frame;
+import chkNetwork.SERVER_RESPONSE_CODES;
+import chkNetwork.Server.ServerLogic;
+import org.junit.jupiter.api.*;
+
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// One broadcast, many recipients of both protocols: everyone gets every message, in order
+public class BroadcastTest {
+
+    private static final int TEXT_CLIENTS = 3;
+    private static final int BINARY_CLIENTS = 3;
+    private static final int MESSAGES = 50;
+
+    private ServerLogic server;
+
+    @AfterEach
+    void stopServer() {
+        if (server != null) server.stop();
+    }
+
+    @Test
+    @Timeout(20)
+    void testFanOutOnTheBlockingServer() throws IOException {
+        server = new ServerLogic(0);
+        server.start();
+        fanOut();
+    }
+
+    @Test
+    @Timeout(20)
+    void testFanOutOnTheNonBlockingServer() throws IOException {
+        server = new ServerLogic(0);
+        server.setNonBlocking(2);
+        server.start();
+        fanOut();
+    }
+
+    private Socket connect(String firstLine) throws IOException {
+        Socket socket = new Socket();
+        socket.connect(new InetSocketAddress("localhost", server.getLocalPort()), 2000);
+        socket.setSoTimeout(3000);
+        OutputStream out = socket.getOutputStream();
+        out.write((firstLine + "\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+        return socket;
+    }
+
+    private void fanOut() throws IOException {
+        List<Socket> sockets = new ArrayList<>();
+        try {
+            List<BufferedReader> textIn = new ArrayList<>();
+            List<DataInputStream> binaryIn = new ArrayList<>();
+            // One at a time, each waiting for its login reply, so all are registered before the chat starts
+            for (int i = 0; i < TEXT_CLIENTS; i++) {
+                Socket socket = connect("Text" + i);
+                sockets.add(socket);
+                BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                String line;
+                do {
+                    line = in.readLine(); // Role notices come first
+                    assertNotNull(line);
+                } while (!line.startsWith("Connected users"));
+                textIn.add(in);
+            }
+            for (int i = 0; i < BINARY_CLIENTS; i++) {
+                Socket socket = connect(Frame.handshake("Bin" + i));
+                sockets.add(socket);
+                DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                Frame frame;
+                do {
+                    frame = Frame.read(in);
+                    assertNotNull(frame);
+                } while (frame.getCode() != SERVER_RESPONSE_CODES.SUCCESS.getCode());
+                binaryIn.add(in);
+            }
+
+            Socket sender = connect("Sender");
+            sockets.add(sender);
+            PrintWriter senderOut = new PrintWriter(new OutputStreamWriter(sender.getOutputStream(), StandardCharsets.UTF_8), true);
+            for (int m = 0; m < MESSAGES; m++) {
+                senderOut.println("message " + m + " ♔"); // Not all ASCII, so the UTF-8 encoding matters
+            }
+
+            for (BufferedReader in : textIn) {
+                for (int m = 0; m < MESSAGES; m++) {
+                    assertEquals("Sender: message " + m + " ♔", nextChat(in));
+                }
+            }
+            for (DataInputStream in : binaryIn) {
+                for (int m = 0; m < MESSAGES; m++) {
+                    assertEquals("Sender: message " + m + " ♔", nextChat(in));
+                }
+            }
+        } finally {
+            for (Socket socket : sockets) socket.close();
+        }
+    }
+
+    // Skips the join notices of the clients that came later
+    private static String nextChat(BufferedReader in) throws IOException {
+        String line;
+        while ((line = in.readLine()) != null) {
+            if (line.startsWith("Sender:")) return line;
+        }
+        return fail("Connection closed before the next chat message.");
+    }
+
+    private static String nextChat(DataInputStream in) throws IOException {
+        Frame frame;
+        while ((frame = Frame.read(in)) != null) {
+            if (frame.getCode() == SERVER_RESPONSE_CODES.CHAT_MESSAGE.getCode()) return frame.getText();
+        }
+        return fail("Connection closed before the next chat frame.");
+    }
+}
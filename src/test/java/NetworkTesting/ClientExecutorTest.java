@@ -0,0 +1,90 @@
+package NetworkTesting;
+
+import chkNetwork.Server.ClientExecutor;
+import chkNetwork.Server.ServerLogic;
+import org.junit.jupiter.api.*;
+
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Blocking ClientHandlers on virtual threads, and the load test comparing the executors
+public class ClientExecutorTest {
+
+    private ServerLogic server;
+
+    @AfterEach
+    void stopServer() {
+        if (server != null) server.stop();
+    }
+
+    private Socket connect(String username) throws IOException {
+        Socket socket = new Socket();
+        socket.connect(new InetSocketAddress("localhost", server.getLocalPort()), 2000);
+        socket.setSoTimeout(3000);
+        new PrintWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), true).println(username);
+        return socket;
+    }
+
+    private static String readUntil(BufferedReader in, String prefix) throws IOException {
+        String line;
+        while ((line = in.readLine()) != null) {
+            if (line.startsWith(prefix)) return line;
+        }
+        return fail("Connection closed before '" + prefix + "'.");
+    }
+
+    @Test
+    @Timeout(20)
+    void testVirtualThreadsServeChat() throws IOException {
+        server = new ServerLogic(0, ClientExecutor.VIRTUAL_THREADS);
+        server.start();
+        try (Socket alice = connect("Alice"); Socket bob = connect("Bob")) {
+            BufferedReader aliceIn = new BufferedReader(new InputStreamReader(alice.getInputStream(), StandardCharsets.UTF_8));
+            BufferedReader bobIn = new BufferedReader(new InputStreamReader(bob.getInputStream(), StandardCharsets.UTF_8));
+            readUntil(bobIn, "Connected users (2)");
+
+            new PrintWriter(bob.getOutputStream(), true).println("hi");
+            assertEquals("Bob: hi", readUntil(aliceIn, "Bob:"));
+        }
+    }
+
+    @Test
+    @Timeout(20)
+    void testRejectedDuplicateKeepsTheOriginal() throws IOException {
+        server = new ServerLogic(0, ClientExecutor.VIRTUAL_THREADS);
+        server.start();
+        try (Socket first = connect("Dave")) {
+            BufferedReader firstIn = new BufferedReader(new InputStreamReader(first.getInputStream(), StandardCharsets.UTF_8));
+            readUntil(firstIn, "Connected users");
+            try (Socket second = connect("Dave")) {
+                BufferedReader secondIn = new BufferedReader(new InputStreamReader(second.getInputStream(), StandardCharsets.UTF_8));
+                readUntil(secondIn, "ERROR: Username 'Dave' is already taken.");
+                assertNull(secondIn.readLine());
+            }
+            assertTrue(server.getConnectedUsernames().contains("Dave"), "The first Dave is still connected.");
+        }
+    }
+
+    @Test
+    @Timeout(60)
+    void testVirtualThreadsUseNoPlatformThreadPerClient() throws IOException, InterruptedException {
+        ConnectionLoadTest.Result cached = ConnectionLoadTest.run("cached", 200);
+        ConnectionLoadTest.Result virtual = ConnectionLoadTest.run("virtual", 200);
+
+        assertEquals(200, cached.getRegistered());
+        assertEquals(200, virtual.getRegistered());
+        assertTrue(cached.getPlatformThreads() >= 190, cached.toString());
+        assertTrue(virtual.getPlatformThreads() < 50, virtual.toString());
+    }
+
+    @Test
+    void testExecutorChoice() {
+        assertEquals(ClientExecutor.VIRTUAL_THREADS, ClientExecutor.named("Virtual"));
+        assertThrows(IllegalArgumentException.class, () -> ClientExecutor.named("forkjoin"));
+        assertEquals(ClientExecutor.CACHED_POOL, new ServerLogic(0).getClientExecutor());
+    }
+}
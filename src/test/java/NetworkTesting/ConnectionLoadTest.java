@@ -0,0 +1,165 @@
+package NetworkTesting;
+
+import chkNetwork.Server.ClientExecutor;
+import chkNetwork.Server.ServerLogic;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Connection capacity and memory for each way of running the server: open a batch of idle
+ * clients (they send a username and wait, like spectators), then measure what the server is
+ * holding for them - heap after a GC, and live platform threads, each of which also reserves a
+ * native stack (1 MB by default) that the heap figure doesn't show.
+ * <p>
+ * The clients run in the same JVM, so their sockets are in the heap figure too - the same for
+ * every mode, so the differences between modes are the server's.
+ * <p>
+ * A harness rather than a test: it has no test methods of its own and is run from main (see the
+ * README), or with a few hundred clients by ClientExecutorTest.
+ */
+public class ConnectionLoadTest {
+
+    public static final String[] MODES = {"cached", "virtual", "nio"};
+    private static final long REGISTER_TIMEOUT_MILLIS = 60_000;
+
+    private ConnectionLoadTest() {
+    }
+
+    /**
+     * Starts a server in 'mode' ("cached", "virtual" or "nio"), connects 'connections' clients,
+     * waits for all of them to register, measures, and shuts everything down.
+     */
+    public static Result run(String mode, int connections) throws IOException, InterruptedException {
+        if (connections < 1) {
+            throw new IllegalArgumentException("Need at least one connection.");
+        }
+        ServerLogic server = new ServerLogic(0);
+        if (mode.equals("nio")) {
+            server.setNonBlocking(Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+        } else {
+            server.setClientExecutor(ClientExecutor.named(mode));
+        }
+
+        long heapBefore = usedHeap();
+        int threadsBefore = ManagementFactory.getThreadMXBean().getThreadCount();
+        List<Socket> clients = new ArrayList<>(connections);
+        server.start();
+        try {
+            long start = System.nanoTime();
+            for (int i = 0; i < connections; i++) {
+                Socket socket = new Socket();
+                socket.connect(new InetSocketAddress("localhost", server.getLocalPort()), 5000);
+                clients.add(socket);
+                OutputStream out = socket.getOutputStream();
+                out.write(("load" + i + "\n").getBytes(StandardCharsets.UTF_8));
+                out.flush();
+            }
+            long deadline = System.currentTimeMillis() + REGISTER_TIMEOUT_MILLIS;
+            int registered;
+            while ((registered = server.getConnectedUsernames().size()) < connections
+                    && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            long elapsedNanos = System.nanoTime() - start;
+
+            long heapAfter = usedHeap();
+            int threadsAfter = ManagementFactory.getThreadMXBean().getThreadCount();
+            return new Result(mode, connections, registered, elapsedNanos, heapAfter - heapBefore, threadsAfter - threadsBefore);
+        } finally {
+            for (Socket socket : clients) {
+                socket.close();
+            }
+            server.stop();
+        }
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        for (int i = 0; i < 2; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * One mode's numbers.
+     */
+    public static final class Result {
+        private final String mode;
+        private final int connections;
+        private final int registered;
+        private final long elapsedNanos;
+        private final long heapBytes;
+        private final int platformThreads;
+
+        Result(String mode, int connections, int registered, long elapsedNanos, long heapBytes, int platformThreads) {
+            this.mode = mode;
+            this.connections = connections;
+            this.registered = registered;
+            this.elapsedNanos = elapsedNanos;
+            this.heapBytes = heapBytes;
+            this.platformThreads = platformThreads;
+        }
+
+        public String getMode() {
+            return mode;
+        }
+
+        public int getConnections() {
+            return connections;
+        }
+
+        // Clients the server had registered when measured - short of getConnections() means it couldn't keep up
+        public int getRegistered() {
+            return registered;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedNanos / 1_000_000;
+        }
+
+        // Heap growth with every client connected, after a GC
+        public long getHeapBytes() {
+            return heapBytes;
+        }
+
+        public long getHeapBytesPerConnection() {
+            return heapBytes / connections;
+        }
+
+        // Extra live platform threads while the clients were connected
+        public int getPlatformThreads() {
+            return platformThreads;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-8s %,7d/%,d registered in %,6d ms, heap %,8d KB (%,6d bytes a connection), %,6d platform threads",
+                    mode, registered, connections, getElapsedMillis(), heapBytes / 1024, getHeapBytesPerConnection(), platformThreads);
+        }
+    }
+
+    // Usage: ConnectionLoadTest [connections] [modes...]
+    // e.g. mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=NetworkTesting.ConnectionLoadTest -Dexec.args="5000 cached virtual nio"
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int connections = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        String[] modes = args.length > 1 ? Arrays.copyOfRange(args, 1, args.length) : MODES;
+        List<Result> results = new ArrayList<>();
+        for (String mode : modes) {
+            results.add(run(mode, connections));
+        }
+        System.out.println();
+        for (Result result : results) {
+            System.out.println(result);
+        }
+    }
+}
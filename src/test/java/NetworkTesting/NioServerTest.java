@@ -0,0 +1,124 @@
+package NetworkTesting;
+
+import chkNetwork.Server.ServerLogic;
+import org.junit.jupiter.api.*;
+
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The non-blocking server mode against plain line-based sockets, like the Swing client uses
+public class NioServerTest {
+
+    private ServerLogic server;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = new ServerLogic(0); // Any free port
+        server.setNonBlocking(2);
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop();
+    }
+
+    private class TestClient implements AutoCloseable {
+        final Socket socket = new Socket();
+        final PrintWriter out;
+        final BufferedReader in;
+
+        TestClient(String username) throws IOException {
+            socket.connect(new InetSocketAddress("localhost", server.getLocalPort()), 2000);
+            socket.setSoTimeout(3000);
+            out = new PrintWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), true);
+            in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            out.println(username);
+        }
+
+        // Reads lines until one starts with 'prefix'; fails if it doesn't come within the socket timeout
+        String readUntil(String prefix) throws IOException {
+            List<String> seen = new ArrayList<>();
+            try {
+                String line;
+                while ((line = in.readLine()) != null) {
+                    if (line.startsWith(prefix)) return line;
+                    seen.add(line);
+                }
+            } catch (SocketTimeoutException e) {
+                // Reported below
+            }
+            return fail("Never got '" + prefix + "'. Got: " + seen);
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+
+    @Test
+    @Timeout(20)
+    void testJoinChatAndLeave() throws IOException {
+        try (TestClient alice = new TestClient("Alice")) {
+            assertEquals("SERVER: You are the host.", alice.readUntil("SERVER: You are the host"));
+            alice.readUntil("Connected users (1): Alice");
+
+            try (TestClient bob = new TestClient("Bob")) {
+                bob.readUntil("SERVER: You are playing as Black.");
+                String users = bob.readUntil("Connected users (2)");
+                assertTrue(users.contains("Alice") && users.contains("Bob"), users);
+                alice.readUntil("Bob has joined the chat!");
+
+                bob.out.println("Hello, héllo!"); // Non-ASCII survives the byte-level decoder
+                assertEquals("Bob: Hello, héllo!", alice.readUntil("Bob:"));
+
+                bob.out.println("/move C3 D4");
+                bob.readUntil("SERVER: Command '/move C3 D4'");
+            }
+            alice.readUntil("Bob has left the chat.");
+        }
+    }
+
+    @Test
+    @Timeout(20)
+    void testDuplicateNameGetsTheErrorBeforeBeingClosed() throws IOException {
+        try (TestClient first = new TestClient("Carol")) {
+            first.readUntil("Connected users");
+            TestClient second = new TestClient("Carol");
+            second.readUntil("ERROR: Username 'Carol' is already taken.");
+            assertNull(second.in.readLine(), "The server closes the connection after the error.");
+            second.close();
+        }
+    }
+
+    @Test
+    @Timeout(30)
+    void testManyIdleClientsShareTheEventLoops() throws IOException, InterruptedException {
+        int before = Thread.activeCount();
+        List<TestClient> clients = new ArrayList<>();
+        try {
+            for (int i = 0; i < 200; i++) {
+                clients.add(new TestClient("spectator" + i));
+            }
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (server.getConnectedUsernames().size() < 200 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20);
+            }
+            assertEquals(200, server.getConnectedUsernames().size());
+            assertTrue(Thread.activeCount() - before < 20, "Connections must not get a thread each.");
+
+            clients.get(0).out.println("anyone there?");
+            assertEquals("spectator0: anyone there?", clients.get(199).readUntil("spectator0:"));
+        } finally {
+            for (TestClient client : clients) client.close();
+        }
+    }
+}
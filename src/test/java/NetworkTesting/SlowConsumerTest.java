@@ -0,0 +1,131 @@
+package NetworkTesting;
+
+import chkNetwork.Server.ClientExecutor;
+import chkNetwork.Server.OverflowPolicy;
+import chkNetwork.Server.ServerLogic;
+import org.junit.jupiter.api.*;
+
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// A spectator that stops reading mustn't hold up anyone else, whatever its queue's policy does with it
+public class SlowConsumerTest {
+
+    private static final int QUEUE = 256; // Deep enough for a client that keeps up
+    private static final int MESSAGES = 3000;
+    private static final String FILLER = "x".repeat(4000); // ~12MB in all, more than the socket buffers hold
+
+    private ServerLogic server;
+
+    @AfterEach
+    void stopServer() {
+        if (server != null) server.stop();
+    }
+
+    @Test
+    @Timeout(30)
+    void testSlowSpectatorLosesChatButStays() throws Exception {
+        server = new ServerLogic(0, ClientExecutor.VIRTUAL_THREADS);
+        server.setOutboundQueue(QUEUE, OverflowPolicy.DROP_OLDEST_CHAT);
+        server.start();
+        flood(() -> {
+            assertTrue(server.getConnectedUsernames().contains("Slow"), "Only chat was queued, so dropping it was enough.");
+            assertTrue(server.getDroppedMessages() > 0);
+            assertEquals(0, server.getSlowClientDisconnects());
+            assertTrue(server.getOutboundQueueDepths().get("Slow") <= QUEUE);
+            assertTrue(server.getPeakOutboundQueueDepth() <= QUEUE);
+        });
+    }
+
+    @Test
+    @Timeout(30)
+    void testSlowSpectatorIsDisconnected() throws Exception {
+        server = new ServerLogic(0);
+        server.setOutboundQueue(QUEUE, OverflowPolicy.DISCONNECT);
+        server.start();
+        flood(() -> {
+            assertFalse(server.getConnectedUsernames().contains("Slow"));
+            assertEquals(1, server.getSlowClientDisconnects());
+            assertEquals(0, server.getDroppedMessages());
+        });
+    }
+
+    @Test
+    @Timeout(30)
+    void testSlowSpectatorOnTheNonBlockingServer() throws Exception {
+        server = new ServerLogic(0);
+        server.setNonBlocking(1); // The slow client and the players share one event loop
+        server.setOutboundQueue(QUEUE, OverflowPolicy.COALESCE_STATE);
+        server.start();
+        flood(() -> {
+            assertTrue(server.getConnectedUsernames().contains("Slow"));
+            assertTrue(server.getDroppedMessages() > 0);
+        });
+    }
+
+    @Test
+    void testQueueSettings() {
+        server = new ServerLogic(0);
+        assertEquals(OverflowPolicy.COALESCE_STATE, server.getOverflowPolicy());
+        assertThrows(IllegalArgumentException.class, () -> server.setOutboundQueue(0, OverflowPolicy.DISCONNECT));
+        assertThrows(IllegalArgumentException.class, () -> server.setOutboundQueue(8, null));
+        assertEquals(OverflowPolicy.DROP_OLDEST_CHAT, OverflowPolicy.named("drop-chat"));
+        assertThrows(IllegalArgumentException.class, () -> OverflowPolicy.named("ignore"));
+    }
+
+    private Socket connect(String username, boolean slow) throws IOException {
+        Socket socket = new Socket();
+        if (slow) socket.setReceiveBufferSize(4096);
+        socket.connect(new InetSocketAddress("localhost", server.getLocalPort()), 2000);
+        socket.setSoTimeout(5000);
+        OutputStream out = socket.getOutputStream();
+        out.write((username + "\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+        return socket;
+    }
+
+    private static void readUntil(BufferedReader in, String prefix) throws IOException {
+        String line;
+        while ((line = in.readLine()) != null) {
+            if (line.startsWith(prefix)) return;
+        }
+        fail("Connection closed before '" + prefix + "'.");
+    }
+
+    // The slow client never reads; the watcher must still get every message from the player.
+    // 'checks' run once it has, while everyone is still connected.
+    private void flood(Runnable checks) throws Exception {
+        try (Socket slow = connect("Slow", true)) {
+            readUntil(new BufferedReader(new InputStreamReader(slow.getInputStream(), StandardCharsets.UTF_8)), "Connected users");
+            try (Socket watcher = connect("Watcher", false)) {
+                BufferedReader watcherIn = new BufferedReader(new InputStreamReader(watcher.getInputStream(), StandardCharsets.UTF_8));
+                readUntil(watcherIn, "Connected users"); // Registered, so it will see the player join
+                try (Socket player = connect("Player", false)) {
+                    readUntil(watcherIn, "Player has joined");
+
+                    Thread sender = new Thread(() -> {
+                        try {
+                            Writer out = new BufferedWriter(new OutputStreamWriter(player.getOutputStream(), StandardCharsets.UTF_8));
+                            for (int m = 0; m < MESSAGES; m++) {
+                                out.write(m + " " + FILLER + "\n");
+                            }
+                            out.flush();
+                        } catch (IOException e) {
+                            fail(e);
+                        }
+                    });
+                    sender.start();
+                    for (int m = 0; m < MESSAGES; m++) {
+                        readUntil(watcherIn, "Player: " + m + " ");
+                    }
+                    sender.join();
+                    checks.run();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package chkNetwork.Server;
+
+import chkNetwork.SERVER_RESPONSE_CODES;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// In the server's package, since the queue is package-private
+public class OutboundQueueTest {
+
+    private final LongAdder dropped = new LongAdder();
+
+    private static OutboundMessage state(String text) {
+        return new OutboundMessage(SERVER_RESPONSE_CODES.GAME_STATE_UPDATE, text);
+    }
+
+    private static OutboundMessage round(String text) {
+        return new OutboundMessage(SERVER_RESPONSE_CODES.ROUND_UPDATE, text);
+    }
+
+    private static OutboundMessage chat(String text) {
+        return new OutboundMessage(SERVER_RESPONSE_CODES.CHAT_MESSAGE, text);
+    }
+
+    private static List<String> drain(OutboundQueue queue) {
+        List<String> texts = new ArrayList<>();
+        OutboundMessage message;
+        while ((message = queue.poll()) != null) {
+            texts.add(message.getText());
+        }
+        return texts;
+    }
+
+    @Test
+    void testStateUpdatesCoalesceBeforeTheQueueIsFull() {
+        OutboundQueue queue = new OutboundQueue(16, OverflowPolicy.COALESCE_STATE, dropped);
+        assertTrue(queue.offer(chat("a")));
+        assertTrue(queue.offer(state("s1")));
+        assertTrue(queue.offer(chat("b")));
+        assertTrue(queue.offer(state("s2")));
+        assertTrue(queue.offer(round("r1")));
+        assertTrue(queue.offer(state("s3")));
+        assertTrue(queue.offer(round("r2")));
+
+        assertEquals(4, queue.size(), "One state update of each code, and all the chat.");
+        assertEquals(3, dropped.sum());
+        // The newest of each goes to the back, after everything that was queued before it
+        assertEquals(List.of("a", "b", "s3", "r2"), drain(queue));
+    }
+
+    @Test
+    void testStateUpdateCoalescesWhenFull() {
+        OutboundQueue queue = new OutboundQueue(2, OverflowPolicy.COALESCE_STATE, dropped);
+        assertTrue(queue.offer(state("s1")));
+        assertTrue(queue.offer(new OutboundMessage(SERVER_RESPONSE_CODES.PLAYER_LEFT, "left")));
+        assertTrue(queue.offer(state("s2")));
+        assertFalse(queue.offer(round("r1")), "Nothing to coalesce with and no chat to drop.");
+        assertEquals(List.of("left", "s2"), drain(queue));
+    }
+
+    @Test
+    void testOtherPoliciesKeepEveryStateUpdate() {
+        OutboundQueue queue = new OutboundQueue(16, OverflowPolicy.DROP_OLDEST_CHAT, dropped);
+        assertTrue(queue.offer(state("s1")));
+        assertTrue(queue.offer(state("s2")));
+        assertEquals(List.of("s1", "s2"), drain(queue));
+        assertEquals(0, dropped.sum());
+    }
+
+    @Test
+    void testFullQueueDropsChatOrDisconnects() {
+        OutboundQueue dropChat = new OutboundQueue(2, OverflowPolicy.DROP_OLDEST_CHAT, dropped);
+        assertTrue(dropChat.offer(chat("a")));
+        assertTrue(dropChat.offer(chat("b")));
+        assertTrue(dropChat.offer(chat("c")));
+        assertEquals(List.of("b", "c"), drain(dropChat));
+
+        OutboundQueue disconnect = new OutboundQueue(1, OverflowPolicy.DISCONNECT, dropped);
+        assertTrue(disconnect.offer(chat("a")));
+        assertFalse(disconnect.offer(chat("b")));
+        assertEquals(1, disconnect.getPeak());
+    }
+}